@@ -0,0 +1,98 @@
+-- Tag filter plan comparison: DISTINCT join on slugs (before V17) vs semi-join on resolved tag IDs
+--
+-- Seeds 5k tags and 100k published public quizzes with 1-5 skewed tags each inside a transaction
+-- that is rolled back at the end, then prints EXPLAIN ANALYZE for the browse listing filtered by tag.
+-- Run with psql against a scratch database migrated to at least V17:
+--
+--   psql -d froebel_bench -f backend/benchmark/tag-filter-plans.sql
+
+\set ON_ERROR_STOP on
+\timing off
+
+BEGIN;
+
+-- tag_names maintenance is irrelevant to the plans and would dominate seeding time
+ALTER TABLE quiz_tag DISABLE TRIGGER trg_quiz_tag_names;
+
+INSERT INTO "user" (email, display_name, role)
+VALUES ('tag-filter-bench@example.invalid', 'Benchmark', 'USER')
+RETURNING id AS bench_user \gset
+
+INSERT INTO tag (name, slug)
+SELECT 'Bench Tag ' || i, 'bench-tag-' || i
+FROM generate_series(1, 5000) AS i;
+
+INSERT INTO quiz (title, shareable_id, creator_id, status, is_public, created_at, updated_at)
+SELECT 'Bench quiz ' || i,
+       'b' || lpad(to_hex(i), 7, '0'),
+       :'bench_user',
+       'PUBLISHED',
+       true,
+       NOW() - i * INTERVAL '1 minute',
+       NOW() - i * INTERVAL '1 minute'
+FROM generate_series(1, 100000) AS i;
+
+-- Tag popularity is heavily skewed towards low numbers, as real tag usage is
+INSERT INTO quiz_tag (quiz_id, tag_id)
+SELECT DISTINCT q.id, t.id
+FROM quiz q
+CROSS JOIN LATERAL generate_series(1, 1 + (random() * 4)::int) AS n
+JOIN tag t ON t.slug = 'bench-tag-' || (1 + floor(4999 * power(random(), 3)))::int
+WHERE q.creator_id = :'bench_user';
+
+ANALYZE tag;
+ANALYZE quiz;
+ANALYZE quiz_tag;
+
+SELECT array_agg(id)::text AS any_tags FROM tag WHERE slug IN ('bench-tag-3', 'bench-tag-40', 'bench-tag-700') \gset
+SELECT array_agg(id)::text AS all_tags FROM tag WHERE slug IN ('bench-tag-1', 'bench-tag-2') \gset
+
+\echo '=== Before: DISTINCT join on tag slugs (any tag) ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT DISTINCT q.*
+FROM quiz q
+LEFT JOIN quiz_tag qt ON qt.quiz_id = q.id
+LEFT JOIN tag t ON t.id = qt.tag_id
+WHERE q.status = 'PUBLISHED' AND q.is_public = true
+  AND t.slug IN ('bench-tag-3', 'bench-tag-40', 'bench-tag-700')
+ORDER BY q.created_at DESC
+OFFSET 0 LIMIT 20;
+
+\echo '=== Before: count query of the same page ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT COUNT(DISTINCT q.id)
+FROM quiz q
+LEFT JOIN quiz_tag qt ON qt.quiz_id = q.id
+LEFT JOIN tag t ON t.id = qt.tag_id
+WHERE q.status = 'PUBLISHED' AND q.is_public = true
+  AND t.slug IN ('bench-tag-3', 'bench-tag-40', 'bench-tag-700');
+
+\echo '=== After: semi-join on resolved tag IDs (any tag) ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT q.*
+FROM quiz q
+WHERE q.status = 'PUBLISHED' AND q.is_public = true
+  AND q.id IN (SELECT qt.quiz_id FROM quiz_tag qt WHERE qt.tag_id = ANY(CAST(:'any_tags' AS uuid[]))
+               GROUP BY qt.quiz_id HAVING COUNT(*) >= 1)
+ORDER BY q.created_at DESC, q.id
+LIMIT 20;
+
+\echo '=== After: count query of the same page ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT COUNT(*)
+FROM quiz q
+WHERE q.status = 'PUBLISHED' AND q.is_public = true
+  AND q.id IN (SELECT qt.quiz_id FROM quiz_tag qt WHERE qt.tag_id = ANY(CAST(:'any_tags' AS uuid[]))
+               GROUP BY qt.quiz_id HAVING COUNT(*) >= 1);
+
+\echo '=== After: all tags must match ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT q.*
+FROM quiz q
+WHERE q.status = 'PUBLISHED' AND q.is_public = true
+  AND q.id IN (SELECT qt.quiz_id FROM quiz_tag qt WHERE qt.tag_id = ANY(CAST(:'all_tags' AS uuid[]))
+               GROUP BY qt.quiz_id HAVING COUNT(*) >= 2)
+ORDER BY q.created_at DESC, q.id
+LIMIT 20;
+
+ROLLBACK;
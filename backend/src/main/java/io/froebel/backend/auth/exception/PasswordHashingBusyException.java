@@ -0,0 +1,12 @@
+package io.froebel.backend.auth.exception;
+
+/**
+ * Exception thrown when the password hashing pool is saturated and the request is rejected
+ * instead of waiting behind a burst of logins.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,11 @@
 package io.froebel.backend.auth.security;
 
+import io.froebel.backend.auth.service.AccessTokenClaims;
 import io.froebel.backend.auth.service.JwtService;
+import io.froebel.backend.auth.service.RevocationEpochService;
 import io.froebel.backend.auth.service.TokenBlacklistService;
 import io.froebel.backend.auth.util.CookieUtils;
+import io.froebel.backend.settings.service.SessionManagementService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +21,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -26,15 +30,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final RevocationEpochService revocationEpochService;
+    private final SessionManagementService sessionManagementService;
 
     public JwtAuthenticationFilter(
         JwtService jwtService,
         UserDetailsServiceImpl userDetailsService,
-        TokenBlacklistService tokenBlacklistService
+        TokenBlacklistService tokenBlacklistService,
+        RevocationEpochService revocationEpochService,
+        SessionManagementService sessionManagementService
     ) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.revocationEpochService = revocationEpochService;
+        this.sessionManagementService = sessionManagementService;
     }
 
     @Override
@@ -46,22 +56,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String token = extractTokenFromRequest(request);
+            // Verified once; the claims are reused for the blacklist check and principal lookup
+            Optional<AccessTokenClaims> claims = StringUtils.hasText(token)
+                ? jwtService.verify(token)
+                : Optional.empty();
 
-            if (StringUtils.hasText(token) && jwtService.validateToken(token)) {
-                // Check if token has been blacklisted (e.g., after logout)
-                if (tokenBlacklistService.isBlacklisted(token)) {
+            if (claims.isPresent()) {
+                // Check if the user's or session's tokens were revoked (e.g., logout everywhere), then the
+                // token itself (e.g., after logout); the first is a local lookup
+                if (revocationEpochService.isRevoked(claims.get())) {
+                    logger.debug("Token predates a session revocation, rejecting authentication");
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                if (tokenBlacklistService.isBlacklisted(claims.get())) {
                     logger.debug("Token is blacklisted, rejecting authentication");
                     filterChain.doFilter(request, response);
                     return;
                 }
 
-                UUID userId = jwtService.extractUserId(token);
-                UUID sessionId = jwtService.extractSessionId(token);
-                UserDetails userDetails = userDetailsService.loadUserById(userId);
+                UUID sessionId = claims.get().sessionId();
+                UserDetails userDetails = userDetailsService.loadUserById(claims.get().userId());
 
-                // Set session ID if available
+                // Bind the session ID to a per-request copy; the loaded principal may be shared from cache
                 if (sessionId != null && userDetails instanceof UserPrincipal principal) {
-                    principal.setSessionId(sessionId);
+                    userDetails = principal.withSessionId(sessionId);
                 }
 
                 UsernamePasswordAuthenticationToken authentication =
@@ -73,6 +92,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                // Buffered in memory and written in batches, so this costs no query per request
+                if (sessionId != null) {
+                    sessionManagementService.updateLastActive(sessionId);
+                }
             }
         } catch (UsernameNotFoundException e) {
             // User was deleted but client still has valid JWT - clear stale cookies
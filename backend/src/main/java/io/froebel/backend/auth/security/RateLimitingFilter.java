@@ -4,14 +4,20 @@ import io.froebel.backend.config.AppProperties;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
 import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
 import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.codec.ByteArrayCodec;
 import io.lettuce.core.codec.RedisCodec;
 import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.servlet.FilterChain;
@@ -22,23 +28,35 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
- * Rate limiting filter for authentication endpoints.
- * Prevents brute force attacks by limiting requests per IP address.
+ * Route-level rate limiting for the API.
+ * Policies (the built-in auth limits plus {@code app.rate-limiting.policies}) are compiled at startup into a
+ * route tree; every policy matching a request's path and method consumes from its own bucket, keyed by client IP,
+ * user and/or quiz, so brute force and scraping are stopped before reaching the database.
  * Uses Redis for distributed rate limiting across multiple instances.
  * Falls back to in-memory rate limiting if Redis is unavailable.
+ * <p>
+ * Redis-backed buckets are spread over a few connections by key, and each node may consume a small
+ * number of tokens locally before synchronizing (bounded overshoot, far fewer round trips).
+ * Bucket handles are kept in bounded, idle-expiring maps so IP rotation cannot grow memory unbounded.
  */
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
@@ -47,6 +65,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
 
     private final AppProperties appProperties;
     private final Set<String> trustedProxies;
+    private final MeterRegistry meterRegistry;
 
     @Value("${spring.data.redis.host:localhost}")
     private String redisHost;
@@ -57,19 +76,17 @@ public class RateLimitingFilter extends OncePerRequestFilter {
     @Value("${spring.data.redis.password:}")
     private String redisPassword;
 
-    // Redis client and proxy manager (may be null if Redis unavailable)
+    // Redis client and proxy managers, one per connection (empty if Redis unavailable)
     private RedisClient redisClient;
-    private StatefulRedisConnection<String, byte[]> redisConnection;
-    private LettuceBasedProxyManager<String> proxyManager;
-    private boolean useRedis = false;
+    private final List<StatefulRedisConnection<String, byte[]>> redisConnections = new ArrayList<>();
+    private final List<LettuceBasedProxyManager<String>> proxyManagers = new ArrayList<>();
+    private volatile boolean useRedis = false;
 
-    // Fallback in-memory buckets (used when Redis unavailable)
-    private final Map<String, Bucket> authBuckets = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> passwordResetBuckets = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> verificationBuckets = new ConcurrentHashMap<>();
+    private final RouteTree<Policy> routes = new RouteTree<>();
 
-    public RateLimitingFilter(AppProperties appProperties) {
+    public RateLimitingFilter(AppProperties appProperties, MeterRegistry meterRegistry) {
         this.appProperties = appProperties;
+        this.meterRegistry = meterRegistry;
         // Parse trusted proxies from configuration
         String proxiesConfig = appProperties.getRateLimiting().getTrustedProxies();
         if (proxiesConfig == null || proxiesConfig.isBlank() || proxiesConfig.equalsIgnoreCase("none")) {
@@ -80,7 +97,52 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                 .filter(s -> !s.isEmpty())
                 .collect(Collectors.toSet());
         }
-        log.info("Rate limiting initialized with trusted proxies: {}", trustedProxies);
+
+        AppProperties.RateLimitingConfig config = appProperties.getRateLimiting();
+        Limit authLimit = createLimit("auth", config.getAuthRequestsPerMinute(), Duration.ofMinutes(1));
+        Limit passwordResetLimit = createLimit("pwd-reset", config.getPasswordResetPerHour(), Duration.ofHours(1));
+        Limit verificationLimit = createLimit("verify", config.getVerificationResendPerHour(), Duration.ofHours(1));
+        addAuthPolicy("/api/v1/auth/login", authLimit);
+        addAuthPolicy("/api/v1/auth/register", authLimit);
+        addAuthPolicy("/api/v1/auth/forgot-password", passwordResetLimit);
+        addAuthPolicy("/api/v1/auth/reset-password", passwordResetLimit);
+        addAuthPolicy("/api/v1/auth/verify-email", verificationLimit);
+        addAuthPolicy("/api/v1/auth/resend-verification", verificationLimit);
+
+        for (AppProperties.RateLimitPolicy policy : config.getPolicies()) {
+            addPolicy(policy);
+        }
+        log.info("Rate limiting initialized with {} configured policies, trusted proxies: {}",
+            config.getPolicies().size(), trustedProxies);
+    }
+
+    private void addAuthPolicy(String path, Limit limit) {
+        routes.add(path, new Policy(limit, Set.of("POST"), List.of(KeyPart.IP)));
+    }
+
+    private void addPolicy(AppProperties.RateLimitPolicy config) {
+        if (config.getName() == null || config.getName().isBlank() || config.getPattern() == null) {
+            throw new IllegalStateException("Rate limit policies require a name and a pattern");
+        }
+        List<KeyPart> keyParts;
+        try {
+            keyParts = Arrays.stream(config.getKey().split(","))
+                .map(part -> KeyPart.valueOf(part.trim().toUpperCase(Locale.ROOT)))
+                .toList();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown key '" + config.getKey() + "' in rate limit policy "
+                + config.getName() + " (expected ip, user and/or quiz)");
+        }
+        if (keyParts.contains(KeyPart.QUIZ) && !config.getPattern().contains("{quizId}")) {
+            throw new IllegalStateException("Rate limit policy " + config.getName()
+                + " is keyed by quiz but its pattern has no {quizId} segment");
+        }
+        Set<String> methods = config.getMethods().stream()
+            .map(method -> method.trim().toUpperCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+
+        Limit limit = createLimit(config.getName(), config.getCapacity(), Duration.ofSeconds(config.getPeriodSeconds()));
+        routes.add(config.getPattern(), new Policy(limit, methods, keyParts));
     }
 
     @PostConstruct
@@ -91,16 +153,20 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                 : String.format("redis://%s:%d", redisHost, redisPort);
 
             redisClient = RedisClient.create(redisUri);
-            redisConnection = redisClient.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
-
-            proxyManager = LettuceBasedProxyManager.builderFor(redisConnection)
-                .withExpirationStrategy(ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ofHours(2)))
-                .build();
+            int connections = Math.max(1, appProperties.getRateLimiting().getRedisConnections());
+            for (int i = 0; i < connections; i++) {
+                StatefulRedisConnection<String, byte[]> connection =
+                    redisClient.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+                redisConnections.add(connection);
+                proxyManagers.add(LettuceBasedProxyManager.builderFor(connection)
+                    .withExpirationStrategy(ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ofHours(2)))
+                    .build());
+            }
 
             // Test connection
-            redisConnection.sync().ping();
+            redisConnections.getFirst().sync().ping();
             useRedis = true;
-            log.info("Redis rate limiting enabled - connected to {}:{}", redisHost, redisPort);
+            log.info("Redis rate limiting enabled - {} connections to {}:{}", connections, redisHost, redisPort);
         } catch (Exception e) {
             log.warn("Redis unavailable for rate limiting, falling back to in-memory: {}", e.getMessage());
             useRedis = false;
@@ -109,9 +175,9 @@ public class RateLimitingFilter extends OncePerRequestFilter {
 
     @PreDestroy
     public void cleanup() {
-        if (redisConnection != null) {
+        for (StatefulRedisConnection<String, byte[]> connection : redisConnections) {
             try {
-                redisConnection.close();
+                connection.close();
             } catch (Exception e) {
                 log.debug("Error closing Redis connection", e);
             }
@@ -132,81 +198,113 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         FilterChain filterChain
     ) throws ServletException, IOException {
         String path = request.getRequestURI();
-        String clientIp = getClientIp(request);
+        String clientIp = null;
+        long remaining = Long.MAX_VALUE;
 
-        // Only apply rate limiting to auth endpoints
-        if (path.startsWith("/api/v1/auth/")) {
-            Bucket bucket = getBucketForPath(path, clientIp);
-
-            if (bucket == null) {
-                // No rate limiting for this path
-                filterChain.doFilter(request, response);
-                return;
+        for (RouteTree.Match<Policy> match : routes.match(path)) {
+            Policy policy = match.value();
+            if (!policy.appliesTo(request.getMethod())) {
+                continue;
+            }
+            if (clientIp == null) {
+                clientIp = getClientIp(request);
             }
 
-            if (bucket.tryConsume(1)) {
-                // Add rate limit headers
-                response.setHeader("X-RateLimit-Remaining", String.valueOf(bucket.getAvailableTokens()));
-                filterChain.doFilter(request, response);
-            } else {
-                log.warn("Rate limit exceeded for IP {} on path {}", clientIp, path);
+            ConsumptionProbe probe = tryConsume(policy.limit(), resolveKey(policy, match.variables(), clientIp));
+            if (!probe.isConsumed()) {
+                policy.limit().rejections().increment();
+                log.warn("Rate limit {} exceeded for IP {} on path {}", policy.limit().name(), clientIp, path);
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
                 response.setContentType("application/json");
                 response.getWriter().write(
                     "{\"status\":429,\"message\":\"Too many requests. Please try again later.\"}"
                 );
+                return;
             }
-        } else {
-            filterChain.doFilter(request, response);
+            remaining = Math.min(remaining, probe.getRemainingTokens());
+        }
+
+        if (remaining != Long.MAX_VALUE) {
+            // Add rate limit headers (the tightest of the matched policies)
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(remaining));
         }
+        filterChain.doFilter(request, response);
     }
 
-    private Bucket getBucketForPath(String path, String clientIp) {
-        if (path.contains("/forgot-password") || path.contains("/reset-password")) {
-            return getOrCreateBucket("pwd-reset:" + clientIp, this::createPasswordResetConfig, passwordResetBuckets);
-        } else if (path.contains("/login") || path.contains("/register")) {
-            return getOrCreateBucket("auth:" + clientIp, this::createAuthConfig, authBuckets);
-        } else if (path.contains("/resend-verification") || path.contains("/verify-email")) {
-            return getOrCreateBucket("verify:" + clientIp, this::createVerificationConfig, verificationBuckets);
+    private String resolveKey(Policy policy, Map<String, String> variables, String clientIp) {
+        StringBuilder key = new StringBuilder(policy.limit().name());
+        for (KeyPart part : policy.keyParts()) {
+            key.append(':').append(switch (part) {
+                case IP -> clientIp;
+                case USER -> userKey(clientIp);
+                case QUIZ -> variables.get("quizId");
+            });
         }
-        // No rate limiting for other auth endpoints
-        return null;
+        return key.toString();
     }
 
-    private Bucket getOrCreateBucket(String key, Supplier<BucketConfiguration> configSupplier, Map<String, Bucket> fallbackMap) {
-        if (useRedis && proxyManager != null) {
+    // Anonymous requests are keyed by IP rather than sharing a single bucket
+    private String userKey(String clientIp) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "user-" + principal.getId();
+        }
+        return "ip-" + clientIp;
+    }
+
+    private ConsumptionProbe tryConsume(Limit limit, String key) {
+        if (useRedis) {
+            long start = System.nanoTime();
             try {
-                return proxyManager.builder().build(key, configSupplier);
+                return limit.remoteBuckets().get(key, () -> createRemoteBucket(key, limit.configuration()))
+                    .tryConsumeAndReturnRemaining(1);
             } catch (Exception e) {
                 log.warn("Redis error, falling back to in-memory: {}", e.getMessage());
                 useRedis = false;
+            } finally {
+                limit.redisLatency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             }
         }
         // Fallback to in-memory
-        return fallbackMap.computeIfAbsent(key, k -> Bucket.builder()
-            .addLimit(configSupplier.get().getBandwidths()[0])
-            .build());
+        return limit.localBuckets().get(key, () -> Bucket.builder()
+                .addLimit(limit.configuration().getBandwidths()[0])
+                .build())
+            .tryConsumeAndReturnRemaining(1);
     }
 
-    private BucketConfiguration createAuthConfig() {
-        int limit = appProperties.getRateLimiting().getAuthRequestsPerMinute();
-        return BucketConfiguration.builder()
-            .addLimit(Bandwidth.classic(limit, Refill.intervally(limit, Duration.ofMinutes(1))))
-            .build();
+    private Limit createLimit(String name, int capacity, Duration period) {
+        int maxClients = appProperties.getRateLimiting().getMaxTrackedClients();
+        return new Limit(
+            name,
+            BucketConfiguration.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.intervally(capacity, period)))
+                .build(),
+            // An idle bucket is fully refilled after one period, so forgetting it changes nothing
+            new BucketCache(maxClients, period),
+            new BucketCache(maxClients, period),
+            Timer.builder("froebel.ratelimit.redis.latency")
+                .description("Time to check a rate limit bucket against Redis")
+                .tag("policy", name)
+                .register(meterRegistry),
+            Counter.builder("froebel.ratelimit.rejections")
+                .description("Requests rejected by a rate limit")
+                .tag("policy", name)
+                .register(meterRegistry)
+        );
     }
 
-    private BucketConfiguration createPasswordResetConfig() {
-        int limit = appProperties.getRateLimiting().getPasswordResetPerHour();
-        return BucketConfiguration.builder()
-            .addLimit(Bandwidth.classic(limit, Refill.intervally(limit, Duration.ofHours(1))))
-            .build();
-    }
-
-    private BucketConfiguration createVerificationConfig() {
-        int limit = appProperties.getRateLimiting().getVerificationResendPerHour();
-        return BucketConfiguration.builder()
-            .addLimit(Bandwidth.classic(limit, Refill.intervally(limit, Duration.ofHours(1))))
-            .build();
+    /**
+     * Redis-backed bucket that consumes up to max-unsynchronized-tokens locally between synchronizations.
+     * The same key always maps to the same connection.
+     */
+    private Bucket createRemoteBucket(String key, BucketConfiguration configuration) {
+        AppProperties.RateLimitingConfig config = appProperties.getRateLimiting();
+        LettuceBasedProxyManager<String> proxyManager =
+            proxyManagers.get(Math.floorMod(key.hashCode(), proxyManagers.size()));
+        return proxyManager.builder()
+            .withOptimization(Optimizations.delaying(new DelayParameters(
+                config.getMaxUnsynchronizedTokens(), Duration.ofMillis(config.getMaxUnsynchronizedMs()))))
+            .build(key, () -> configuration);
     }
 
     /**
@@ -238,9 +336,69 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         return remoteAddr;
     }
 
-    @Override
-    protected boolean shouldNotFilter(HttpServletRequest request) {
-        // Only filter POST requests to auth endpoints
-        return !"POST".equalsIgnoreCase(request.getMethod());
+    private enum KeyPart {
+        IP, USER, QUIZ
+    }
+
+    /**
+     * A limit bound to a route: the methods it applies to (all if empty) and what its buckets are keyed by.
+     */
+    private record Policy(Limit limit, Set<String> methods, List<KeyPart> keyParts) {
+
+        boolean appliesTo(String method) {
+            return methods.isEmpty() || methods.contains(method);
+        }
+    }
+
+    /**
+     * One configured limit: its bucket configuration, bucket handles and meters.
+     */
+    private record Limit(
+        String name,
+        BucketConfiguration configuration,
+        BucketCache remoteBuckets,
+        BucketCache localBuckets,
+        Timer redisLatency,
+        Counter rejections
+    ) {
+    }
+
+    /**
+     * Size-bounded, least-recently-used map of buckets whose entries also expire after an idle period.
+     */
+    private static final class BucketCache {
+
+        private final long idleNanos;
+        private final LinkedHashMap<String, CachedBucket> buckets;
+
+        BucketCache(int maxSize, Duration idleExpiry) {
+            this.idleNanos = idleExpiry.toNanos();
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedBucket> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        synchronized Bucket get(String key, Supplier<Bucket> factory) {
+            long now = System.nanoTime();
+            CachedBucket cached = buckets.get(key);
+            if (cached == null || now - cached.lastAccess > idleNanos) {
+                cached = new CachedBucket(factory.get());
+                buckets.put(key, cached);
+            }
+            cached.lastAccess = now;
+            return cached.bucket;
+        }
+
+        private static final class CachedBucket {
+            private final Bucket bucket;
+            private long lastAccess;
+
+            CachedBucket(Bucket bucket) {
+                this.bucket = bucket;
+            }
+        }
     }
 }
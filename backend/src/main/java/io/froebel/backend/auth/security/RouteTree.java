@@ -0,0 +1,103 @@
+package io.froebel.backend.auth.security;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Segment tree of route patterns, built once and matched per request without scanning every pattern.
+ * Supports literal segments, {@code {name}} / {@code *} for exactly one segment (named segments are
+ * captured) and a trailing {@code **} for zero or more segments. Every pattern matching a path is returned.
+ */
+final class RouteTree<T> {
+
+    private final Node<T> root = new Node<>();
+
+    void add(String pattern, T value) {
+        Node<T> node = root;
+        List<String> variables = new ArrayList<>();
+        String[] segments = split(pattern);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported at the end of a route pattern: " + pattern);
+                }
+                node.catchAll.add(new Route<>(value, new ArrayList<>(variables)));
+                return;
+            }
+            if (segment.equals("*") || (segment.startsWith("{") && segment.endsWith("}"))) {
+                variables.add(segment.equals("*") ? null : segment.substring(1, segment.length() - 1));
+                if (node.wildcard == null) {
+                    node.wildcard = new Node<>();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.literals.computeIfAbsent(segment, k -> new Node<>());
+            }
+        }
+        node.routes.add(new Route<>(value, new ArrayList<>(variables)));
+    }
+
+    List<Match<T>> match(String path) {
+        List<Match<T>> matches = new ArrayList<>();
+        collect(root, split(path), 0, new ArrayList<>(), matches);
+        return matches;
+    }
+
+    private void collect(Node<T> node, String[] segments, int index, List<String> captured, List<Match<T>> matches) {
+        for (Route<T> route : node.catchAll) {
+            matches.add(route.toMatch(captured));
+        }
+        if (index == segments.length) {
+            for (Route<T> route : node.routes) {
+                matches.add(route.toMatch(captured));
+            }
+            return;
+        }
+
+        Node<T> literal = node.literals.get(segments[index]);
+        if (literal != null) {
+            collect(literal, segments, index + 1, captured, matches);
+        }
+        if (node.wildcard != null) {
+            captured.add(segments[index]);
+            collect(node.wildcard, segments, index + 1, captured, matches);
+            captured.removeLast();
+        }
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    record Match<T>(T value, Map<String, String> variables) {
+    }
+
+    // variableNames holds null for unnamed wildcards, so it is copied into an ArrayList rather than List.copyOf
+    private record Route<T>(T value, List<String> variableNames) {
+
+        // Wildcard segments are captured in order, so the i-th captured value belongs to the i-th variable
+        Match<T> toMatch(List<String> captured) {
+            Map<String, String> variables = new HashMap<>();
+            for (int i = 0; i < variableNames.size() && i < captured.size(); i++) {
+                if (variableNames.get(i) != null) {
+                    variables.put(variableNames.get(i), captured.get(i));
+                }
+            }
+            return new Match<>(value, variables);
+        }
+    }
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> literals = new HashMap<>();
+        private final List<Route<T>> routes = new ArrayList<>();
+        private final List<Route<T>> catchAll = new ArrayList<>();
+        private Node<T> wildcard;
+    }
+}
@@ -12,9 +12,11 @@ import java.util.UUID;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, UserPrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -33,9 +35,13 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         }
     }
 
+    /**
+     * Load the principal for JWT authentication, served from {@link UserPrincipalCache} when possible.
+     * The returned instance may be shared; use {@link UserPrincipal#withSessionId} rather than mutating it.
+     */
     public UserDetails loadUserById(UUID userId) {
-        return userRepository.findById(userId)
+        return principalCache.get(userId, id -> userRepository.findById(id)
             .map(UserPrincipal::new)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
+            .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id)));
     }
 }
@@ -26,6 +26,22 @@ public class UserPrincipal implements UserDetails {
         this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
     }
 
+    private UserPrincipal(UserPrincipal source, UUID sessionId) {
+        this.id = source.id;
+        this.email = source.email;
+        this.password = source.password;
+        this.emailVerified = source.emailVerified;
+        this.authorities = source.authorities;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Copy of this principal bound to the given session, leaving this (possibly cached) instance untouched.
+     */
+    public UserPrincipal withSessionId(UUID sessionId) {
+        return new UserPrincipal(this, sessionId);
+    }
+
     public UUID getId() {
         return id;
     }
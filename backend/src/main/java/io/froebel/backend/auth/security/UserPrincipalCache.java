@@ -0,0 +1,116 @@
+package io.froebel.backend.auth.security;
+
+import io.froebel.backend.config.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Short-lived local cache of {@link UserPrincipal} by user ID, so an authenticated request does not
+ * need a users lookup. Entries are evicted on every node through Redis pub/sub when the user changes;
+ * if Redis is unavailable the TTL bounds how long other nodes can serve a stale principal.
+ * A principal whose load overlapped an eviction of the same user is returned but not cached, since it may
+ * have been read before the change committed.
+ */
+@Component
+public class UserPrincipalCache implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPrincipalCache.class);
+    static final String CHANNEL = "auth:principal:invalidations";
+    // Power of two; users share a counter per stripe, so an eviction may also skip caching another user's load
+    private static final int INVALIDATION_STRIPES = 1024;
+
+    private final AppProperties appProperties;
+    private final StringRedisTemplate redisTemplate;
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped before each eviction; a load only caches its result if its user's counter did not move meanwhile
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    public UserPrincipalCache(
+        AppProperties appProperties,
+        StringRedisTemplate redisTemplate,
+        RedisMessageListenerContainer listenerContainer
+    ) {
+        this.appProperties = appProperties;
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Return the cached principal, or load and cache it.
+     * Exceptions from the loader (e.g. user not found) propagate and nothing is cached.
+     */
+    public UserPrincipal get(UUID userId, Function<UUID, UserPrincipal> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.principal();
+        }
+
+        int stripe = stripe(userId);
+        long invalidationsBefore = invalidations.get(stripe);
+        UserPrincipal principal = loader.apply(userId);
+        if (entries.size() >= appProperties.getSecurity().getPrincipalCacheSize()) {
+            evictExpired(now);
+        }
+        Entry loaded = new Entry(principal, now + appProperties.getSecurity().getPrincipalCacheTtlMs());
+        // Checked under the entry's lock: an eviction either bumped the counter before this, or removes the entry after
+        entries.compute(userId, (id, current) -> invalidations.get(stripe) == invalidationsBefore ? loaded : current);
+        return principal;
+    }
+
+    public void evict(UUID userId) {
+        invalidations.incrementAndGet(stripe(userId));
+        entries.remove(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserPrincipalChanged(UserPrincipalChangedEvent event) {
+        evict(event.userId());
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event.userId().toString());
+        } catch (Exception e) {
+            log.warn("Redis unavailable, principal cache evicted locally only: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            evict(UUID.fromString(body));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed principal invalidation message: {}", body);
+        }
+    }
+
+    /**
+     * Drop expired entries; if the cache is still full, start over rather than track recency.
+     */
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        if (entries.size() >= appProperties.getSecurity().getPrincipalCacheSize()) {
+            entries.clear();
+        }
+    }
+
+    private static int stripe(UUID userId) {
+        return userId.hashCode() & (INVALIDATION_STRIPES - 1);
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,11 @@
+package io.froebel.backend.auth.security;
+
+import java.util.UUID;
+
+/**
+ * Published when a change to a user affects their authentication principal
+ * (role, email, password, email verification, 2FA or deletion).
+ * Handled after commit by {@link UserPrincipalCache}.
+ */
+public record UserPrincipalChangedEvent(UUID userId) {
+}
@@ -0,0 +1,33 @@
+package io.froebel.backend.auth.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims of an access token whose signature and expiry have been verified.
+ * Produced once per request by {@link JwtService#verify(String)} and passed on instead of the raw token.
+ *
+ * @param sessionId null for tokens issued without a session
+ * @param issuedAt  second precision, as carried by the {@code iat} claim
+ */
+public record AccessTokenClaims(
+    String jti,
+    UUID userId,
+    String email,
+    String role,
+    UUID sessionId,
+    Instant issuedAt,
+    Instant expiresAt
+) {
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+
+    /**
+     * Remaining time-to-live in seconds, 0 once expired.
+     */
+    public long remainingTtlSeconds() {
+        return Math.max(0, Duration.between(Instant.now(), expiresAt).toSeconds());
+    }
+}
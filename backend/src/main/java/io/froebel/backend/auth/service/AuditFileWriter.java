@@ -0,0 +1,129 @@
+package io.froebel.backend.auth.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Appends audit records as newline-delimited JSON to {@code audit.ndjson}, rotating it to a timestamped file
+ * once it exceeds the size limit and keeping only the newest rotated files. Used by the consumer thread only.
+ */
+final class AuditFileWriter implements AutoCloseable {
+
+    private static final String ACTIVE_FILE = "audit.ndjson";
+    private static final DateTimeFormatter ROTATED_SUFFIX =
+        DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final long maxBytes;
+    private final int maxFiles;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private BufferedWriter writer;
+    private long size;
+
+    AuditFileWriter(Path directory, long maxBytes, int maxFiles) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    void write(AuditRingBuffer.AuditRecord record, String maskedEmail) throws IOException {
+        if (writer == null) {
+            open();
+        }
+
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(record.occurredAtMillis)).append('"');
+        line.append(",\"event\":\"").append(record.eventType.name()).append('"');
+        if (record.userId != null) {
+            line.append(",\"user_id\":\"").append(record.userId).append('"');
+        }
+        appendField("email", maskedEmail);
+        appendField("ip", record.ipAddress);
+        appendField("details", record.details);
+        line.append("}\n");
+
+        writer.append(line);
+        size += line.length();
+    }
+
+    /**
+     * Flush the batch and rotate if the active file is over the limit.
+     */
+    void flush() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        writer.flush();
+        if (size >= maxBytes) {
+            rotate();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        Path active = directory.resolve(ACTIVE_FILE);
+        writer = Files.newBufferedWriter(active, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(active);
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Files.move(directory.resolve(ACTIVE_FILE),
+            directory.resolve("audit-" + ROTATED_SUFFIX.format(Instant.now()) + ".ndjson"));
+
+        List<Path> rotated;
+        try (Stream<Path> files = Files.list(directory)) {
+            rotated = files
+                .filter(path -> path.getFileName().toString().startsWith("audit-"))
+                .sorted()
+                .toList();
+        }
+        for (int i = 0; i < rotated.size() - maxFiles; i++) {
+            Files.deleteIfExists(rotated.get(i));
+        }
+    }
+
+    private void appendField(String name, String value) {
+        if (value == null) {
+            return;
+        }
+        line.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
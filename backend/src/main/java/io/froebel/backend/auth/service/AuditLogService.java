@@ -1,21 +1,52 @@
 package io.froebel.backend.auth.service;
 
+import io.froebel.backend.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
 
 /**
  * Service for structured audit logging of authentication events.
- * Logs are structured for easy parsing by log aggregation systems.
+ * <p>
+ * Events are placed in a lock-free ring buffer on the calling thread, which never blocks: when the buffer is full
+ * the event is dropped and counted. A background thread drains it in batches to the configured sinks: the
+ * {@code AUDIT} logger (with MDC fields for log aggregation), the {@code audit_event} table and/or a rotating
+ * NDJSON file. Emails are masked by the consumer.
  */
 @Service
 public class AuditLogService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuditLogService.class);
     private static final Logger auditLog = LoggerFactory.getLogger("AUDIT");
 
+    private static final String INSERT_EVENT = """
+        INSERT INTO audit_event (occurred_at, event_type, user_id, email, ip_address, details)
+        VALUES (?, ?, ?, ?, ?, ?)
+        """;
+
     public enum AuthEventType {
         LOGIN_SUCCESS,
         LOGIN_FAILED,
@@ -33,66 +64,219 @@ public class AuditLogService {
         TOKEN_BLACKLISTED
     }
 
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties.AuditConfig config;
+    private final AuditRingBuffer buffer;
+    private final boolean logSink;
+    private final boolean databaseSink;
+    private final AuditFileWriter fileWriter;
+
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private final Timer batchLatency;
+
+    private final Thread consumer;
+    private volatile boolean running = true;
+
+    public AuditLogService(JdbcTemplate jdbcTemplate, AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = appProperties.getAudit();
+        this.buffer = new AuditRingBuffer(config.getBufferSize());
+
+        Set<String> sinks = config.getSinks().stream()
+            .map(sink -> sink.trim().toLowerCase(Locale.ROOT))
+            .collect(Collectors.toSet());
+        this.logSink = sinks.contains("log");
+        this.databaseSink = sinks.contains("database");
+        this.fileWriter = sinks.contains("file")
+            ? new AuditFileWriter(Path.of(config.getFileDirectory()), config.getMaxFileSizeMb() * 1024L * 1024L,
+                config.getMaxFiles())
+            : null;
+
+        this.dropped = Counter.builder("froebel.audit.events.dropped")
+            .description("Audit events dropped because the buffer was full")
+            .register(meterRegistry);
+        this.written = Counter.builder("froebel.audit.events.written")
+            .description("Audit events written by the background consumer")
+            .register(meterRegistry);
+        this.failed = Counter.builder("froebel.audit.events.failed")
+            .description("Audit events a sink failed to write")
+            .register(meterRegistry);
+        this.batchLatency = Timer.builder("froebel.audit.batch.latency")
+            .description("Time to write one batch of audit events to all sinks")
+            .register(meterRegistry);
+        Gauge.builder("froebel.audit.buffer.depth", buffer, AuditRingBuffer::depth)
+            .description("Audit events waiting in the buffer")
+            .register(meterRegistry);
+
+        this.consumer = Thread.ofPlatform().name("audit-writer").daemon(true).start(this::consume);
+        log.info("Audit pipeline started: sinks={}, bufferSize={}", sinks, config.getBufferSize());
+    }
+
     /**
      * Log an authentication event with structured data.
      */
     public void logAuthEvent(AuthEventType eventType, String email, String ipAddress, String details) {
+        logAuthEvent(eventType, null, email, ipAddress, details);
+    }
+
+    /**
+     * Log an authentication event for a known user.
+     */
+    public void logAuthEvent(AuthEventType eventType, UUID userId, String email, String ipAddress, String details) {
+        if (!buffer.tryPublish(eventType, userId, email, ipAddress, details, System.currentTimeMillis())) {
+            dropped.increment();
+        }
+    }
+
+    private void consume() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getFlushIntervalMs()));
+        int batchSize = Math.max(1, config.getBatchSize());
+        while (running) {
+            try {
+                if (drainBatch(batchSize) == 0) {
+                    LockSupport.parkNanos(idleNanos);
+                }
+            } catch (Exception e) {
+                log.error("Audit consumer error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private int drainBatch(int batchSize) {
+        int count = buffer.available(batchSize);
+        if (count == 0) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        String[] maskedEmails = new String[count];
+        for (int i = 0; i < count; i++) {
+            maskedEmails[i] = maskEmail(buffer.get(i).email);
+        }
+        if (logSink) {
+            writeToLog(count, maskedEmails);
+        }
+        if (databaseSink) {
+            writeToDatabase(count, maskedEmails);
+        }
+        if (fileWriter != null) {
+            writeToFile(count, maskedEmails);
+        }
+        buffer.release(count);
+
+        written.increment(count);
+        batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return count;
+    }
+
+    private void writeToLog(int count, String[] maskedEmails) {
+        for (int i = 0; i < count; i++) {
+            AuditRingBuffer.AuditRecord record = buffer.get(i);
+            try {
+                MDC.put("event_type", record.eventType.name());
+                if (record.userId != null) {
+                    MDC.put("user_id", record.userId.toString());
+                }
+                MDC.put("email", maskedEmails[i]);
+                MDC.put("ip_address", record.ipAddress);
+                MDC.put("audit", "true");
+
+                String message = record.userId != null
+                    ? String.format("[AUTH] %s | user=%s | email=%s | ip=%s | %s",
+                        record.eventType.name(), record.userId, maskedEmails[i], record.ipAddress,
+                        record.details != null ? record.details : "")
+                    : String.format("[AUTH] %s | email=%s | ip=%s | %s",
+                        record.eventType.name(), maskedEmails[i], record.ipAddress,
+                        record.details != null ? record.details : "");
+
+                switch (record.eventType) {
+                    case LOGIN_FAILED, LOGIN_LOCKED, OAUTH_LOGIN_FAILED, OAUTH_ACCOUNT_LINKING_REJECTED ->
+                        auditLog.warn(message);
+                    default -> auditLog.info(message);
+                }
+            } finally {
+                MDC.remove("event_type");
+                MDC.remove("user_id");
+                MDC.remove("email");
+                MDC.remove("ip_address");
+                MDC.remove("audit");
+            }
+        }
+    }
+
+    private void writeToDatabase(int count, String[] maskedEmails) {
+        List<Object[]> batchArgs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AuditRingBuffer.AuditRecord record = buffer.get(i);
+            batchArgs.add(new Object[]{
+                new Timestamp(record.occurredAtMillis),
+                record.eventType.name(),
+                record.userId,
+                maskedEmails[i],
+                record.ipAddress,
+                record.details
+            });
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_EVENT, batchArgs);
+        } catch (DataAccessException e) {
+            failed.increment(count);
+            log.warn("Failed to write {} audit events to the database: {}", count, e.getMessage());
+        }
+    }
+
+    private void writeToFile(int count, String[] maskedEmails) {
         try {
-            MDC.put("event_type", eventType.name());
-            MDC.put("email", maskEmail(email));
-            MDC.put("ip_address", ipAddress);
-            MDC.put("audit", "true");
-
-            String message = String.format("[AUTH] %s | email=%s | ip=%s | %s",
-                eventType.name(),
-                maskEmail(email),
-                ipAddress,
-                details != null ? details : ""
-            );
-
-            switch (eventType) {
-                case LOGIN_FAILED, LOGIN_LOCKED, OAUTH_LOGIN_FAILED, OAUTH_ACCOUNT_LINKING_REJECTED ->
-                    auditLog.warn(message);
-                default -> auditLog.info(message);
+            for (int i = 0; i < count; i++) {
+                fileWriter.write(buffer.get(i), maskedEmails[i]);
             }
-        } finally {
-            MDC.remove("event_type");
-            MDC.remove("email");
-            MDC.remove("ip_address");
-            MDC.remove("audit");
+            fileWriter.flush();
+        } catch (IOException e) {
+            failed.increment(count);
+            log.warn("Failed to write {} audit events to file: {}", count, e.getMessage());
         }
     }
 
     /**
-     * Log an authentication event for a known user.
+     * Delete audit events older than the retention period (runs daily).
      */
-    public void logAuthEvent(AuthEventType eventType, UUID userId, String email, String ipAddress, String details) {
+    @Scheduled(cron = "0 30 3 * * ?") // 3:30 AM daily
+    public void cleanupOldEvents() {
+        if (!databaseSink) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofDays(config.getRetentionDays()));
+        int deleted = jdbcTemplate.update("DELETE FROM audit_event WHERE occurred_at < ?", Timestamp.from(cutoff));
+        if (deleted > 0) {
+            log.info("Cleaned up {} old audit events", deleted);
+        }
+    }
+
+    /**
+     * Stop the consumer and write whatever is still buffered.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(consumer);
         try {
-            MDC.put("event_type", eventType.name());
-            MDC.put("user_id", userId.toString());
-            MDC.put("email", maskEmail(email));
-            MDC.put("ip_address", ipAddress);
-            MDC.put("audit", "true");
-
-            String message = String.format("[AUTH] %s | user=%s | email=%s | ip=%s | %s",
-                eventType.name(),
-                userId,
-                maskEmail(email),
-                ipAddress,
-                details != null ? details : ""
-            );
-
-            switch (eventType) {
-                case LOGIN_FAILED, LOGIN_LOCKED, OAUTH_LOGIN_FAILED, OAUTH_ACCOUNT_LINKING_REJECTED ->
-                    auditLog.warn(message);
-                default -> auditLog.info(message);
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!consumer.isAlive()) {
+            while (drainBatch(Math.max(1, config.getBatchSize())) > 0) {
+                // drain remaining events
+            }
+        }
+        if (fileWriter != null) {
+            try {
+                fileWriter.close();
+            } catch (IOException e) {
+                log.warn("Failed to close audit file: {}", e.getMessage());
             }
-        } finally {
-            MDC.remove("event_type");
-            MDC.remove("user_id");
-            MDC.remove("email");
-            MDC.remove("ip_address");
-            MDC.remove("audit");
         }
     }
 
@@ -0,0 +1,104 @@
+package io.froebel.backend.auth.service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated audit records.
+ * Producers claim a sequence with a CAS, fill the slot in place and publish it; nothing is allocated and
+ * nobody waits. When the consumer has fallen a full ring behind, {@link #tryPublish} fails and the event is dropped.
+ */
+final class AuditRingBuffer {
+
+    private final AuditRecord[] slots;
+    private final int mask;
+    // Sequence each slot was last published with, -1 while never published
+    private final AtomicLongArray published;
+    // Next sequence to claim (producers) and next sequence to read (consumer only)
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AuditRecord[capacity];
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AuditRecord();
+            published.set(i, -1);
+        }
+    }
+
+    boolean tryPublish(
+        AuditLogService.AuthEventType eventType,
+        UUID userId,
+        String email,
+        String ipAddress,
+        String details,
+        long occurredAtMillis
+    ) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        AuditRecord record = slots[index];
+        record.eventType = eventType;
+        record.userId = userId;
+        record.email = email;
+        record.ipAddress = ipAddress;
+        record.details = details;
+        record.occurredAtMillis = occurredAtMillis;
+        published.setRelease(index, sequence);
+        return true;
+    }
+
+    /**
+     * Number of consecutive published records available to the consumer, at most {@code max}.
+     * They are read with {@link #get} and handed back with {@link #release}.
+     */
+    int available(int max) {
+        long start = consumed;
+        int count = 0;
+        while (count < max && published.getAcquire((int) (start + count) & mask) == start + count) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * The {@code offset}-th available record; only valid until {@link #release}.
+     */
+    AuditRecord get(int offset) {
+        return slots[(int) (consumed + offset) & mask];
+    }
+
+    void release(int count) {
+        for (int i = 0; i < count; i++) {
+            AuditRecord record = slots[(int) (consumed + i) & mask];
+            record.userId = null;
+            record.email = null;
+            record.ipAddress = null;
+            record.details = null;
+        }
+        consumed = consumed + count;
+    }
+
+    int depth() {
+        return (int) Math.max(0, claimed.get() - consumed);
+    }
+
+    static final class AuditRecord {
+        AuditLogService.AuthEventType eventType;
+        UUID userId;
+        String email;
+        String ipAddress;
+        String details;
+        long occurredAtMillis;
+    }
+}
@@ -11,8 +11,10 @@ import io.froebel.backend.auth.exception.EmailNotVerifiedException;
 import io.froebel.backend.auth.exception.InvalidCredentialsException;
 import io.froebel.backend.auth.exception.InvalidTokenException;
 import io.froebel.backend.auth.exception.InvalidTwoFactorCodeException;
+import io.froebel.backend.auth.exception.PasswordHashingBusyException;
 import io.froebel.backend.auth.exception.TokenExpiredException;
 import io.froebel.backend.auth.exception.TwoFactorRequiredException;
+import io.froebel.backend.auth.security.UserPrincipalChangedEvent;
 import io.froebel.backend.config.AppProperties;
 import io.froebel.backend.exception.ResourceNotFoundException;
 import io.froebel.backend.model.entity.PasswordResetToken;
@@ -25,7 +27,9 @@ import io.froebel.backend.repository.UserRepository;
 import io.froebel.backend.settings.service.NotificationPreferenceService;
 import io.froebel.backend.settings.service.SessionManagementService;
 import io.froebel.backend.settings.service.TwoFactorService;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,14 +40,10 @@ import java.util.UUID;
 @Service
 public class AuthService {
 
-    // Pre-computed BCrypt hash for timing attack prevention
-    // This is a valid BCrypt hash of "dummy-password-for-timing" used to ensure
-    // constant-time comparison even when user doesn't exist
-    private static final String DUMMY_BCRYPT_HASH =
-        "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZRGdjGj/n3.rsS7JpYX3.xCKn6s8.";
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
     private final EmailService emailService;
@@ -54,10 +54,11 @@ public class AuthService {
     private final NotificationPreferenceService notificationPreferenceService;
     private final SessionManagementService sessionManagementService;
     private final TwoFactorService twoFactorService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthService(
         UserRepository userRepository,
-        PasswordEncoder passwordEncoder,
+        PasswordHashingService passwordHashingService,
         JwtService jwtService,
         RefreshTokenService refreshTokenService,
         EmailService emailService,
@@ -67,10 +68,11 @@ public class AuthService {
         AuditLogService auditLogService,
         NotificationPreferenceService notificationPreferenceService,
         SessionManagementService sessionManagementService,
-        TwoFactorService twoFactorService
+        TwoFactorService twoFactorService,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtService = jwtService;
         this.refreshTokenService = refreshTokenService;
         this.emailService = emailService;
@@ -81,6 +83,7 @@ public class AuthService {
         this.notificationPreferenceService = notificationPreferenceService;
         this.sessionManagementService = sessionManagementService;
         this.twoFactorService = twoFactorService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -98,7 +101,7 @@ public class AuthService {
         // Create user
         User user = User.builder()
             .email(request.email())
-            .password(passwordEncoder.encode(request.password()))
+            .password(passwordHashingService.encode(request.password()))
             .displayName(request.displayName())
             .role(Role.USER)
             .provider("local")
@@ -146,15 +149,10 @@ public class AuthService {
 
         User user = userRepository.findByEmail(email).orElse(null);
 
-        // Check credentials - use constant-time comparison even for non-existent users
-        boolean credentialsValid = false;
-        if (user != null && user.getPassword() != null) {
-            credentialsValid = passwordEncoder.matches(request.password(), user.getPassword());
-        } else {
-            // Perform dummy comparison to prevent timing attacks
-            // Using matches() with pre-computed hash ensures same timing profile as real comparison
-            passwordEncoder.matches(request.password(), DUMMY_BCRYPT_HASH);
-        }
+        // Check credentials - a missing user or password is compared against a dummy hash
+        // so that it takes as long as a real comparison (timing attacks)
+        boolean credentialsValid = passwordHashingService.matches(
+            request.password(), user != null ? user.getPassword() : null);
 
         if (!credentialsValid || user == null) {
             // Record failed attempt
@@ -210,6 +208,7 @@ public class AuthService {
 
         // Record successful login (clears failed attempts)
         loginAttemptService.recordSuccessfulLogin(email, ipAddress);
+        rehashIfNeeded(user, request.password());
 
         // Create refresh token and session
         RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
@@ -302,6 +301,7 @@ public class AuthService {
         user.setEmailVerificationToken(null);
         user.setEmailVerificationTokenExpiry(null);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(user.getId()));
 
         auditLogService.logAuthEvent(
             AuditLogService.AuthEventType.EMAIL_VERIFICATION,
@@ -378,8 +378,9 @@ public class AuthService {
         }
 
         User user = resetToken.getUser();
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(user.getId()));
 
         // Mark token as used
         resetToken.setUsed(true);
@@ -406,13 +407,14 @@ public class AuthService {
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         // Verify current password
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordHashingService.matches(currentPassword, user.getPassword())) {
             throw new InvalidCredentialsException("Current password is incorrect");
         }
 
         // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(userId));
 
         // Revoke all refresh tokens (force re-login on other devices)
         refreshTokenService.revokeAllUserTokens(userId);
@@ -425,4 +427,27 @@ public class AuthService {
             null
         );
     }
+
+    /**
+     * Replace a hash created with a lower cost than the current one, while the raw password is at hand.
+     * Skipped when the hashing pool is busy; it is retried on the next login.
+     * Only the hash is written, and only if it is unchanged, since the user was loaded outside any transaction.
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        String oldHash = user.getPassword();
+        if (!passwordHashingService.needsRehash(oldHash)) {
+            return;
+        }
+        try {
+            String newHash = passwordHashingService.encode(rawPassword);
+            if (userRepository.updatePasswordIfUnchanged(user.getId(), oldHash, newHash) == 1) {
+                user.setPassword(newHash);
+                log.debug("Rehashed password of user {} with the current cost", user.getId());
+            } else {
+                log.debug("Skipped password rehash of user {}, password changed concurrently", user.getId());
+            }
+        } catch (PasswordHashingBusyException e) {
+            log.debug("Skipped password rehash of user {}, hashing pool busy", user.getId());
+        }
+    }
 }
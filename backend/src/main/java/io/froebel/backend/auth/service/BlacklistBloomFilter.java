@@ -0,0 +1,68 @@
+package io.froebel.backend.auth.service;
+
+import io.froebel.backend.util.Hashing;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of blacklisted JTIs, segmented by the hour in which the blacklisted token expires.
+ * A JTI only needs to be remembered until its token expires, so whole segments are dropped once
+ * their hour has passed instead of the filter filling up over time.
+ * No false negatives: a JTI that was added is always reported until its segment expires.
+ */
+final class BlacklistBloomFilter {
+
+    private static final long SEGMENT_SECONDS = 3600;
+
+    private final int bits;
+    private final int hashes;
+    // Segment index (expiry epoch second / SEGMENT_SECONDS) -> bits
+    private final ConcurrentSkipListMap<Long, AtomicLongArray> segments = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param expectedPerSegment expected number of JTIs blacklisted per hour of expiry
+     * @param falsePositiveRate  target false positive rate of one segment
+     */
+    BlacklistBloomFilter(int expectedPerSegment, double falsePositiveRate) {
+        int n = Math.max(1, expectedPerSegment);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, m));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    }
+
+    void add(String jti, long expiresAtEpochSecond) {
+        AtomicLongArray segment = segments.computeIfAbsent(
+            expiresAtEpochSecond / SEGMENT_SECONDS, k -> new AtomicLongArray((bits + 63) / 64));
+        long h1 = Hashing.mix(Hashing.fnv1a(jti));
+        long h2 = Hashing.mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bits);
+            segment.getAndUpdate(bit >>> 6, word -> word | (1L << bit));
+        }
+    }
+
+    boolean mightContain(String jti) {
+        long currentSegment = System.currentTimeMillis() / 1000 / SEGMENT_SECONDS;
+        segments.headMap(currentSegment).clear();
+
+        long h1 = Hashing.mix(Hashing.fnv1a(jti));
+        long h2 = Hashing.mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (AtomicLongArray segment : segments.values()) {
+            if (contains(segment, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contains(AtomicLongArray segment, long h1, long h2) {
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bits);
+            if ((segment.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
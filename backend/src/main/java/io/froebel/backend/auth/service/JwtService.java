@@ -10,8 +10,13 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
@@ -19,16 +24,23 @@ public class JwtService {
     private final SecretKey key;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
+    private final int verifiedCacheSize;
+
+    // SHA-256 of the full token (signature included) -> its verified claims. A digest is much cheaper
+    // than an HS512 verification plus JSON parse, and a forged or altered token never hits an entry.
+    private final ConcurrentHashMap<String, AccessTokenClaims> verifiedTokens = new ConcurrentHashMap<>();
 
     public JwtService(
         @Value("${jwt.secret}") String secret,
         @Value("${jwt.expiration}") long accessTokenExpiration,
-        @Value("${jwt.refresh-expiration:604800000}") long refreshTokenExpiration
+        @Value("${jwt.refresh-expiration:604800000}") long refreshTokenExpiration,
+        @Value("${jwt.verified-cache-size:10000}") int verifiedCacheSize
     ) {
         validateJwtSecret(secret);
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.verifiedCacheSize = verifiedCacheSize;
     }
 
     private void validateJwtSecret(String secret) {
@@ -70,6 +82,41 @@ public class JwtService {
         return builder.compact();
     }
 
+    /**
+     * Verify an access token once and return its claims.
+     * Recently verified tokens are served from a bounded in-memory cache until they expire.
+     *
+     * @return empty if the token is malformed, wrongly signed or expired
+     */
+    public Optional<AccessTokenClaims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String digest = digest(token);
+        AccessTokenClaims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(digest);
+            return Optional.empty();
+        }
+
+        AccessTokenClaims claims;
+        try {
+            claims = toAccessTokenClaims(parseToken(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (verifiedTokens.size() >= verifiedCacheSize) {
+            evictVerifiedTokens();
+        }
+        verifiedTokens.put(digest, claims);
+        return Optional.of(claims);
+    }
+
     public UUID extractUserId(String token) {
         Claims claims = parseToken(token);
         return UUID.fromString(claims.getSubject());
@@ -108,12 +155,7 @@ public class JwtService {
     }
 
     public boolean validateToken(String token) {
-        try {
-            parseToken(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
     public boolean isTokenExpired(String token) {
@@ -137,6 +179,38 @@ public class JwtService {
             .getPayload();
     }
 
+    private static AccessTokenClaims toAccessTokenClaims(Claims claims) {
+        String sid = claims.get("sid", String.class);
+        return new AccessTokenClaims(
+            claims.getId(),
+            UUID.fromString(claims.getSubject()),
+            claims.get("email", String.class),
+            claims.get("role", String.class),
+            sid != null ? UUID.fromString(sid) : null,
+            claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+            claims.getExpiration().toInstant()
+        );
+    }
+
+    /**
+     * Drop expired entries; if the cache is still full, start over rather than track recency.
+     */
+    private void evictVerifiedTokens() {
+        verifiedTokens.values().removeIf(AccessTokenClaims::isExpired);
+        if (verifiedTokens.size() >= verifiedCacheSize) {
+            verifiedTokens.clear();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     public long getAccessTokenExpiration() {
         return accessTokenExpiration;
     }
@@ -3,17 +3,36 @@ package io.froebel.backend.auth.service;
 import io.froebel.backend.config.AppProperties;
 import io.froebel.backend.model.entity.LoginAttempt;
 import io.froebel.backend.repository.LoginAttemptRepository;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for tracking login attempts and implementing account lockout.
+ * <p>
+ * Failures are counted in a Redis sorted set per email (a sliding window that expires with its TTL) and a lockout
+ * key is set once the limit is reached, so credential stuffing does not turn into database reads and writes.
+ * The login_attempt rows are kept as an audit trail only: they are buffered and inserted in batches.
+ * If Redis is unavailable, attempts are written and counted in the database as before.
  */
 @Service
 public class LoginAttemptService {
@@ -25,19 +44,50 @@ public class LoginAttemptService {
     private static final Duration DEFAULT_LOCKOUT_DURATION = Duration.ofMinutes(15);
     private static final Duration DEFAULT_ATTEMPT_WINDOW = Duration.ofMinutes(15);
 
+    private static final String FAILURES_KEY_PREFIX = "auth:login-failures:";
+    private static final String LOCKOUT_KEY_PREFIX = "auth:login-lockout:";
+
+    // KEYS: failures, lockout; ARGV: now (ms), window (ms), member, max attempts, lockout (ms). Returns the count.
+    private static final RedisScript<Long> RECORD_FAILURE = new DefaultRedisScript<>("""
+        local now = tonumber(ARGV[1])
+        redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - tonumber(ARGV[2]))
+        redis.call('ZADD', KEYS[1], now, ARGV[3])
+        redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        local count = redis.call('ZCARD', KEYS[1])
+        if count >= tonumber(ARGV[4]) then
+            redis.call('SET', KEYS[2], now, 'PX', ARGV[5])
+        end
+        return count
+        """, Long.class);
+
+    private static final String INSERT_ATTEMPT =
+        "INSERT INTO login_attempt (email, ip_address, attempted_at, successful) VALUES (?, ?, ?, ?)";
+
     private final LoginAttemptRepository loginAttemptRepository;
     private final EmailService emailService;
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
     private final int maxAttempts;
     private final Duration lockoutDuration;
     private final Duration attemptWindow;
+    private final int maxPendingAttempts;
+
+    // Audit rows waiting for the next batch insert
+    private final ConcurrentLinkedQueue<LoginAttempt> pendingAttempts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong droppedAttempts = new AtomicLong();
 
     public LoginAttemptService(
         LoginAttemptRepository loginAttemptRepository,
         EmailService emailService,
+        StringRedisTemplate redisTemplate,
+        JdbcTemplate jdbcTemplate,
         AppProperties appProperties
     ) {
         this.loginAttemptRepository = loginAttemptRepository;
         this.emailService = emailService;
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
 
         // Get configuration from properties or use defaults
         AppProperties.SecurityConfig security = appProperties.getSecurity();
@@ -51,10 +101,12 @@ public class LoginAttemptService {
             this.attemptWindow = security.getAttemptWindowMinutes() > 0
                 ? Duration.ofMinutes(security.getAttemptWindowMinutes())
                 : DEFAULT_ATTEMPT_WINDOW;
+            this.maxPendingAttempts = security.getLoginAttemptMaxPending();
         } else {
             this.maxAttempts = DEFAULT_MAX_ATTEMPTS;
             this.lockoutDuration = DEFAULT_LOCKOUT_DURATION;
             this.attemptWindow = DEFAULT_ATTEMPT_WINDOW;
+            this.maxPendingAttempts = 10000;
         }
 
         log.info("LoginAttemptService initialized: maxAttempts={}, lockoutDuration={}min, attemptWindow={}min",
@@ -68,12 +120,27 @@ public class LoginAttemptService {
      * @param ipAddress The IP address of the request
      * @return true if the account is now locked
      */
-    @Transactional
     public boolean recordFailedAttempt(String email, String ipAddress) {
         LoginAttempt attempt = new LoginAttempt(email, ipAddress, false);
-        loginAttemptRepository.save(attempt);
-
-        long failedCount = getFailedAttemptCount(email);
+        long failedCount;
+        try {
+            long now = attempt.getAttemptedAt().toEpochMilli();
+            Long count = redisTemplate.execute(
+                RECORD_FAILURE,
+                List.of(FAILURES_KEY_PREFIX + email, LOCKOUT_KEY_PREFIX + email),
+                Long.toString(now),
+                Long.toString(attemptWindow.toMillis()),
+                now + ":" + UUID.randomUUID(),
+                Integer.toString(maxAttempts),
+                Long.toString(lockoutDuration.toMillis())
+            );
+            failedCount = count != null ? count : 0;
+            enqueue(attempt);
+        } catch (Exception e) {
+            log.warn("Redis unavailable, counting failed login attempts in the database: {}", e.getMessage());
+            loginAttemptRepository.save(attempt);
+            failedCount = getFailedAttemptCountFromDatabase(email);
+        }
         log.debug("Failed login attempt for {}: {} of {} max", email, failedCount, maxAttempts);
 
         if (failedCount >= maxAttempts) {
@@ -87,21 +154,14 @@ public class LoginAttemptService {
 
     /**
      * Record a successful login and clear failed attempts.
+     * Earlier failures stay in the audit trail; the database fallback only counts failures after the last success.
      *
      * @param email     The email that successfully logged in
      * @param ipAddress The IP address of the request
      */
-    @Transactional
     public void recordSuccessfulLogin(String email, String ipAddress) {
-        // Clear all failed attempts on successful login
-        int deleted = loginAttemptRepository.deleteByEmail(email);
-        if (deleted > 0) {
-            log.debug("Cleared {} failed login attempts for {}", deleted, email);
-        }
-
-        // Record the successful attempt (optional, for audit trail)
-        LoginAttempt attempt = new LoginAttempt(email, ipAddress, true);
-        loginAttemptRepository.save(attempt);
+        clearRedisState(email);
+        enqueue(new LoginAttempt(email, ipAddress, true));
     }
 
     /**
@@ -111,6 +171,8 @@ public class LoginAttemptService {
      */
     @Transactional
     public void clearAttempts(String email) {
+        clearRedisState(email);
+        pendingAttempts.removeIf(attempt -> attempt.getEmail().equals(email));
         int deleted = loginAttemptRepository.deleteByEmail(email);
         if (deleted > 0) {
             log.info("Cleared {} login attempts for {} after password reset", deleted, email);
@@ -124,8 +186,12 @@ public class LoginAttemptService {
      * @return true if the account is locked
      */
     public boolean isLocked(String email) {
-        long failedCount = getFailedAttemptCount(email);
-        return failedCount >= maxAttempts;
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(LOCKOUT_KEY_PREFIX + email));
+        } catch (Exception e) {
+            log.warn("Redis unavailable, checking lockout in the database: {}", e.getMessage());
+            return getFailedAttemptCountFromDatabase(email) >= maxAttempts;
+        }
     }
 
     /**
@@ -135,7 +201,14 @@ public class LoginAttemptService {
      * @return Duration until unlock, or Duration.ZERO if not locked
      */
     public Duration getRemainingLockoutTime(String email) {
-        if (!isLocked(email)) {
+        try {
+            Long remainingMs = redisTemplate.getExpire(LOCKOUT_KEY_PREFIX + email, TimeUnit.MILLISECONDS);
+            return remainingMs != null && remainingMs > 0 ? Duration.ofMillis(remainingMs) : Duration.ZERO;
+        } catch (Exception e) {
+            log.warn("Redis unavailable, reading lockout from the database: {}", e.getMessage());
+        }
+
+        if (getFailedAttemptCountFromDatabase(email) < maxAttempts) {
             return Duration.ZERO;
         }
 
@@ -151,9 +224,61 @@ public class LoginAttemptService {
     }
 
     /**
-     * Get the count of failed attempts within the attempt window.
+     * Insert buffered audit rows in one batch.
+     */
+    @Scheduled(fixedDelayString = "${app.security.login-attempt-flush-interval-ms:5000}")
+    public void flushAttempts() {
+        long dropped = droppedAttempts.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("Dropped {} login attempt audit rows, buffer was full", dropped);
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>();
+        LoginAttempt attempt;
+        while ((attempt = pendingAttempts.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batchArgs.add(new Object[]{
+                attempt.getEmail(), attempt.getIpAddress(), Timestamp.from(attempt.getAttemptedAt()), attempt.isSuccessful()
+            });
+        }
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_ATTEMPT, batchArgs);
+        } catch (DataAccessException e) {
+            log.error("Failed to write {} login attempt audit rows: {}", batchArgs.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushAttempts();
+    }
+
+    private void enqueue(LoginAttempt attempt) {
+        // Bounded so an attack cannot grow the buffer without limit; the lockout itself lives in Redis
+        if (pendingCount.incrementAndGet() > maxPendingAttempts) {
+            pendingCount.decrementAndGet();
+            droppedAttempts.incrementAndGet();
+            return;
+        }
+        pendingAttempts.add(attempt);
+    }
+
+    private void clearRedisState(String email) {
+        try {
+            redisTemplate.delete(List.of(FAILURES_KEY_PREFIX + email, LOCKOUT_KEY_PREFIX + email));
+        } catch (Exception e) {
+            log.warn("Failed to clear login attempts for {} in Redis: {}", email, e.getMessage());
+        }
+    }
+
+    /**
+     * Get the count of failed attempts within the attempt window (database fallback).
      */
-    private long getFailedAttemptCount(String email) {
+    private long getFailedAttemptCountFromDatabase(String email) {
         Instant windowStart = Instant.now().minus(attemptWindow);
         return loginAttemptRepository.countFailedAttemptsSince(email, windowStart);
     }
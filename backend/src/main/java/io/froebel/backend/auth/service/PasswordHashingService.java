@@ -0,0 +1,188 @@
+package io.froebel.backend.auth.service;
+
+import io.froebel.backend.auth.exception.PasswordHashingBusyException;
+import io.froebel.backend.config.AppProperties;
+import io.froebel.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password hashing for login and credential changes on a dedicated, bounded pool.
+ * A burst of logins can then use at most the pool's threads worth of CPU; once the queue is full, further
+ * requests are rejected immediately instead of pinning servlet threads and starving other traffic.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final int currentCost;
+    // Hash of a random password compared against when the user has no password, so unknown emails take as
+    // long as known ones. Made at the lowest cost still stored: after the cost is raised, most existing hashes
+    // keep the old, faster cost until their users log in again, and a dummy at the new cost would stand out.
+    private volatile String dummyHash;
+
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejections;
+
+    public PasswordHashingService(
+        PasswordEncoder passwordEncoder,
+        UserRepository userRepository,
+        AppProperties appProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        AppProperties.PasswordHashingConfig config = appProperties.getSecurity().getPasswordHashing();
+        int threads = Math.max(1, config.getThreads());
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+            Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+        this.timeoutMs = config.getTimeoutMs();
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        this.currentCost = costOf(dummyHash);
+
+        this.encodeTimer = Timer.builder("froebel.password.hash.latency")
+            .description("Time to hash or verify a password, including queueing")
+            .tag("operation", "encode")
+            .register(meterRegistry);
+        this.matchTimer = Timer.builder("froebel.password.hash.latency")
+            .description("Time to hash or verify a password, including queueing")
+            .tag("operation", "match")
+            .register(meterRegistry);
+        this.rejections = Counter.builder("froebel.password.hash.rejections")
+            .description("Password hashing requests rejected because the queue was full")
+            .register(meterRegistry);
+        Gauge.builder("froebel.password.hash.queue.depth", executor, e -> e.getQueue().size())
+            .description("Password hashing requests waiting for a thread")
+            .register(meterRegistry);
+        Gauge.builder("froebel.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Password hashing requests being processed")
+            .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Check a password against a stored hash. A null hash is checked against a dummy hash and never matches,
+     * keeping the timing the same as for an existing password.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            run(matchTimer, () -> passwordEncoder.matches(rawPassword, dummyHash));
+            return false;
+        }
+        return run(matchTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether the hash was created with a lower cost than the current one and should be replaced.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refreshDummyHash();
+    }
+
+    /**
+     * Re-derive the dummy hash cost from the stored hashes, following rehashes towards the current cost.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.security.password-hashing.dummy-refresh-interval-ms:3600000}",
+        initialDelayString = "${app.security.password-hashing.dummy-refresh-interval-ms:3600000}"
+    )
+    public void refreshDummyHash() {
+        Integer lowestStored;
+        try {
+            lowestStored = userRepository.findLowestBcryptCost();
+        } catch (DataAccessException e) {
+            log.warn("Could not read stored BCrypt costs, keeping the dummy hash: {}", e.getMessage());
+            return;
+        }
+
+        int cost = lowestStored != null ? Math.min(lowestStored, currentCost) : currentCost;
+        if (cost != costOf(dummyHash)) {
+            dummyHash = BCrypt.hashpw(UUID.randomUUID().toString(), BCrypt.gensalt(cost));
+            log.info("Dummy password hash now at BCrypt cost {} (current cost {})", cost, currentCost);
+        }
+    }
+
+    // Cost field of a $2a$10$... hash
+    private static int costOf(String hash) {
+        return Integer.parseInt(hash.substring(4, 6));
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            log.warn("Password hashing queue full ({} waiting), rejecting request", executor.getQueue().size());
+            throw new PasswordHashingBusyException("The server is busy. Please try again in a moment.");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            throw new PasswordHashingBusyException("The server is busy. Please try again in a moment.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
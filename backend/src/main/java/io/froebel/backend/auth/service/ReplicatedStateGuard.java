@@ -0,0 +1,65 @@
+package io.froebel.backend.auth.service;
+
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tells whether local state replicated through Redis pub/sub is complete enough to answer checks without
+ * asking Redis. Messages published while the listener container is not subscribed are lost, so the local
+ * state is untrusted from the moment the subscription is seen down until a reseed that ran entirely while
+ * subscribed has completed. The subscription is polled by the owner's checks and its resync schedule, so an
+ * outage that begins and ends between two polls is only repaired by the periodic reseed.
+ */
+final class ReplicatedStateGuard {
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    // Bumped whenever the subscription is seen down
+    private final AtomicLong outages = new AtomicLong();
+    // Outage count the last successful reseed ran under; untrusted until the first one
+    private volatile long reseededThrough = -1;
+
+    ReplicatedStateGuard(RedisMessageListenerContainer listenerContainer) {
+        this.listenerContainer = listenerContainer;
+    }
+
+    /**
+     * Whether checks may rely on the local state alone.
+     */
+    boolean isTrusted() {
+        return isListening() && reseededThrough == outages.get();
+    }
+
+    /**
+     * Whether the subscription is up but the local state missed messages, so a reseed is due now.
+     */
+    boolean needsResync() {
+        return isListening() && reseededThrough != outages.get();
+    }
+
+    /**
+     * To be called before reading Redis for a reseed; pass the result to {@link #reseeded(long)}.
+     */
+    long beginReseed() {
+        return isListening() ? outages.get() : -1;
+    }
+
+    /**
+     * Mark the local state complete after a successful reseed, unless the subscription was seen down
+     * since {@link #beginReseed()}.
+     */
+    void reseeded(long token) {
+        if (token >= 0 && isListening() && outages.get() == token) {
+            reseededThrough = token;
+        }
+    }
+
+    private boolean isListening() {
+        if (listenerContainer.isListening()) {
+            return true;
+        }
+        outages.incrementAndGet();
+        return false;
+    }
+}
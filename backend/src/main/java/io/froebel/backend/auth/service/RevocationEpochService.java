@@ -0,0 +1,193 @@
+package io.froebel.backend.auth.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revokes access tokens in bulk by "not valid before" epochs, one per user and one per session ({@code sid}).
+ * A token issued before the epoch of its user or session is rejected, so revoking every session of a user
+ * is a single write instead of one blacklist entry per token.
+ * <p>
+ * Epochs are stored in Redis with a TTL of one access token lifetime (older tokens have expired anyway),
+ * held in a local map for the per-request check and replicated to every node through pub/sub.
+ * The local map is reseeded from Redis periodically to repair missed messages. While the pub/sub
+ * subscription is down, or after it comes back until a reseed has caught up, checks the local map
+ * cannot confirm are answered from Redis instead.
+ */
+@Service
+public class RevocationEpochService implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationEpochService.class);
+    private static final String KEY_PREFIX = "auth:revoked-before:";
+    static final String CHANNEL = "auth:revocations";
+
+    private static final String USER_SCOPE = "user:";
+    private static final String SESSION_SCOPE = "session:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ReplicatedStateGuard guard;
+    private final long epochTtlSeconds;
+
+    // "user:<id>" / "session:<id>" -> revocation epoch (epoch second)
+    private final ConcurrentHashMap<String, Long> epochs = new ConcurrentHashMap<>();
+
+    public RevocationEpochService(
+        StringRedisTemplate redisTemplate,
+        JwtService jwtService,
+        RedisMessageListenerContainer listenerContainer
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.guard = new ReplicatedStateGuard(listenerContainer);
+        this.epochTtlSeconds = Duration.ofMillis(jwtService.getAccessTokenExpiration()).toSeconds() + 60;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Invalidate every access token of the user issued before now.
+     */
+    public void revokeUser(UUID userId) {
+        revoke(USER_SCOPE + userId);
+    }
+
+    /**
+     * Invalidate every access token of the session issued before now.
+     */
+    public void revokeSession(UUID sessionId) {
+        revoke(SESSION_SCOPE + sessionId);
+    }
+
+    /**
+     * Whether the token was issued before its user's or session's revocation epoch.
+     * Tokens issued within the revocation's own second are kept, so a login right after
+     * "log out everywhere" is not rejected.
+     */
+    public boolean isRevoked(AccessTokenClaims claims) {
+        if (claims.issuedAt() == null) {
+            return false;
+        }
+        long issuedAt = claims.issuedAt().getEpochSecond();
+        if (isRevoked(issuedAt, epochs.get(USER_SCOPE + claims.userId()))) {
+            return true;
+        }
+        if (claims.sessionId() != null && isRevoked(issuedAt, epochs.get(SESSION_SCOPE + claims.sessionId()))) {
+            return true;
+        }
+        return !guard.isTrusted() && isRevokedInRedis(claims, issuedAt);
+    }
+
+    private boolean isRevokedInRedis(AccessTokenClaims claims, long issuedAt) {
+        String userScope = USER_SCOPE + claims.userId();
+        String sessionScope = claims.sessionId() != null ? SESSION_SCOPE + claims.sessionId() : null;
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(sessionScope != null
+                ? List.of(KEY_PREFIX + userScope, KEY_PREFIX + sessionScope)
+                : List.of(KEY_PREFIX + userScope));
+            if (values == null) {
+                return false;
+            }
+            boolean revoked = false;
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    long epoch = Long.parseLong(values.get(i));
+                    apply(i == 0 ? userScope : sessionScope, epoch);
+                    revoked |= isRevoked(issuedAt, epoch);
+                }
+            }
+            return revoked;
+        } catch (Exception e) {
+            log.warn("Redis unavailable for revocation check, using local epochs only: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isRevoked(long issuedAt, Long epoch) {
+        return epoch != null && issuedAt < epoch;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reseed();
+    }
+
+    /**
+     * Reload all epochs from Redis and drop local ones older than an access token lifetime.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.security.revocation-epoch-reseed-interval-ms:60000}",
+        initialDelayString = "${app.security.revocation-epoch-reseed-interval-ms:60000}"
+    )
+    public synchronized void reseed() {
+        long token = guard.beginReseed();
+        long oldest = Instant.now().getEpochSecond() - epochTtlSeconds;
+        epochs.values().removeIf(epoch -> epoch < oldest);
+
+        try (Cursor<String> keys = redisTemplate.scan(
+            ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build())) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                String value = redisTemplate.opsForValue().get(key);
+                if (value != null) {
+                    apply(key.substring(KEY_PREFIX.length()), Long.parseLong(value));
+                }
+            }
+            guard.reseeded(token);
+        } catch (Exception e) {
+            log.warn("Failed to reseed revocation epochs from Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reseed as soon as the pub/sub subscription is back after an outage, instead of checking
+     * Redis on every request until the next periodic reseed.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation-resync-check-interval-ms:5000}")
+    public void resyncIfNeeded() {
+        if (guard.needsResync()) {
+            reseed();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        try {
+            apply(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed revocation message: {}", body);
+        }
+    }
+
+    private void revoke(String scope) {
+        long epoch = Instant.now().getEpochSecond();
+        apply(scope, epoch);
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + scope, Long.toString(epoch), Duration.ofSeconds(epochTtlSeconds));
+            redisTemplate.convertAndSend(CHANNEL, scope + ":" + epoch);
+        } catch (Exception e) {
+            log.warn("Redis unavailable, revocation of {} applied on this instance only: {}", scope, e.getMessage());
+        }
+    }
+
+    private void apply(String scope, long epoch) {
+        epochs.merge(scope, epoch, Math::max);
+    }
+}
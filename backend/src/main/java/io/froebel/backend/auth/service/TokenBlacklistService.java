@@ -2,11 +2,22 @@ package io.froebel.backend.auth.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Set;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
@@ -15,27 +26,49 @@ import java.util.concurrent.TimeUnit;
  * Blacklisted tokens are rejected even if they haven't expired.
  * Uses Redis for distributed storage with fallback to in-memory.
  * <p>
+ * Almost no token is ever blacklisted, so each instance keeps a local Bloom filter of blacklisted JTIs
+ * (seeded from Redis, updated through pub/sub and reseeded periodically) and only asks Redis when the
+ * filter reports a possible match. Until the filter is seeded, and whenever it may have missed additions
+ * because the pub/sub subscription is or was down since the last reseed, every check goes to Redis.
+ * <p>
  * WARNING: In-memory fallback is NOT suitable for distributed deployments.
  * Tokens blacklisted on one instance won't be recognized by other instances.
  */
 @Service
-public class TokenBlacklistService {
+public class TokenBlacklistService implements MessageListener {
 
     private static final Logger log = LoggerFactory.getLogger(TokenBlacklistService.class);
     private static final String BLACKLIST_KEY_PREFIX = "token:blacklist:";
+    static final String CHANNEL = "token:blacklist:additions";
+
+    // Sized for 10k blacklisted tokens per hour of expiry at a 0.1% false positive rate (~18 KB per hour)
+    private static final int FILTER_EXPECTED_PER_HOUR = 10_000;
+    private static final double FILTER_FALSE_POSITIVE_RATE = 0.001;
 
     private final StringRedisTemplate redisTemplate;
     private final JwtService jwtService;
+    private final ReplicatedStateGuard guard;
 
-    // Fallback in-memory storage if Redis is unavailable
-    private final Set<String> inMemoryBlacklist = ConcurrentHashMap.newKeySet();
+    // Fallback in-memory storage if Redis is unavailable: JTI -> token expiry (epoch second)
+    private final ConcurrentHashMap<String, Long> inMemoryBlacklist = new ConcurrentHashMap<>();
     private volatile boolean redisAvailable = true;
     private volatile boolean fallbackWarningLogged = false;
 
-    public TokenBlacklistService(StringRedisTemplate redisTemplate, JwtService jwtService) {
+    // Null until seeded from Redis, or after a failed reseed; checks then go straight to Redis
+    private volatile BlacklistBloomFilter filter;
+    // Filter being seeded; additions received meanwhile are applied to it as well
+    private volatile BlacklistBloomFilter seeding;
+
+    public TokenBlacklistService(
+        StringRedisTemplate redisTemplate,
+        JwtService jwtService,
+        RedisMessageListenerContainer listenerContainer
+    ) {
         this.redisTemplate = redisTemplate;
         this.jwtService = jwtService;
+        this.guard = new ReplicatedStateGuard(listenerContainer);
         checkRedisConnection();
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
     }
 
     private void checkRedisConnection() {
@@ -58,13 +91,19 @@ public class TokenBlacklistService {
      */
     public void blacklistToken(String token) {
         try {
-            String jti = jwtService.extractJti(token);
+            Optional<AccessTokenClaims> claims = jwtService.verify(token);
+            if (claims.isEmpty()) {
+                log.debug("Token invalid or already expired, no need to blacklist");
+                return;
+            }
+
+            String jti = claims.get().jti();
             if (jti == null) {
                 log.warn("Cannot blacklist token without JTI");
                 return;
             }
 
-            long ttlSeconds = jwtService.getRemainingTtlSeconds(token);
+            long ttlSeconds = claims.get().remainingTtlSeconds();
             if (ttlSeconds <= 0) {
                 log.debug("Token already expired, no need to blacklist");
                 return;
@@ -76,6 +115,9 @@ public class TokenBlacklistService {
                 try {
                     redisTemplate.opsForValue().set(key, "1", Duration.ofSeconds(ttlSeconds));
                     log.debug("Token blacklisted in Redis: {}", jti);
+                    long expiresAt = claims.get().expiresAt().getEpochSecond();
+                    addToFilter(jti, expiresAt);
+                    redisTemplate.convertAndSend(CHANNEL, jti + ":" + expiresAt);
                     return;
                 } catch (Exception e) {
                     log.warn("Redis unavailable for blacklist, falling back to in-memory: {}", e.getMessage());
@@ -84,14 +126,11 @@ public class TokenBlacklistService {
                 }
             }
 
-            // Fallback to in-memory (not ideal for distributed systems)
-            inMemoryBlacklist.add(jti);
+            // Fallback to in-memory (not ideal for distributed systems); expired entries are purged periodically
+            inMemoryBlacklist.put(jti, claims.get().expiresAt().getEpochSecond());
             log.debug("Token blacklisted in-memory: {}", jti);
             logFallbackWarning();
 
-            // Schedule removal after TTL (best effort cleanup)
-            scheduleInMemoryCleanup(jti, ttlSeconds);
-
         } catch (Exception e) {
             log.error("Failed to blacklist token: {}", e.getMessage());
         }
@@ -104,8 +143,18 @@ public class TokenBlacklistService {
      * @return true if the token is blacklisted
      */
     public boolean isBlacklisted(String token) {
+        return jwtService.verify(token).map(this::isBlacklisted).orElse(false);
+    }
+
+    /**
+     * Check if an already verified token is blacklisted, without parsing it again.
+     *
+     * @param claims The verified claims of the access token
+     * @return true if the token is blacklisted
+     */
+    public boolean isBlacklisted(AccessTokenClaims claims) {
         try {
-            String jti = jwtService.extractJti(token);
+            String jti = claims.jti();
             if (jti == null) {
                 return false;
             }
@@ -113,6 +162,10 @@ public class TokenBlacklistService {
             String key = BLACKLIST_KEY_PREFIX + jti;
 
             if (redisAvailable) {
+                BlacklistBloomFilter current = filter;
+                if (current != null && guard.isTrusted() && !current.mightContain(jti)) {
+                    return false;
+                }
                 try {
                     Boolean exists = redisTemplate.hasKey(key);
                     return Boolean.TRUE.equals(exists);
@@ -123,7 +176,7 @@ public class TokenBlacklistService {
             }
 
             // Fallback to in-memory check
-            return inMemoryBlacklist.contains(jti);
+            return inMemoryBlacklist.containsKey(jti);
 
         } catch (Exception e) {
             log.error("Failed to check blacklist: {}", e.getMessage());
@@ -131,6 +184,84 @@ public class TokenBlacklistService {
         }
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reseedFilter();
+    }
+
+    /**
+     * Rebuild the local filter from the blacklist keys in Redis and swap it in.
+     * Repairs additions missed while the pub/sub subscription was down.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.security.blacklist-filter-reseed-interval-ms:60000}",
+        initialDelayString = "${app.security.blacklist-filter-reseed-interval-ms:60000}"
+    )
+    public synchronized void reseedFilter() {
+        long token = guard.beginReseed();
+        long now = Instant.now().getEpochSecond();
+        inMemoryBlacklist.values().removeIf(expiresAt -> expiresAt <= now);
+        if (!redisAvailable) {
+            return;
+        }
+
+        BlacklistBloomFilter fresh = new BlacklistBloomFilter(FILTER_EXPECTED_PER_HOUR, FILTER_FALSE_POSITIVE_RATE);
+        seeding = fresh;
+        int seeded = 0;
+        try (Cursor<String> keys = redisTemplate.scan(
+            ScanOptions.scanOptions().match(BLACKLIST_KEY_PREFIX + "*").count(1000).build())) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                Long ttlSeconds = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+                if (ttlSeconds != null && ttlSeconds > 0) {
+                    fresh.add(key.substring(BLACKLIST_KEY_PREFIX.length()), now + ttlSeconds);
+                    seeded++;
+                }
+            }
+            filter = fresh;
+            guard.reseeded(token);
+            log.debug("Token blacklist filter seeded with {} entries", seeded);
+        } catch (Exception e) {
+            filter = null;
+            log.warn("Failed to seed token blacklist filter, checking Redis directly: {}", e.getMessage());
+        } finally {
+            seeding = null;
+        }
+    }
+
+    /**
+     * Reseed as soon as the pub/sub subscription is back after an outage, instead of checking
+     * Redis on every request until the next periodic reseed.
+     */
+    @Scheduled(fixedDelayString = "${app.security.blacklist-resync-check-interval-ms:5000}")
+    public void resyncIfNeeded() {
+        if (redisAvailable && guard.needsResync()) {
+            reseedFilter();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        try {
+            addToFilter(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed token blacklist message: {}", body);
+        }
+    }
+
+    private void addToFilter(String jti, long expiresAtEpochSecond) {
+        BlacklistBloomFilter current = filter;
+        if (current != null) {
+            current.add(jti, expiresAtEpochSecond);
+        }
+        BlacklistBloomFilter pending = seeding;
+        if (pending != null) {
+            pending.add(jti, expiresAtEpochSecond);
+        }
+    }
+
     private void logFallbackWarning() {
         if (!fallbackWarningLogged) {
             fallbackWarningLogged = true;
@@ -140,17 +271,4 @@ public class TokenBlacklistService {
                 "Ensure Redis is available for production use.");
         }
     }
-
-    private void scheduleInMemoryCleanup(String jti, long ttlSeconds) {
-        // Simple cleanup using virtual threads (Java 21+)
-        Thread.startVirtualThread(() -> {
-            try {
-                TimeUnit.SECONDS.sleep(ttlSeconds);
-                inMemoryBlacklist.remove(jti);
-                log.debug("Removed expired JTI from in-memory blacklist: {}", jti);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        });
-    }
 }
@@ -6,6 +6,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "app")
 public class AppProperties {
@@ -32,6 +35,10 @@ public class AppProperties {
     private RateLimitingConfig rateLimiting = new RateLimitingConfig();
     private SecurityConfig security = new SecurityConfig();
     private SettingsConfig settings = new SettingsConfig();
+    private AnalyticsConfig analytics = new AnalyticsConfig();
+    private DatabaseConfig database = new DatabaseConfig();
+    private SearchConfig search = new SearchConfig();
+    private AuditConfig audit = new AuditConfig();
 
     public String getFrontendUrl() {
         return frontendUrl;
@@ -89,6 +96,329 @@ public class AppProperties {
         this.settings = settings;
     }
 
+    public AnalyticsConfig getAnalytics() {
+        return analytics;
+    }
+
+    public void setAnalytics(AnalyticsConfig analytics) {
+        this.analytics = analytics;
+    }
+
+    public DatabaseConfig getDatabase() {
+        return database;
+    }
+
+    public void setDatabase(DatabaseConfig database) {
+        this.database = database;
+    }
+
+    public SearchConfig getSearch() {
+        return search;
+    }
+
+    public void setSearch(SearchConfig search) {
+        this.search = search;
+    }
+
+    public AuditConfig getAudit() {
+        return audit;
+    }
+
+    public void setAudit(AuditConfig audit) {
+        this.audit = audit;
+    }
+
+    public static class AuditConfig {
+        private List<String> sinks = new ArrayList<>(List.of("log", "database"));
+        private int bufferSize = 8192;
+        private int batchSize = 500;
+        private long flushIntervalMs = 200;
+        private String fileDirectory = "./logs/audit";
+        private int maxFileSizeMb = 100;
+        private int maxFiles = 10;
+        private int retentionDays = 90;
+
+        public List<String> getSinks() {
+            return sinks;
+        }
+
+        public void setSinks(List<String> sinks) {
+            this.sinks = sinks;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public String getFileDirectory() {
+            return fileDirectory;
+        }
+
+        public void setFileDirectory(String fileDirectory) {
+            this.fileDirectory = fileDirectory;
+        }
+
+        public int getMaxFileSizeMb() {
+            return maxFileSizeMb;
+        }
+
+        public void setMaxFileSizeMb(int maxFileSizeMb) {
+            this.maxFileSizeMb = maxFileSizeMb;
+        }
+
+        public int getMaxFiles() {
+            return maxFiles;
+        }
+
+        public void setMaxFiles(int maxFiles) {
+            this.maxFiles = maxFiles;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+    }
+
+    public static class DatabaseConfig {
+        private ReplicaConfig replica = new ReplicaConfig();
+        private PartitioningConfig partitioning = new PartitioningConfig();
+
+        public ReplicaConfig getReplica() {
+            return replica;
+        }
+
+        public void setReplica(ReplicaConfig replica) {
+            this.replica = replica;
+        }
+
+        public PartitioningConfig getPartitioning() {
+            return partitioning;
+        }
+
+        public void setPartitioning(PartitioningConfig partitioning) {
+            this.partitioning = partitioning;
+        }
+    }
+
+    public static class PartitioningConfig {
+        private int premakeMonths = 3;
+        private boolean archiveEnabled = false;
+        private int retentionMonths = 24;
+        private String archiveDirectory = "./archive";
+
+        public int getPremakeMonths() {
+            return premakeMonths;
+        }
+
+        public void setPremakeMonths(int premakeMonths) {
+            this.premakeMonths = premakeMonths;
+        }
+
+        public boolean isArchiveEnabled() {
+            return archiveEnabled;
+        }
+
+        public void setArchiveEnabled(boolean archiveEnabled) {
+            this.archiveEnabled = archiveEnabled;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public String getArchiveDirectory() {
+            return archiveDirectory;
+        }
+
+        public void setArchiveDirectory(String archiveDirectory) {
+            this.archiveDirectory = archiveDirectory;
+        }
+    }
+
+    public static class ReplicaConfig {
+        private boolean enabled = false;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 20;
+        private int minimumIdle = 5;
+        private long maxLagMs = 5000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public int getMinimumIdle() {
+            return minimumIdle;
+        }
+
+        public void setMinimumIdle(int minimumIdle) {
+            this.minimumIdle = minimumIdle;
+        }
+
+        public long getMaxLagMs() {
+            return maxLagMs;
+        }
+
+        public void setMaxLagMs(long maxLagMs) {
+            this.maxLagMs = maxLagMs;
+        }
+    }
+
+    public static class SearchConfig {
+        private double quickSearchSimilarityThreshold = 0.3;
+        private boolean typeaheadEnabled = true;
+        private boolean similarQuizzesEnabled = true;
+        private double similarQuizzesMinSimilarity = 0.2;
+
+        public double getQuickSearchSimilarityThreshold() {
+            return quickSearchSimilarityThreshold;
+        }
+
+        public void setQuickSearchSimilarityThreshold(double quickSearchSimilarityThreshold) {
+            this.quickSearchSimilarityThreshold = quickSearchSimilarityThreshold;
+        }
+
+        public boolean isTypeaheadEnabled() {
+            return typeaheadEnabled;
+        }
+
+        public void setTypeaheadEnabled(boolean typeaheadEnabled) {
+            this.typeaheadEnabled = typeaheadEnabled;
+        }
+
+        public boolean isSimilarQuizzesEnabled() {
+            return similarQuizzesEnabled;
+        }
+
+        public void setSimilarQuizzesEnabled(boolean similarQuizzesEnabled) {
+            this.similarQuizzesEnabled = similarQuizzesEnabled;
+        }
+
+        public double getSimilarQuizzesMinSimilarity() {
+            return similarQuizzesMinSimilarity;
+        }
+
+        public void setSimilarQuizzesMinSimilarity(double similarQuizzesMinSimilarity) {
+            this.similarQuizzesMinSimilarity = similarQuizzesMinSimilarity;
+        }
+    }
+
+    public static class AnalyticsConfig {
+        private ItemAnalysisConfig itemAnalysis = new ItemAnalysisConfig();
+
+        public ItemAnalysisConfig getItemAnalysis() {
+            return itemAnalysis;
+        }
+
+        public void setItemAnalysis(ItemAnalysisConfig itemAnalysis) {
+            this.itemAnalysis = itemAnalysis;
+        }
+    }
+
+    public static class ItemAnalysisConfig {
+        private boolean enabled = true;
+        private int parallelism = 4;
+        private int queueCapacity = 200;
+        private int minRespondents = 5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMinRespondents() {
+            return minRespondents;
+        }
+
+        public void setMinRespondents(int minRespondents) {
+            this.minRespondents = minRespondents;
+        }
+    }
+
     public static class SettingsConfig {
         private AccountDeletionConfig accountDeletion = new AccountDeletionConfig();
         private DataExportConfig dataExport = new DataExportConfig();
@@ -156,6 +486,10 @@ public class AppProperties {
         private int maxLoginAttempts = 5;
         private int lockoutDurationMinutes = 15;
         private int attemptWindowMinutes = 15;
+        private long principalCacheTtlMs = 60000;
+        private int principalCacheSize = 10000;
+        private int loginAttemptMaxPending = 10000;
+        private PasswordHashingConfig passwordHashing = new PasswordHashingConfig();
 
         public int getMaxLoginAttempts() {
             return maxLoginAttempts;
@@ -180,6 +514,86 @@ public class AppProperties {
         public void setAttemptWindowMinutes(int attemptWindowMinutes) {
             this.attemptWindowMinutes = attemptWindowMinutes;
         }
+
+        public long getPrincipalCacheTtlMs() {
+            return principalCacheTtlMs;
+        }
+
+        public void setPrincipalCacheTtlMs(long principalCacheTtlMs) {
+            this.principalCacheTtlMs = principalCacheTtlMs;
+        }
+
+        public int getPrincipalCacheSize() {
+            return principalCacheSize;
+        }
+
+        public void setPrincipalCacheSize(int principalCacheSize) {
+            this.principalCacheSize = principalCacheSize;
+        }
+
+        public int getLoginAttemptMaxPending() {
+            return loginAttemptMaxPending;
+        }
+
+        public void setLoginAttemptMaxPending(int loginAttemptMaxPending) {
+            this.loginAttemptMaxPending = loginAttemptMaxPending;
+        }
+
+        public PasswordHashingConfig getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public void setPasswordHashing(PasswordHashingConfig passwordHashing) {
+            this.passwordHashing = passwordHashing;
+        }
+    }
+
+    public static class PasswordHashingConfig {
+        private int bcryptStrength = 10;
+        private long targetHashMs = 250;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 64;
+        private long timeoutMs = 5000;
+
+        public int getBcryptStrength() {
+            return bcryptStrength;
+        }
+
+        public void setBcryptStrength(int bcryptStrength) {
+            this.bcryptStrength = bcryptStrength;
+        }
+
+        public long getTargetHashMs() {
+            return targetHashMs;
+        }
+
+        public void setTargetHashMs(long targetHashMs) {
+            this.targetHashMs = targetHashMs;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
     }
 
     public static class RateLimitingConfig {
@@ -187,6 +601,11 @@ public class AppProperties {
         private int passwordResetPerHour = 3;
         private int verificationResendPerHour = 5;
         private String trustedProxies = "127.0.0.1,::1";
+        private int redisConnections = 4;
+        private int maxUnsynchronizedTokens = 2;
+        private long maxUnsynchronizedMs = 500;
+        private int maxTrackedClients = 10000;
+        private List<RateLimitPolicy> policies = new ArrayList<>();
 
         public int getAuthRequestsPerMinute() {
             return authRequestsPerMinute;
@@ -219,6 +638,109 @@ public class AppProperties {
         public void setTrustedProxies(String trustedProxies) {
             this.trustedProxies = trustedProxies;
         }
+
+        public int getRedisConnections() {
+            return redisConnections;
+        }
+
+        public void setRedisConnections(int redisConnections) {
+            this.redisConnections = redisConnections;
+        }
+
+        public int getMaxUnsynchronizedTokens() {
+            return maxUnsynchronizedTokens;
+        }
+
+        public void setMaxUnsynchronizedTokens(int maxUnsynchronizedTokens) {
+            this.maxUnsynchronizedTokens = maxUnsynchronizedTokens;
+        }
+
+        public long getMaxUnsynchronizedMs() {
+            return maxUnsynchronizedMs;
+        }
+
+        public void setMaxUnsynchronizedMs(long maxUnsynchronizedMs) {
+            this.maxUnsynchronizedMs = maxUnsynchronizedMs;
+        }
+
+        public int getMaxTrackedClients() {
+            return maxTrackedClients;
+        }
+
+        public void setMaxTrackedClients(int maxTrackedClients) {
+            this.maxTrackedClients = maxTrackedClients;
+        }
+
+        public List<RateLimitPolicy> getPolicies() {
+            return policies;
+        }
+
+        public void setPolicies(List<RateLimitPolicy> policies) {
+            this.policies = policies;
+        }
+    }
+
+    /**
+     * A rate limit applied to every request matching a route pattern and method.
+     * Patterns are matched by segment: {@code {name}} or {@code *} matches one segment, a trailing {@code **} any rest.
+     * The key decides who shares a bucket: {@code ip}, {@code user} (falls back to the IP when anonymous),
+     * {@code quiz} (the {@code {quizId}} segment), or a combination such as {@code user,quiz}.
+     */
+    public static class RateLimitPolicy {
+        private String name;
+        private String pattern;
+        private List<String> methods = new ArrayList<>();
+        private String key = "ip";
+        private int capacity = 60;
+        private long periodSeconds = 60;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getPeriodSeconds() {
+            return periodSeconds;
+        }
+
+        public void setPeriodSeconds(long periodSeconds) {
+            this.periodSeconds = periodSeconds;
+        }
     }
 
     public static class OAuth2Config {
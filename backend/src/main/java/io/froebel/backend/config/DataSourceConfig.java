@@ -0,0 +1,101 @@
+package io.froebel.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read-replica routing, enabled with app.database.replica.enabled=true.
+ * <p>
+ * Only read-only transactions started from a {@link ReplicaRead} method or class go to the replica;
+ * reads that must see the latest writes (logins, token checks, dashboards) keep using the primary even
+ * when read-only. Such transactions mark their connection read-only before the first statement. The
+ * lazy proxy defers fetching the physical connection until then and takes it from the read-only target,
+ * which is the replica pool unless {@link ReplicaLagMonitor} reports it lagging or down. Everything else,
+ * including Flyway, uses the primary pool. Both pools are Hikari beans, so they report pool metrics
+ * separately under their pool names.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.database.replica", name = "enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(AppProperties appProperties, DataSourceProperties properties) {
+        AppProperties.ReplicaConfig replica = appProperties.getDatabase().getReplica();
+        if (replica.getUrl() == null || replica.getUrl().isBlank()) {
+            throw new IllegalStateException("app.database.replica.url is required when the read replica is enabled");
+        }
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("FroebelReplicaPool");
+        dataSource.setDriverClassName(properties.getDriverClassName());
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : properties.getUsername());
+        dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : properties.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setMinimumIdle(replica.getMinimumIdle());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        AppProperties appProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(
+            replicaDataSource,
+            appProperties.getDatabase().getReplica().getMaxLagMs(),
+            meterRegistry
+        );
+    }
+
+    // Infrastructure role so the auto-proxy creator registered for @Transactional also applies it
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor replicaReadAdvisor() {
+        ComposablePointcut pointcut =
+            new ComposablePointcut(AnnotationMatchingPointcut.forClassAnnotation(ReplicaRead.class))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(ReplicaRead.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new ReplicaReadInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        ReplicaLagMonitor replicaLagMonitor,
+        MeterRegistry meterRegistry
+    ) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(new ReadOnlyRoutingDataSource(
+            primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry));
+        return proxy;
+    }
+}
@@ -0,0 +1,57 @@
+package io.froebel.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Target for read-only connections: the replica for {@link ReplicaRead} calls while it is within the lag budget,
+ * otherwise the primary.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaRoutes;
+    private final Counter fallbackRoutes;
+
+    public ReadOnlyRoutingDataSource(
+        DataSource primaryDataSource,
+        DataSource replicaDataSource,
+        ReplicaLagMonitor lagMonitor,
+        MeterRegistry meterRegistry
+    ) {
+        this.lagMonitor = lagMonitor;
+        this.replicaRoutes = Counter.builder("froebel.datasource.read.routing")
+            .description("Read-only connections by target pool")
+            .tag("target", REPLICA)
+            .register(meterRegistry);
+        this.fallbackRoutes = Counter.builder("froebel.datasource.read.routing")
+            .description("Read-only connections by target pool")
+            .tag("target", PRIMARY)
+            .register(meterRegistry);
+
+        setTargetDataSources(Map.<Object, Object>of(PRIMARY, primaryDataSource, REPLICA, replicaDataSource));
+        setDefaultTargetDataSource(primaryDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!ReplicaReadInterceptor.isActive()) {
+            return PRIMARY;
+        }
+        if (lagMonitor.isReplicaAvailable()) {
+            replicaRoutes.increment();
+            return REPLICA;
+        }
+        fallbackRoutes.increment();
+        return PRIMARY;
+    }
+}
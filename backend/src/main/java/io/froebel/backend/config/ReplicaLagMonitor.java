@@ -0,0 +1,82 @@
+package io.froebel.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Tracks replication lag of the read replica so read-only traffic can fall back to the primary
+ * when the replica is behind or unreachable.
+ * An instance that is not in recovery (e.g. a second standalone local Postgres) reports zero lag.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Zero when fully replayed, so an idle primary does not look like growing lag
+    private static final String LAG_QUERY = """
+        SELECT CASE
+                   WHEN NOT pg_is_in_recovery() THEN 0
+                   WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                   ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+               END
+        """;
+
+    private final DataSource replicaDataSource;
+    private final long maxLagMs;
+
+    private volatile boolean available = false;
+    private volatile double lagMs = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMs, MeterRegistry meterRegistry) {
+        this.replicaDataSource = replicaDataSource;
+        this.maxLagMs = maxLagMs;
+
+        Gauge.builder("froebel.datasource.replica.lag", this, m -> m.lagMs)
+            .description("Replication lag of the read replica in milliseconds (-1 when unreachable)")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("froebel.datasource.replica.available", this, m -> m.available ? 1 : 0)
+            .description("Whether read-only transactions are currently routed to the replica")
+            .register(meterRegistry);
+    }
+
+    public boolean isReplicaAvailable() {
+        return available;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.database.replica.lag-check-interval-ms:2000}",
+        initialDelay = 0
+    )
+    public void checkLag() {
+        boolean wasAvailable = available;
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            lagMs = rs.next() ? rs.getDouble(1) : -1;
+            available = lagMs >= 0 && lagMs <= maxLagMs;
+        } catch (SQLException e) {
+            lagMs = -1;
+            available = false;
+            if (wasAvailable) {
+                log.warn("Read replica unreachable, routing read-only traffic to primary: {}", e.getMessage());
+            }
+            return;
+        }
+
+        if (wasAvailable && !available) {
+            log.warn("Read replica lag {} ms exceeds {} ms, routing read-only traffic to primary", (long) lagMs, maxLagMs);
+        } else if (!wasAvailable && available) {
+            log.info("Read replica available (lag {} ms), routing read-only traffic to replica", (long) lagMs);
+        }
+    }
+}
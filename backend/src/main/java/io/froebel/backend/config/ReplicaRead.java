@@ -0,0 +1,19 @@
+package io.froebel.backend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a read-only transaction into the read replica (when enabled). Only for reads that tolerate data up to
+ * app.database.replica.max-lag-ms old, such as analytics, search and public browsing; every other read-only
+ * transaction, including Spring Data's default read methods, stays on the primary.
+ * Has no effect inside a transaction that already holds a connection.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReplicaRead {
+}
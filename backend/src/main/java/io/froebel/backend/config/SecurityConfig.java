@@ -3,6 +3,8 @@ package io.froebel.backend.config;
 import io.froebel.backend.auth.security.JwtAuthenticationFilter;
 import io.froebel.backend.auth.security.RateLimitingFilter;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
@@ -26,12 +28,17 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final RateLimitingFilter rateLimitingFilter;
     private final AppProperties appProperties;
@@ -126,9 +133,9 @@ public class SecurityConfig {
             .anyRequest().authenticated()
         );
 
-        // Add security filters (rate limiting runs before JWT auth)
-        http.addFilterBefore(rateLimitingFilter, UsernamePasswordAuthenticationFilter.class);
+        // Add security filters (rate limiting runs after JWT auth so policies can be keyed by user)
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitingFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -159,7 +166,36 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(resolveBcryptStrength());
+    }
+
+    /**
+     * The configured BCrypt cost. The cost must be the same on every node, so the benchmark only logs the highest
+     * cost (at least the BCrypt default) that hashes within the target on this machine, as a hint for tuning it.
+     * Each cost step doubles the hashing time.
+     */
+    private int resolveBcryptStrength() {
+        AppProperties.PasswordHashingConfig config = appProperties.getSecurity().getPasswordHashing();
+        int strength = config.getBcryptStrength();
+        long baselineNanos = benchmarkHash(MIN_BCRYPT_STRENGTH);
+
+        double headroom = (double) TimeUnit.MILLISECONDS.toNanos(config.getTargetHashMs()) / baselineNanos;
+        int steps = headroom >= 1 ? (int) Math.floor(Math.log(headroom) / Math.log(2)) : 0;
+        int suggested = Math.min(MAX_BCRYPT_STRENGTH, MIN_BCRYPT_STRENGTH + steps);
+
+        long estimatedMs = Math.round(Math.scalb((double) baselineNanos, strength - MIN_BCRYPT_STRENGTH) / 1_000_000);
+        log.info("BCrypt cost {}, ~{} ms per hash on this machine; cost {} would fit the {} ms target",
+            strength, estimatedMs, suggested, config.getTargetHashMs());
+        return strength;
+    }
+
+    private static long benchmarkHash(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        // First run warms up the JIT
+        encoder.encode("benchmark-password");
+        long start = System.nanoTime();
+        encoder.encode("benchmark-password");
+        return Math.max(1, System.nanoTime() - start);
     }
 
     @Bean
@@ -13,6 +13,7 @@ import io.froebel.backend.course.service.CourseService;
 import io.froebel.backend.course.service.EnrollmentService;
 import io.froebel.backend.course.service.ProgressService;
 import io.froebel.backend.model.enums.Difficulty;
+import io.froebel.backend.search.dto.CursorPage;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -135,11 +136,30 @@ public class CourseController {
         @RequestParam(required = false) UUID categoryId,
         @RequestParam(required = false) Difficulty difficulty,
         @RequestParam(required = false) Set<String> tags,
+        @RequestParam(defaultValue = "false") boolean matchAllTags,
         @RequestParam(defaultValue = "newest") String sortBy,
         @PageableDefault(size = 20) Pageable pageable
     ) {
         return ResponseEntity.ok(courseService.getFilteredPublicCourses(
-            search, categoryId, difficulty, tags, sortBy, pageable));
+            search, categoryId, difficulty, tags, matchAllTags, sortBy, pageable));
+    }
+
+    // Keyset-paginated browse: pass nextCursor from the previous response to get the following slice
+    @GetMapping("/public/scroll")
+    public ResponseEntity<CursorPage<PublicCourseResponse>> scrollPublicCourses(
+        @RequestParam(required = false) String search,
+        @RequestParam(required = false) UUID categoryId,
+        @RequestParam(required = false) Difficulty difficulty,
+        @RequestParam(required = false) Set<String> tags,
+        @RequestParam(defaultValue = "false") boolean matchAllTags,
+        @RequestParam(defaultValue = "newest") String sortBy,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(courseService.scrollPublicCourses(
+            search, categoryId, difficulty, tags, matchAllTags, sortBy, cursor,
+            Math.max(1, Math.min(size, 100)), includeTotal));
     }
 
     @GetMapping("/public/{courseId}")
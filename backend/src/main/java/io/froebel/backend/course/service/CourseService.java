@@ -1,5 +1,6 @@
 package io.froebel.backend.course.service;
 
+import io.froebel.backend.config.ReplicaRead;
 import io.froebel.backend.course.dto.request.CreateCourseRequest;
 import io.froebel.backend.course.dto.request.UpdateCourseRequest;
 import io.froebel.backend.course.dto.response.CourseDetailResponse;
@@ -14,21 +15,33 @@ import io.froebel.backend.model.entity.Quiz;
 import io.froebel.backend.model.entity.Tag;
 import io.froebel.backend.model.entity.User;
 import io.froebel.backend.model.enums.Difficulty;
+import io.froebel.backend.repository.CatalogSpecifications;
 import io.froebel.backend.repository.CategoryRepository;
 import io.froebel.backend.repository.CourseRepository;
 import io.froebel.backend.repository.QuizRepository;
+import io.froebel.backend.repository.TagFilter;
 import io.froebel.backend.repository.TagRepository;
 import io.froebel.backend.repository.UserRepository;
+import io.froebel.backend.search.dto.CatalogCursor;
+import io.froebel.backend.search.dto.CursorPage;
+import io.froebel.backend.search.service.SearchIndexChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class CourseService {
@@ -38,19 +51,22 @@ public class CourseService {
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
     private final QuizRepository quizRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CourseService(
         CourseRepository courseRepository,
         UserRepository userRepository,
         CategoryRepository categoryRepository,
         TagRepository tagRepository,
-        QuizRepository quizRepository
+        QuizRepository quizRepository,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.tagRepository = tagRepository;
         this.quizRepository = quizRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -130,6 +146,7 @@ public class CourseService {
         }
 
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.course(course.getId()));
         return CourseResponse.from(course);
     }
 
@@ -138,6 +155,7 @@ public class CourseService {
         Course course = findOwnedCourse(courseId, userId);
         course.setPublished(publish);
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.course(course.getId()));
         return CourseResponse.from(course);
     }
 
@@ -145,53 +163,176 @@ public class CourseService {
     public void deleteCourse(UUID courseId, UUID userId) {
         Course course = findOwnedCourse(courseId, userId);
         courseRepository.delete(course);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.course(course.getId()));
     }
 
     // ==================== Public Browsing ====================
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Page<PublicCourseResponse> getPublicCourses(Pageable pageable) {
         return courseRepository.findByPublishedTrue(pageable)
             .map(PublicCourseResponse::from);
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Page<PublicCourseResponse> getPublicCoursesByDifficulty(Difficulty difficulty, Pageable pageable) {
         return courseRepository.findByPublishedTrueAndDifficulty(difficulty, pageable)
             .map(PublicCourseResponse::from);
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Page<PublicCourseResponse> getFilteredPublicCourses(
         String search,
         UUID categoryId,
         Difficulty difficulty,
         Set<String> tags,
+        boolean matchAllTags,
         String sortBy,
         Pageable pageable) {
-        // Build sort from sortBy parameter
-        Sort sort = buildSort(sortBy);
+        // Tags arrive as slugs; resolve them to IDs once so the query semi-joins course_tag on its keys
+        TagFilter tagFilter = TagFilter.resolve(tags, matchAllTags, tagRepository);
+
+        if (search != null && !search.isBlank()) {
+            // Full-text match; ordering (relevance unless an explicit sort is chosen) is part of the query
+            return courseRepository.searchPublishedCoursesWithFilters(
+                search.trim(),
+                categoryId,
+                difficulty != null ? difficulty.name() : null,
+                tagFilter.tagIdArray(),
+                tagFilter.requiredMatches(),
+                sortBy,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+            ).map(PublicCourseResponse::from);
+        }
+
         Pageable sortedPageable = PageRequest.of(
             pageable.getPageNumber(),
             pageable.getPageSize(),
-            sort
+            buildSort(sortBy)
         );
 
-        // Convert tags to slugs
-        Set<String> tagSlugs = tags != null && !tags.isEmpty() ? tags : null;
-
-        return courseRepository.searchPublishedCoursesWithFilters(
-            search,
+        return courseRepository.findPublishedCoursesWithFilters(
             categoryId,
             difficulty,
-            tagSlugs,
+            tagFilter.tagIds(),
+            tagFilter.requiredMatches(),
             sortedPageable
         ).map(PublicCourseResponse::from);
     }
 
+    /**
+     * Keyset-paginated variant of {@link #getFilteredPublicCourses}: each slice seeks past the cursor
+     * of the previous one instead of using an OFFSET, so deep slices cost the same as the first.
+     * Without search text, sortBy picks the column; with search text, sortBy "popular", "updated" or
+     * "newest" picks the column and anything else orders by relevance.
+     *
+     * @param cursor       nextCursor of the previous slice, null for the first slice
+     * @param includeTotal count all matches; only honoured for the first slice
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public CursorPage<PublicCourseResponse> scrollPublicCourses(
+        String search,
+        UUID categoryId,
+        Difficulty difficulty,
+        Set<String> tags,
+        boolean matchAllTags,
+        String sortBy,
+        String cursor,
+        int size,
+        boolean includeTotal) {
+        TagFilter tagFilter = TagFilter.resolve(tags, matchAllTags, tagRepository);
+        boolean countTotal = includeTotal && (cursor == null || cursor.isBlank());
+
+        if (search != null && !search.isBlank()) {
+            String query = search.trim();
+            String difficultyName = difficulty != null ? difficulty.name() : null;
+            UUID[] tagIds = tagFilter.tagIdArray();
+            CatalogCursor after = CatalogCursor.decode(cursor, "match:" + sortBy);
+
+            List<Object[]> rows = courseRepository.scrollPublishedCourseMatches(
+                query, categoryId, difficultyName, tagIds, tagFilter.requiredMatches(), sortBy,
+                after != null ? after.doubleValue() : null,
+                after != null ? after.id() : null,
+                size + 1);
+            boolean hasMore = rows.size() > size;
+            List<Object[]> slice = hasMore ? rows.subList(0, size) : rows;
+
+            List<UUID> ids = slice.stream().map(row -> (UUID) row[0]).toList();
+            Map<UUID, Course> byId = courseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Course::getId, course -> course));
+            List<PublicCourseResponse> items = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(PublicCourseResponse::from)
+                .toList();
+
+            String nextCursor = null;
+            if (hasMore) {
+                Object[] last = slice.getLast();
+                nextCursor = new CatalogCursor("match:" + sortBy,
+                    Double.toString(((Number) last[1]).doubleValue()), (UUID) last[0]).encode();
+            }
+            Long total = countTotal
+                ? courseRepository.countPublishedCourseMatches(
+                    query, categoryId, difficultyName, tagIds, tagFilter.requiredMatches())
+                : null;
+            return new CursorPage<>(items, nextCursor, total);
+        }
+
+        String attribute = CatalogSpecifications.keysetAttribute(sortBy);
+        CatalogCursor after = CatalogCursor.decode(cursor, attribute);
+
+        List<Specification<Course>> filters = new ArrayList<>();
+        filters.add((root, q, cb) -> cb.isTrue(root.get("published")));
+        if (categoryId != null) {
+            filters.add(CatalogSpecifications.inCategory(categoryId));
+        }
+        if (difficulty != null) {
+            filters.add((root, q, cb) -> cb.equal(root.get("difficulty"), difficulty));
+        }
+        if (tagFilter.isActive()) {
+            filters.add(CatalogSpecifications.hasTags(tagFilter));
+        }
+
+        List<Specification<Course>> seek = new ArrayList<>(filters);
+        if (after != null) {
+            seek.add(attribute.equals("popularityScore")
+                ? CatalogSpecifications.after(attribute, after.doubleValue(), after.id())
+                : CatalogSpecifications.after(attribute, after.instantValue(), after.id()));
+        }
+
+        List<Course> rows = courseRepository.findBy(Specification.allOf(seek), query -> query
+            .sortBy(CatalogSpecifications.keysetSort(attribute))
+            .limit(size + 1)
+            .all());
+        boolean hasMore = rows.size() > size;
+        List<Course> courses = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Course last = courses.getLast();
+            String value = switch (attribute) {
+                case "popularityScore" -> Double.toString(last.getPopularityScore());
+                case "updatedAt" -> last.getUpdatedAt().toString();
+                default -> last.getCreatedAt().toString();
+            };
+            nextCursor = new CatalogCursor(attribute, value, last.getId()).encode();
+        }
+        Long total = countTotal ? courseRepository.count(Specification.allOf(filters)) : null;
+        return new CursorPage<>(courses.stream().map(PublicCourseResponse::from).toList(), nextCursor, total);
+    }
+
     private Sort buildSort(String sortBy) {
         if (sortBy == null) {
             return Sort.by(Sort.Direction.DESC, "createdAt");
         }
         return switch (sortBy) {
-            case "popular" -> Sort.by(Sort.Direction.DESC, "enrollmentCount");
+            // Same order as the keyset scroll and the (popularity_score DESC, id) indexes
+            case "popular" -> CatalogSpecifications.keysetSort("popularityScore");
             case "updated" -> Sort.by(Sort.Direction.DESC, "updatedAt");
             default -> Sort.by(Sort.Direction.DESC, "createdAt"); // "newest"
         };
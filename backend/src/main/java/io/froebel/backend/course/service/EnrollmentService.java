@@ -13,6 +13,7 @@ import io.froebel.backend.repository.EnrollmentRepository;
 import io.froebel.backend.repository.MaterialProgressRepository;
 import io.froebel.backend.repository.MaterialRepository;
 import io.froebel.backend.repository.UserRepository;
+import io.froebel.backend.service.PopularityCounterService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -30,19 +31,22 @@ public class EnrollmentService {
     private final UserRepository userRepository;
     private final MaterialRepository materialRepository;
     private final MaterialProgressRepository progressRepository;
+    private final PopularityCounterService popularityCounterService;
 
     public EnrollmentService(
         EnrollmentRepository enrollmentRepository,
         CourseRepository courseRepository,
         UserRepository userRepository,
         MaterialRepository materialRepository,
-        MaterialProgressRepository progressRepository
+        MaterialProgressRepository progressRepository,
+        PopularityCounterService popularityCounterService
     ) {
         this.enrollmentRepository = enrollmentRepository;
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
         this.materialRepository = materialRepository;
         this.progressRepository = progressRepository;
+        this.popularityCounterService = popularityCounterService;
     }
 
     @Transactional
@@ -69,6 +73,7 @@ public class EnrollmentService {
             .build();
 
         enrollment = enrollmentRepository.save(enrollment);
+        popularityCounterService.recordCourseEnrolled(courseId);
         return toEnrollmentResponse(enrollment);
     }
 
@@ -81,6 +86,7 @@ public class EnrollmentService {
         progressRepository.deleteByEnrollmentId(enrollment.getId());
 
         enrollmentRepository.delete(enrollment);
+        popularityCounterService.recordCourseUnenrolled(courseId, enrollment.isCompleted());
     }
 
     public Page<EnrollmentResponse> getMyEnrollments(UUID userId, Pageable pageable) {
@@ -9,6 +9,7 @@ import io.froebel.backend.model.entity.MaterialProgress;
 import io.froebel.backend.repository.EnrollmentRepository;
 import io.froebel.backend.repository.MaterialProgressRepository;
 import io.froebel.backend.repository.MaterialRepository;
+import io.froebel.backend.service.PopularityCounterService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,15 +25,18 @@ public class ProgressService {
     private final MaterialProgressRepository progressRepository;
     private final MaterialRepository materialRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final PopularityCounterService popularityCounterService;
 
     public ProgressService(
         MaterialProgressRepository progressRepository,
         MaterialRepository materialRepository,
-        EnrollmentRepository enrollmentRepository
+        EnrollmentRepository enrollmentRepository,
+        PopularityCounterService popularityCounterService
     ) {
         this.progressRepository = progressRepository;
         this.materialRepository = materialRepository;
         this.enrollmentRepository = enrollmentRepository;
+        this.popularityCounterService = popularityCounterService;
     }
 
     public ProgressResponse getProgress(UUID courseId, UUID userId) {
@@ -114,6 +118,7 @@ public class ProgressService {
         if (enrollment.getCompletedAt() != null) {
             enrollment.setCompletedAt(null);
             enrollmentRepository.save(enrollment);
+            popularityCounterService.recordCourseCompletionReverted(courseId);
         }
 
         return getProgress(courseId, userId);
@@ -123,9 +128,10 @@ public class ProgressService {
         long totalMaterials = materialRepository.countByCourseIdAndPublishedTrue(courseId);
         long completedMaterials = progressRepository.countByEnrollmentId(enrollment.getId());
 
-        if (totalMaterials > 0 && completedMaterials >= totalMaterials) {
+        if (totalMaterials > 0 && completedMaterials >= totalMaterials && !enrollment.isCompleted()) {
             enrollment.setCompletedAt(Instant.now());
             enrollmentRepository.save(enrollment);
+            popularityCounterService.recordCourseCompleted(courseId);
         }
     }
 }
@@ -7,6 +7,7 @@ import io.froebel.backend.auth.exception.InvalidCredentialsException;
 import io.froebel.backend.auth.exception.InvalidTokenException;
 import io.froebel.backend.auth.exception.InvalidTwoFactorCodeException;
 import io.froebel.backend.auth.exception.OAuth2AuthenticationException;
+import io.froebel.backend.auth.exception.PasswordHashingBusyException;
 import io.froebel.backend.auth.exception.TokenExpiredException;
 import io.froebel.backend.auth.exception.TwoFactorRequiredException;
 import io.froebel.backend.course.exception.AlreadyEnrolledException;
@@ -24,6 +25,7 @@ import io.froebel.backend.quiz.exception.QuizNotAvailableException;
 import io.froebel.backend.quiz.exception.QuizNotPublishedException;
 import io.froebel.backend.settings.exception.CannotUnlinkLastAuthMethodException;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -60,6 +62,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            ex.getMessage(),
+            Instant.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
     @ExceptionHandler(EmailNotVerifiedException.class)
     public ResponseEntity<ErrorResponse> handleEmailNotVerified(EmailNotVerifiedException ex) {
         ErrorResponse error = new ErrorResponse(
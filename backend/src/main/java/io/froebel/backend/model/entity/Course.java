@@ -63,6 +63,16 @@ public class Course extends BaseEntity {
     @Column(precision = 5, scale = 2)
     private BigDecimal estimatedHours;
 
+    // Denormalized counters - written only by PopularityCounterService, never by entity updates
+    @Column(name = "enrollment_count", insertable = false, updatable = false)
+    private long enrollmentCount;
+
+    @Column(name = "completion_count", insertable = false, updatable = false)
+    private long completionCount;
+
+    @Column(name = "popularity_score", insertable = false, updatable = false)
+    private double popularityScore;
+
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("lessonOrder ASC")
     @Builder.Default
@@ -0,0 +1,72 @@
+package io.froebel.backend.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Precomputed item-analysis statistics for one question of one quiz version.
+ * Written by the background item-analysis job, never on the request path.
+ */
+@Entity
+@Table(name = "question_item_stat")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionItemStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "quiz_id", nullable = false)
+    private Quiz quiz;
+
+    // 0 for legacy attempts recorded without a quiz version
+    @Column(name = "quiz_version_number", nullable = false)
+    private Integer quizVersionNumber;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_id", nullable = false)
+    private Question question;
+
+    @Column(nullable = false)
+    private Integer respondentCount;
+
+    @Column(name = "p_value", precision = 5, scale = 4)
+    private BigDecimal pValue;
+
+    @Column(precision = 5, scale = 4)
+    private BigDecimal pointBiserial;
+
+    @Column(precision = 5, scale = 4)
+    private BigDecimal discriminationIndex;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, BigDecimal> choiceSelectionRates;
+
+    @Column(nullable = false)
+    private Instant computedAt;
+}
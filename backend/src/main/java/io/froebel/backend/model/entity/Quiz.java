@@ -154,6 +154,16 @@ public class Quiz extends BaseEntity {
     @Column(name = "published_version_number")
     private Integer publishedVersionNumber;
 
+    // Denormalized counters - written only by PopularityCounterService, never by entity updates
+    @Column(name = "attempt_count", insertable = false, updatable = false)
+    private long attemptCount;
+
+    @Column(name = "completion_count", insertable = false, updatable = false)
+    private long completionCount;
+
+    @Column(name = "popularity_score", insertable = false, updatable = false)
+    private double popularityScore;
+
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("questionOrder ASC")
     @Fetch(FetchMode.SUBSELECT)  // Prevent Cartesian product with tags when using EntityGraph
@@ -209,14 +219,7 @@ public class Quiz extends BaseEntity {
      * Get the availability status for display purposes.
      */
     public QuizAvailabilityStatus getAvailabilityStatus() {
-        Instant now = Instant.now();
-        if (availableFrom != null && now.isBefore(availableFrom)) {
-            return QuizAvailabilityStatus.SCHEDULED;
-        }
-        if (availableUntil != null && now.isAfter(availableUntil)) {
-            return QuizAvailabilityStatus.CLOSED;
-        }
-        return QuizAvailabilityStatus.OPEN;
+        return QuizAvailabilityStatus.of(availableFrom, availableUntil);
     }
 
     /**
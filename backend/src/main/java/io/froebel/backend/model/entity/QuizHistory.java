@@ -9,6 +9,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -53,4 +55,81 @@ public class QuizHistory {
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
+
+    // Listing summary copied from the snapshot, so browse/search cards never read the snapshot JSONB
+    @Column(name = "summary_title")
+    private String summaryTitle;
+
+    @Column(name = "summary_description", columnDefinition = "TEXT")
+    private String summaryDescription;
+
+    @Column(name = "question_count", nullable = false)
+    private int questionCount;
+
+    @Column(name = "total_points", nullable = false)
+    private int totalPoints;
+
+    @Column(name = "time_limit")
+    private Integer timeLimit;
+
+    @Column(name = "passing_score")
+    private Integer passingScore;
+
+    @Column(name = "max_attempts")
+    private Integer maxAttempts;
+
+    @Column(name = "is_public", nullable = false)
+    private boolean isPublic;
+
+    @Column(name = "allow_anonymous", nullable = false)
+    private boolean allowAnonymous;
+
+    @Column(name = "category_id")
+    private UUID categoryId;
+
+    @Column(name = "course_id")
+    private UUID courseId;
+
+    @Column(name = "tag_names", columnDefinition = "text[]")
+    private String[] tagNames;
+
+    @Column(name = "available_from")
+    private Instant availableFrom;
+
+    @Column(name = "available_until")
+    private Instant availableUntil;
+
+    @Column(name = "results_visible_from")
+    private Instant resultsVisibleFrom;
+
+    @PrePersist
+    @PreUpdate
+    protected void deriveSummary() {
+        if (snapshot == null) {
+            return;
+        }
+        summaryTitle = snapshot.title();
+        summaryDescription = snapshot.description();
+        questionCount = snapshot.questions() != null ? snapshot.questions().size() : 0;
+        totalPoints = snapshot.questions() != null
+            ? snapshot.questions().stream().mapToInt(q -> q.points() != null ? q.points() : 1).sum()
+            : 0;
+        if (snapshot.settings() != null) {
+            timeLimit = snapshot.settings().timeLimit();
+            passingScore = snapshot.settings().passingScore();
+            maxAttempts = snapshot.settings().maxAttempts();
+        }
+        if (snapshot.access() != null) {
+            isPublic = snapshot.access().isPublic();
+            allowAnonymous = snapshot.access().allowAnonymous();
+        }
+        categoryId = snapshot.categoryId();
+        courseId = snapshot.courseId();
+        tagNames = snapshot.tagNames() != null ? snapshot.tagNames().toArray(String[]::new) : null;
+        if (snapshot.scheduling() != null) {
+            availableFrom = snapshot.scheduling().availableFrom();
+            availableUntil = snapshot.scheduling().availableUntil();
+            resultsVisibleFrom = snapshot.scheduling().resultsVisibleFrom();
+        }
+    }
 }
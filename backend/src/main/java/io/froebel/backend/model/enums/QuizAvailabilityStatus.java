@@ -1,7 +1,23 @@
 package io.froebel.backend.model.enums;
 
+import java.time.Instant;
+
 public enum QuizAvailabilityStatus {
     SCHEDULED,  // Quiz will open in the future
     OPEN,       // Quiz is currently available
-    CLOSED      // Quiz availability window has passed
+    CLOSED;     // Quiz availability window has passed
+
+    /**
+     * Availability right now for the given scheduling window (either bound may be null).
+     */
+    public static QuizAvailabilityStatus of(Instant availableFrom, Instant availableUntil) {
+        Instant now = Instant.now();
+        if (availableFrom != null && now.isBefore(availableFrom)) {
+            return SCHEDULED;
+        }
+        if (availableUntil != null && now.isAfter(availableUntil)) {
+            return CLOSED;
+        }
+        return OPEN;
+    }
 }
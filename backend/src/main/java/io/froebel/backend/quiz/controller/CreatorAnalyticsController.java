@@ -0,0 +1,44 @@
+package io.froebel.backend.quiz.controller;
+
+import io.froebel.backend.auth.security.UserPrincipal;
+import io.froebel.backend.quiz.dto.response.CreatorQuizAnalyticsResponse;
+import io.froebel.backend.quiz.service.QuizAnalyticsService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/quizzes/analytics")
+public class CreatorAnalyticsController {
+
+    private final QuizAnalyticsService analyticsService;
+
+    public CreatorAnalyticsController(QuizAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Get summary analytics for all quizzes of the current user.
+     * GET /api/v1/quizzes/analytics?sortBy=attempts&direction=desc&page=0&size=20
+     * sortBy: attempts, completions, passRate, averageScore, averageTime, title, newest
+     */
+    @GetMapping
+    public ResponseEntity<Page<CreatorQuizAnalyticsResponse>> getCreatorQuizAnalytics(
+        @AuthenticationPrincipal UserPrincipal principal,
+        @RequestParam(defaultValue = "newest") String sortBy,
+        @RequestParam(defaultValue = "desc") String direction,
+        @PageableDefault(size = 20) Pageable pageable
+    ) {
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.DESC);
+        return ResponseEntity.ok(
+            analyticsService.getCreatorQuizAnalytics(principal.getId(), sortBy, sortDirection, pageable)
+        );
+    }
+}
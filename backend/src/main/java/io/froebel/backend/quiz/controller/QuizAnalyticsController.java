@@ -2,6 +2,7 @@ package io.froebel.backend.quiz.controller;
 
 import io.froebel.backend.auth.security.UserPrincipal;
 import io.froebel.backend.quiz.dto.response.QuizAnalyticsResponse;
+import io.froebel.backend.quiz.dto.response.QuizAnalyticsResponse.ItemStatistics;
 import io.froebel.backend.quiz.dto.response.QuizAnalyticsSummaryResponse;
 import io.froebel.backend.quiz.service.QuizAnalyticsService;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -52,4 +54,19 @@ public class QuizAnalyticsController {
             analyticsService.getQuizAnalyticsSummary(quizId, principal.getId())
         );
     }
+
+    /**
+     * Get precomputed item-analysis statistics (difficulty, discrimination, distractors).
+     * Defaults to the published version. Only accessible by quiz owner.
+     */
+    @GetMapping("/items")
+    public ResponseEntity<List<ItemStatistics>> getItemStatistics(
+        @AuthenticationPrincipal UserPrincipal principal,
+        @PathVariable UUID quizId,
+        @RequestParam(required = false) Integer version
+    ) {
+        return ResponseEntity.ok(
+            analyticsService.getItemStatistics(quizId, principal.getId(), version)
+        );
+    }
 }
@@ -9,6 +9,7 @@ import io.froebel.backend.quiz.dto.response.QuizExportResponse;
 import io.froebel.backend.quiz.dto.response.QuizSummaryResponse;
 import io.froebel.backend.quiz.service.QuizImportExportService;
 import io.froebel.backend.quiz.service.QuizService;
+import io.froebel.backend.search.dto.CursorPage;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -117,11 +118,29 @@ public class QuizController {
         @RequestParam(required = false) String search,
         @RequestParam(required = false) UUID categoryId,
         @RequestParam(required = false) Set<String> tags,
+        @RequestParam(defaultValue = "false") boolean matchAllTags,
         @RequestParam(defaultValue = "newest") String sortBy,
         @PageableDefault(size = 20) Pageable pageable
     ) {
         return ResponseEntity.ok(quizService.getFilteredPublicQuizzes(
-            search, categoryId, tags, sortBy, pageable));
+            search, categoryId, tags, matchAllTags, sortBy, pageable));
+    }
+
+    // Keyset-paginated browse: pass nextCursor from the previous response to get the following slice
+    @GetMapping("/public/scroll")
+    public ResponseEntity<CursorPage<QuizSummaryResponse>> scrollPublicQuizzes(
+        @RequestParam(required = false) String search,
+        @RequestParam(required = false) UUID categoryId,
+        @RequestParam(required = false) Set<String> tags,
+        @RequestParam(defaultValue = "false") boolean matchAllTags,
+        @RequestParam(defaultValue = "newest") String sortBy,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(quizService.scrollPublicQuizzes(
+            search, categoryId, tags, matchAllTags, sortBy, cursor,
+            Math.max(1, Math.min(size, 100)), includeTotal));
     }
 
     @PostMapping("/import")
@@ -0,0 +1,36 @@
+package io.froebel.backend.quiz.dto;
+
+import io.froebel.backend.model.enums.QuizStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Listing fields of a quiz in its owner's dashboard, with question count and total points
+ * aggregated in the query instead of loading the questions.
+ */
+public record OwnedQuizListing(
+    UUID id,
+    String shareableId,
+    String title,
+    String description,
+    UUID creatorId,
+    String creatorDisplayName,
+    String creatorEmail,
+    UUID courseId,
+    UUID categoryId,
+    QuizStatus status,
+    boolean isPublic,
+    boolean allowAnonymous,
+    Integer timeLimit,
+    Integer passingScore,
+    Integer maxAttempts,
+    long questionCount,
+    long totalPoints,
+    Instant createdAt,
+    Instant updatedAt,
+    Instant availableFrom,
+    Instant availableUntil,
+    Instant resultsVisibleFrom
+) {
+}
@@ -0,0 +1,30 @@
+package io.froebel.backend.quiz.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Listing fields of a quiz's published version, read from the quiz_history summary columns
+ * instead of the full {@link QuizSnapshot}.
+ *
+ * @param tagNames null when the snapshot predates tag capture (fall back to the live tags)
+ */
+public record PublishedQuizSummary(
+    UUID quizId,
+    String title,
+    String description,
+    int questionCount,
+    int totalPoints,
+    Integer timeLimit,
+    Integer passingScore,
+    Integer maxAttempts,
+    boolean isPublic,
+    boolean allowAnonymous,
+    UUID categoryId,
+    UUID courseId,
+    String[] tagNames,
+    Instant availableFrom,
+    Instant availableUntil,
+    Instant resultsVisibleFrom
+) {
+}
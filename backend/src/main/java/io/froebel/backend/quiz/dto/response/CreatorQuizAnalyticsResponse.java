@@ -0,0 +1,24 @@
+package io.froebel.backend.quiz.dto.response;
+
+import io.froebel.backend.model.enums.QuizStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of the creator-wide analytics dashboard (same metrics as {@link QuizAnalyticsSummaryResponse}).
+ */
+public record CreatorQuizAnalyticsResponse(
+    UUID quizId,
+    String shareableId,
+    String quizTitle,
+    QuizStatus status,
+    long totalAttempts,
+    long completedAttempts,
+    BigDecimal passRate,
+    BigDecimal averageScore,
+    Integer averageTimeSeconds,
+    Instant createdAt
+) {
+}
@@ -1,7 +1,11 @@
 package io.froebel.backend.quiz.dto.response;
 
+import io.froebel.backend.model.entity.QuestionItemStat;
+
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public record QuizAnalyticsResponse(
@@ -55,8 +59,34 @@ public record QuizAnalyticsResponse(
         long correctAnswers,
         BigDecimal successRate,
         Integer averageTimeSeconds,
-        int points
+        int points,
+        // Precomputed by the item-analysis job; null until first computed
+        ItemStatistics itemStatistics
+    ) {
+    }
+
+    public record ItemStatistics(
+        UUID questionId,
+        int quizVersionNumber,
+        int respondentCount,
+        BigDecimal pValue,
+        BigDecimal pointBiserial,
+        BigDecimal discriminationIndex,
+        Map<String, BigDecimal> choiceSelectionRates,
+        Instant computedAt
     ) {
+        public static ItemStatistics from(QuestionItemStat stat) {
+            return new ItemStatistics(
+                stat.getQuestion().getId(),
+                stat.getQuizVersionNumber(),
+                stat.getRespondentCount(),
+                stat.getPValue(),
+                stat.getPointBiserial(),
+                stat.getDiscriminationIndex(),
+                stat.getChoiceSelectionRates(),
+                stat.getComputedAt()
+            );
+        }
     }
 
     public record TimeSeriesDataPoint(
@@ -5,9 +5,11 @@ import io.froebel.backend.model.entity.Quiz;
 import io.froebel.backend.model.entity.Tag;
 import io.froebel.backend.model.enums.QuizAvailabilityStatus;
 import io.froebel.backend.model.enums.QuizStatus;
-import io.froebel.backend.quiz.dto.QuizSnapshot;
+import io.froebel.backend.quiz.dto.OwnedQuizListing;
+import io.froebel.backend.quiz.dto.PublishedQuizSummary;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -89,19 +91,55 @@ public record QuizSummaryResponse(
     }
 
     /**
-     * Build a QuizSummaryResponse from a published snapshot.
-     * Used to serve the frozen published version on browse/explore pages.
+     * Build a QuizSummaryResponse from the owner's dashboard projection.
      *
-     * @param quiz     The quiz entity (for id, shareableId, creator, status, timestamps)
-     * @param snapshot The published snapshot to serve
+     * @param listing  The projected quiz row with aggregated question count and points
+     * @param tagNames The quiz's tag names, fetched separately for the page
      */
-    public static QuizSummaryResponse fromSnapshot(Quiz quiz, QuizSnapshot snapshot) {
-        int totalPoints = snapshot.questions().stream()
-            .mapToInt(q -> q.points() != null ? q.points() : 1)
-            .sum();
+    public static QuizSummaryResponse fromOwnedListing(OwnedQuizListing listing, Set<String> tagNames) {
+        // Fallback to email if displayName is null or blank
+        String displayName = listing.creatorDisplayName();
+        if (displayName == null || displayName.isBlank()) {
+            displayName = listing.creatorEmail();
+        }
 
-        // Tags come from snapshot if available, otherwise from entity
-        Set<String> tagNames = snapshot.tagNames() != null ? snapshot.tagNames() :
+        return new QuizSummaryResponse(
+            listing.id(),
+            listing.shareableId(),
+            listing.title(),
+            listing.description(),
+            listing.creatorId(),
+            displayName,
+            listing.courseId(),
+            listing.categoryId(),
+            listing.status(),
+            listing.isPublic(),
+            listing.allowAnonymous(),
+            listing.timeLimit(),
+            listing.passingScore(),
+            listing.maxAttempts(),
+            (int) listing.questionCount(),
+            (int) listing.totalPoints(),
+            tagNames,
+            listing.createdAt(),
+            listing.updatedAt(),
+            listing.availableFrom(),
+            listing.availableUntil(),
+            listing.resultsVisibleFrom(),
+            QuizAvailabilityStatus.of(listing.availableFrom(), listing.availableUntil())
+        );
+    }
+
+    /**
+     * Build a QuizSummaryResponse from the summary of the published version.
+     * Used to serve the frozen published version on browse/explore pages.
+     *
+     * @param quiz    The quiz entity (for id, shareableId, creator, status, timestamps)
+     * @param summary The published version's listing summary to serve
+     */
+    public static QuizSummaryResponse fromPublishedSummary(Quiz quiz, PublishedQuizSummary summary) {
+        // Tags come from the published version if captured, otherwise from entity
+        Set<String> tagNames = summary.tagNames() != null ? Set.copyOf(Arrays.asList(summary.tagNames())) :
             quiz.getTags().stream().map(Tag::getName).collect(Collectors.toSet());
 
         // Fallback to email if displayName is null or blank
@@ -113,26 +151,26 @@ public record QuizSummaryResponse(
         return new QuizSummaryResponse(
             quiz.getId(),
             quiz.getShareableId(),
-            snapshot.title(),
-            snapshot.description(),
+            summary.title(),
+            summary.description(),
             quiz.getCreator().getId(),
             displayName,
-            snapshot.courseId(),
-            snapshot.categoryId(),
+            summary.courseId(),
+            summary.categoryId(),
             quiz.getStatus(),
-            snapshot.access().isPublic(),
-            snapshot.access().allowAnonymous(),
-            snapshot.settings().timeLimit(),
-            snapshot.settings().passingScore(),
-            snapshot.settings().maxAttempts(),
-            snapshot.questions().size(),
-            totalPoints,
+            summary.isPublic(),
+            summary.allowAnonymous(),
+            summary.timeLimit(),
+            summary.passingScore(),
+            summary.maxAttempts(),
+            summary.questionCount(),
+            summary.totalPoints(),
             tagNames,
             quiz.getCreatedAt(),
             quiz.getUpdatedAt(),
-            snapshot.scheduling().availableFrom(),
-            snapshot.scheduling().availableUntil(),
-            snapshot.scheduling().resultsVisibleFrom(),
+            summary.availableFrom(),
+            summary.availableUntil(),
+            summary.resultsVisibleFrom(),
             quiz.getAvailabilityStatus()
         );
     }
@@ -0,0 +1,191 @@
+package io.froebel.backend.quiz.service;
+
+import io.froebel.backend.config.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly range partitions of quiz_attempt (started_at) and quiz_answer (answered_at).
+ * Future partitions are created ahead of time; when archiving is enabled, partitions older than the
+ * retention window are exported to gzip-compressed NDJSON files and then detached and dropped.
+ */
+@Service
+public class AttemptPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptPartitionService.class);
+
+    private static final List<String> PARTITIONED_TABLES = List.of("quiz_attempt", "quiz_answer");
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("^(quiz_attempt|quiz_answer)_p(\\d{4})_(\\d{2})$");
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties appProperties;
+
+    public AttemptPartitionService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        AppProperties appProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.appProperties = appProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureFuturePartitions();
+    }
+
+    @Scheduled(cron = "${app.database.partitioning.maintenance-cron:0 30 1 * * *}") // Run daily at 1:30 AM
+    public void maintainPartitions() {
+        ensureFuturePartitions();
+        if (appProperties.getDatabase().getPartitioning().isArchiveEnabled()) {
+            archiveExpiredPartitions();
+        }
+    }
+
+    /**
+     * Create the partitions for the current month and the configured number of months ahead.
+     */
+    public void ensureFuturePartitions() {
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        int premakeMonths = appProperties.getDatabase().getPartitioning().getPremakeMonths();
+
+        for (int i = 0; i <= premakeMonths; i++) {
+            LocalDate monthStart = currentMonth.plusMonths(i).atDay(1);
+            for (String table : PARTITIONED_TABLES) {
+                try {
+                    jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, CAST(? AS date))",
+                        String.class, table, monthStart.toString());
+                } catch (Exception e) {
+                    log.error("Failed to create {} partition for {}: {}", table, monthStart, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Archive every monthly partition that ended before the retention window.
+     *
+     * @return number of partitions archived
+     */
+    public int archiveExpiredPartitions() {
+        AppProperties.PartitioningConfig config = appProperties.getDatabase().getPartitioning();
+        YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(config.getRetentionMonths());
+
+        List<String> partitions = jdbcTemplate.queryForList("""
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname IN ('quiz_attempt', 'quiz_answer')
+            ORDER BY c.relname
+            """, String.class);
+
+        int archived = 0;
+        for (String partition : partitions) {
+            Matcher matcher = MONTHLY_PARTITION.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+
+            try {
+                archivePartition(matcher.group(1), partition, Path.of(config.getArchiveDirectory()));
+                archived++;
+            } catch (Exception e) {
+                log.error("Failed to archive partition {}: {}", partition, e.getMessage());
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} quiz attempt/answer partitions older than {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Export the partition while it is still attached (old months no longer receive writes), then
+     * detach and drop it in a short transaction that verifies the row count has not changed.
+     * The count runs under a SHARE lock on the partition alone, before the detach takes the ACCESS EXCLUSIVE
+     * lock on the parent, so quiz-taking traffic is only blocked for the detach and drop themselves.
+     */
+    private void archivePartition(String parent, String partition, Path archiveDirectory) throws IOException {
+        Path directory = archiveDirectory.resolve(parent);
+        Files.createDirectories(directory);
+        Path tempFile = directory.resolve(partition + ".ndjson.gz.tmp");
+        Path archiveFile = directory.resolve(partition + ".ndjson.gz");
+
+        Long exported = transactionTemplate.execute(status -> exportPartition(partition, tempFile));
+        Files.move(tempFile, archiveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Blocks writes to this partition only, keeping the count valid until the detach
+            jdbcTemplate.execute("LOCK TABLE " + partition + " IN SHARE MODE");
+            Long remaining = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+            if (!exported.equals(remaining)) {
+                throw new IllegalStateException("Partition " + partition + " changed during export (exported "
+                    + exported + " rows, found " + remaining + ")");
+            }
+            // A queued ACCESS EXCLUSIVE request blocks every later query on the parent; give up rather than wait
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+            jdbcTemplate.execute("ALTER TABLE " + parent + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        });
+
+        log.info("Archived partition {} ({} rows) to {}", partition, exported, archiveFile);
+    }
+
+    private long exportPartition(String partition, Path file) {
+        long[] rows = {0};
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+            new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8))) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    "SELECT row_to_json(t)::text FROM " + partition + " t");
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs.getString(1));
+                    writer.newLine();
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows[0];
+    }
+}
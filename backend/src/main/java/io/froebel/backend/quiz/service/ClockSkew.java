@@ -0,0 +1,21 @@
+package io.froebel.backend.quiz.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Attempt, answer and version timestamps are taken from the clock of whichever node handled the request.
+ * Lower bounds derived from one of them and compared with another are widened by a margin, so clock skew
+ * between nodes cannot silently exclude rows. A minute is irrelevant to monthly partition pruning.
+ */
+final class ClockSkew {
+
+    static final Duration MARGIN = Duration.ofMinutes(1);
+
+    private ClockSkew() {
+    }
+
+    static Instant widen(Instant lowerBound) {
+        return lowerBound.minus(MARGIN);
+    }
+}
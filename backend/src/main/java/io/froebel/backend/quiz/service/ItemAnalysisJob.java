@@ -0,0 +1,118 @@
+package io.froebel.backend.quiz.service;
+
+import io.froebel.backend.config.AppProperties;
+import io.froebel.backend.repository.QuestionItemStatRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically recomputes item-analysis statistics for every quiz version that received
+ * completed attempts since its statistics were last computed.
+ * Each run only scans attempts completed by transactions from the stored watermark on, which
+ * advances once every stale version of a run has been computed. Watermarks follow commit order
+ * (transaction IDs), not completed_at, so attempts committing late are never skipped.
+ * Quizzes are processed in parallel on a bounded pool; when the queue is full the
+ * scheduler thread runs the task itself, which throttles submission.
+ */
+@Component
+public class ItemAnalysisJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemAnalysisJob.class);
+
+    private final ItemAnalysisService itemAnalysisService;
+    private final QuestionItemStatRepository itemStatRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties.ItemAnalysisConfig config;
+    private final ThreadPoolExecutor executor;
+
+    public ItemAnalysisJob(
+        ItemAnalysisService itemAnalysisService,
+        QuestionItemStatRepository itemStatRepository,
+        JdbcTemplate jdbcTemplate,
+        AppProperties appProperties
+    ) {
+        this.itemAnalysisService = itemAnalysisService;
+        this.itemStatRepository = itemStatRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = appProperties.getAnalytics().getItemAnalysis();
+        int parallelism = Math.max(1, config.getParallelism());
+        this.executor = new ThreadPoolExecutor(
+            parallelism,
+            parallelism,
+            60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+            Thread.ofPlatform().name("item-analysis-", 0).daemon(true).factory(),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.analytics.item-analysis.interval-ms:900000}",
+        initialDelayString = "${app.analytics.item-analysis.initial-delay-ms:60000}"
+    )
+    public void recomputeStaleItemStats() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        // Attempts completed by transactions still running now are left to the next run
+        long scanStart = itemStatRepository.currentTransactionHorizon();
+        long watermark = jdbcTemplate.queryForObject("SELECT scanned_xmin FROM item_analysis_watermark", Long.class);
+
+        List<Object[]> staleVersions = itemStatRepository.findStaleQuizVersions(watermark);
+        if (staleVersions.isEmpty()) {
+            advanceWatermark(scanStart);
+            return;
+        }
+
+        log.info("Recomputing item statistics for {} quiz versions", staleVersions.size());
+        long start = System.nanoTime();
+
+        List<CompletableFuture<Boolean>> tasks = staleVersions.stream()
+            .map(row -> CompletableFuture.supplyAsync(
+                () -> computeQuietly((UUID) row[0], ((Number) row[1]).intValue()), executor))
+            .toList();
+        long failed = tasks.stream().map(CompletableFuture::join).filter(ok -> !ok).count();
+
+        // Failed versions keep the watermark where it is, so the next run finds them again
+        if (failed == 0) {
+            advanceWatermark(scanStart);
+        }
+
+        log.info("Completed item statistics for {} quiz versions ({} failed) in {} ms",
+            staleVersions.size(), failed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private boolean computeQuietly(UUID quizId, int versionNumber) {
+        try {
+            int questions = itemAnalysisService.computeItemStats(quizId, versionNumber);
+            log.debug("Computed item statistics for quiz {} v{} ({} questions)", quizId, versionNumber, questions);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to compute item statistics for quiz {} v{}: {}", quizId, versionNumber, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void advanceWatermark(long scannedXmin) {
+        jdbcTemplate.update("UPDATE item_analysis_watermark SET scanned_xmin = GREATEST(scanned_xmin, ?)",
+            scannedXmin);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
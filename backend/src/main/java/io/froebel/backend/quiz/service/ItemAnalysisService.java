@@ -0,0 +1,240 @@
+package io.froebel.backend.quiz.service;
+
+import io.froebel.backend.config.AppProperties;
+import io.froebel.backend.model.entity.QuestionItemStat;
+import io.froebel.backend.model.entity.Quiz;
+import io.froebel.backend.model.entity.QuizHistory;
+import io.froebel.backend.repository.QuestionItemStatRepository;
+import io.froebel.backend.repository.QuestionRepository;
+import io.froebel.backend.repository.QuizAnswerRepository;
+import io.froebel.backend.repository.QuizAttemptRepository;
+import io.froebel.backend.repository.QuizHistoryRepository;
+import io.froebel.backend.repository.QuizRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Classical item analysis (difficulty, point-biserial, upper/lower 27% discrimination and
+ * per-choice selection rates) computed in a single streaming pass over quiz_answer.
+ * Invoked by {@link ItemAnalysisJob}; the request path only reads the stored results.
+ */
+@Service
+public class ItemAnalysisService {
+
+    private static final int SCALE = 4;
+
+    private final QuizAnswerRepository answerRepository;
+    private final QuizAttemptRepository attemptRepository;
+    private final QuestionItemStatRepository itemStatRepository;
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+    private final QuizHistoryRepository quizHistoryRepository;
+    private final AppProperties appProperties;
+    private final ObjectMapper objectMapper;
+
+    public ItemAnalysisService(
+        QuizAnswerRepository answerRepository,
+        QuizAttemptRepository attemptRepository,
+        QuestionItemStatRepository itemStatRepository,
+        QuizRepository quizRepository,
+        QuestionRepository questionRepository,
+        QuizHistoryRepository quizHistoryRepository,
+        AppProperties appProperties,
+        ObjectMapper objectMapper
+    ) {
+        this.answerRepository = answerRepository;
+        this.attemptRepository = attemptRepository;
+        this.itemStatRepository = itemStatRepository;
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.quizHistoryRepository = quizHistoryRepository;
+        this.appProperties = appProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Recompute and replace the item statistics of one quiz version.
+     *
+     * @return number of questions with statistics written
+     */
+    @Transactional
+    public int computeItemStats(UUID quizId, int versionNumber) {
+        Instant computedAt = Instant.now();
+        // Taken before reading any attempt, so every attempt this run can miss completes at or after it
+        long analysedXmin = itemStatRepository.currentTransactionHorizon();
+        Instant since = versionPublishedAt(quizId, versionNumber);
+
+        List<Object[]> cutoffRows = attemptRepository.findScoreCutoffsByQuizVersion(quizId, versionNumber, since);
+        if (cutoffRows.isEmpty() || ((Number) cutoffRows.getFirst()[0]).longValue() == 0) {
+            recordRun(quizId, versionNumber, computedAt, analysedXmin);
+            return 0;
+        }
+        double lowerCutoff = ((Number) cutoffRows.getFirst()[1]).doubleValue();
+        double upperCutoff = ((Number) cutoffRows.getFirst()[2]).doubleValue();
+
+        // One fixed-size accumulator per question, filled in a single pass over the answers
+        Map<UUID, ItemAccumulator> accumulators = new HashMap<>();
+        try (Stream<Object[]> rows = answerRepository.streamItemResponses(quizId, versionNumber, since)) {
+            rows.forEach(row -> {
+                double total = row[3] != null ? ((Number) row[3]).doubleValue() : 0.0;
+                ItemAccumulator acc = accumulators.computeIfAbsent((UUID) row[0], id -> new ItemAccumulator());
+                acc.add(Boolean.TRUE.equals(row[1]), total, total <= lowerCutoff, total >= upperCutoff);
+                for (String selection : parseSelection((String) row[2])) {
+                    acc.selections.merge(selection, 1L, Long::sum);
+                }
+            });
+        }
+
+        int minRespondents = appProperties.getAnalytics().getItemAnalysis().getMinRespondents();
+        Quiz quiz = quizRepository.getReferenceById(quizId);
+        List<QuestionItemStat> stats = accumulators.entrySet().stream()
+            .map(e -> e.getValue().toStat(minRespondents)
+                .quiz(quiz)
+                .question(questionRepository.getReferenceById(e.getKey()))
+                .quizVersionNumber(versionNumber)
+                .computedAt(computedAt)
+                .build())
+            .toList();
+
+        itemStatRepository.deleteByQuizIdAndVersionNumber(quizId, versionNumber);
+        itemStatRepository.saveAll(stats);
+        recordRun(quizId, versionNumber, computedAt, analysedXmin);
+        return stats.size();
+    }
+
+    /**
+     * Stored statistics of a quiz version keyed by question ID.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, QuestionItemStat> getItemStats(UUID quizId, int versionNumber) {
+        return itemStatRepository.findByQuizIdAndQuizVersionNumber(quizId, versionNumber).stream()
+            .collect(Collectors.toMap(s -> s.getQuestion().getId(), Function.identity()));
+    }
+
+    /**
+     * Mark the version as analysed, also when nothing was written, so it is only recomputed after new attempts.
+     * Attempts completed by transactions still running when the computation started are not covered and make
+     * the version stale again.
+     */
+    private void recordRun(UUID quizId, int versionNumber, Instant computedAt, long analysedXmin) {
+        itemStatRepository.upsertAnalysisRun(quizId, versionNumber, computedAt, analysedXmin);
+    }
+
+    /**
+     * Attempts of a version cannot start before the version was published, so its publish time is a
+     * safe lower bound that lets PostgreSQL prune older monthly partitions. Legacy attempts are unbounded.
+     * Widened because the publish time and started_at may come from different nodes' clocks.
+     */
+    private Instant versionPublishedAt(UUID quizId, int versionNumber) {
+        if (versionNumber == 0) {
+            return Instant.EPOCH;
+        }
+        return quizHistoryRepository.findByQuizIdAndVersionNumber(quizId, versionNumber)
+            .map(QuizHistory::getCreatedAt)
+            .map(ClockSkew::widen)
+            .orElse(Instant.EPOCH);
+    }
+
+    /**
+     * Turn the JSON text of an answer's 'selected'/'answer' value into the selected keys.
+     * Strings and scalars count once, arrays count each element.
+     */
+    private List<String> parseSelection(String json) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        Object value = objectMapper.readValue(json, Object.class);
+        if (value instanceof List<?> list) {
+            List<String> keys = new ArrayList<>(list.size());
+            for (Object element : list) {
+                if (element != null) keys.add(element.toString());
+            }
+            return keys;
+        }
+        return value != null ? List.of(value.toString()) : List.of();
+    }
+
+    private static BigDecimal ratio(long numerator, long denominator) {
+        if (denominator == 0) return null;
+        return BigDecimal.valueOf((double) numerator / denominator).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    static final class ItemAccumulator {
+        long respondents;
+        long correct;
+        double sumTotal;
+        double sumTotalSquared;
+        double sumTotalCorrect;
+        long upperCount;
+        long upperCorrect;
+        long lowerCount;
+        long lowerCorrect;
+        final Map<String, Long> selections = new HashMap<>();
+
+        void add(boolean isCorrect, double total, boolean inLowerGroup, boolean inUpperGroup) {
+            respondents++;
+            sumTotal += total;
+            sumTotalSquared += total * total;
+            if (isCorrect) {
+                correct++;
+                sumTotalCorrect += total;
+            }
+            if (inUpperGroup) {
+                upperCount++;
+                if (isCorrect) upperCorrect++;
+            }
+            if (inLowerGroup) {
+                lowerCount++;
+                if (isCorrect) lowerCorrect++;
+            }
+        }
+
+        QuestionItemStat.QuestionItemStatBuilder toStat(int minRespondents) {
+            Map<String, BigDecimal> selectionRates = new HashMap<>();
+            selections.forEach((key, count) -> selectionRates.put(key, ratio(count, respondents)));
+
+            boolean enoughRespondents = respondents >= minRespondents;
+            return QuestionItemStat.builder()
+                .respondentCount((int) respondents)
+                .pValue(ratio(correct, respondents))
+                .pointBiserial(enoughRespondents ? pointBiserial() : null)
+                .discriminationIndex(enoughRespondents ? discriminationIndex() : null)
+                .choiceSelectionRates(selectionRates);
+        }
+
+        // r_pb = (M1 - M0) / s * sqrt(p * q), using the population standard deviation of attempt totals
+        private BigDecimal pointBiserial() {
+            long incorrect = respondents - correct;
+            if (correct == 0 || incorrect == 0) return null;
+
+            double mean = sumTotal / respondents;
+            double variance = sumTotalSquared / respondents - mean * mean;
+            if (variance <= 0) return null;
+
+            double meanCorrect = sumTotalCorrect / correct;
+            double meanIncorrect = (sumTotal - sumTotalCorrect) / incorrect;
+            double p = (double) correct / respondents;
+            double r = (meanCorrect - meanIncorrect) / Math.sqrt(variance) * Math.sqrt(p * (1 - p));
+            return BigDecimal.valueOf(Math.max(-1.0, Math.min(1.0, r))).setScale(SCALE, RoundingMode.HALF_UP);
+        }
+
+        private BigDecimal discriminationIndex() {
+            if (upperCount == 0 || lowerCount == 0) return null;
+            double d = (double) upperCorrect / upperCount - (double) lowerCorrect / lowerCount;
+            return BigDecimal.valueOf(d).setScale(SCALE, RoundingMode.HALF_UP);
+        }
+    }
+}
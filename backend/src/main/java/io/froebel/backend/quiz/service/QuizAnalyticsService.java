@@ -1,8 +1,13 @@
 package io.froebel.backend.quiz.service;
 
+import io.froebel.backend.config.ReplicaRead;
 import io.froebel.backend.model.entity.Question;
+import io.froebel.backend.model.entity.QuestionItemStat;
 import io.froebel.backend.model.entity.Quiz;
+import io.froebel.backend.model.enums.QuizStatus;
+import io.froebel.backend.quiz.dto.response.CreatorQuizAnalyticsResponse;
 import io.froebel.backend.quiz.dto.response.QuizAnalyticsResponse;
+import io.froebel.backend.quiz.dto.response.QuizAnalyticsResponse.ItemStatistics;
 import io.froebel.backend.quiz.dto.response.QuizAnalyticsResponse.QuestionAnalytics;
 import io.froebel.backend.quiz.dto.response.QuizAnalyticsResponse.ScoreDistribution;
 import io.froebel.backend.quiz.dto.response.QuizAnalyticsResponse.TimeSeriesDataPoint;
@@ -10,6 +15,11 @@ import io.froebel.backend.quiz.dto.response.QuizAnalyticsSummaryResponse;
 import io.froebel.backend.repository.QuestionRepository;
 import io.froebel.backend.repository.QuizAnswerRepository;
 import io.froebel.backend.repository.QuizAttemptRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +35,7 @@ import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+@ReplicaRead
 @Service
 @Transactional(readOnly = true)
 public class QuizAnalyticsService {
@@ -33,17 +44,20 @@ public class QuizAnalyticsService {
     private final QuizAttemptRepository attemptRepository;
     private final QuizAnswerRepository answerRepository;
     private final QuestionRepository questionRepository;
+    private final ItemAnalysisService itemAnalysisService;
 
     public QuizAnalyticsService(
         QuizService quizService,
         QuizAttemptRepository attemptRepository,
         QuizAnswerRepository answerRepository,
-        QuestionRepository questionRepository
+        QuestionRepository questionRepository,
+        ItemAnalysisService itemAnalysisService
     ) {
         this.quizService = quizService;
         this.attemptRepository = attemptRepository;
         this.answerRepository = answerRepository;
         this.questionRepository = questionRepository;
+        this.itemAnalysisService = itemAnalysisService;
     }
 
     public QuizAnalyticsResponse getQuizAnalytics(UUID quizId, UUID userId) {
@@ -84,7 +98,7 @@ public class QuizAnalyticsService {
         ScoreDistribution distribution = calculateScoreDistribution(allScores);
 
         // Per-question analytics
-        List<QuestionAnalytics> questionAnalytics = buildQuestionAnalytics(quizId);
+        List<QuestionAnalytics> questionAnalytics = buildQuestionAnalytics(quiz);
 
         // Time series
         List<TimeSeriesDataPoint> timeSeries = buildTimeSeries(quizId, days);
@@ -138,6 +152,67 @@ public class QuizAnalyticsService {
         );
     }
 
+    /**
+     * Get summary analytics for every quiz of a creator in one grouped query.
+     * Sortable by attempts, completions, passRate, averageScore, averageTime, title or newest.
+     */
+    public Page<CreatorQuizAnalyticsResponse> getCreatorQuizAnalytics(
+        UUID userId,
+        String sortBy,
+        Sort.Direction direction,
+        Pageable pageable
+    ) {
+        Pageable sortedPageable = PageRequest.of(
+            pageable.getPageNumber(),
+            pageable.getPageSize(),
+            buildCreatorSort(sortBy, direction)
+        );
+
+        return attemptRepository.findCreatorQuizStats(userId, sortedPageable)
+            .map(row -> {
+                long completedAttempts = ((Number) row[5]).longValue();
+                long passedAttempts = row[6] != null ? ((Number) row[6]).longValue() : 0;
+                return new CreatorQuizAnalyticsResponse(
+                    (UUID) row[0],
+                    (String) row[2],
+                    (String) row[1],
+                    (QuizStatus) row[3],
+                    ((Number) row[4]).longValue(),
+                    completedAttempts,
+                    completedAttempts > 0 ? calculatePercentage(passedAttempts, completedAttempts) : null,
+                    row[7] != null ? BigDecimal.valueOf(((Number) row[7]).doubleValue())
+                        .setScale(2, RoundingMode.HALF_UP) : null,
+                    row[8] != null ? ((Number) row[8]).intValue() : null,
+                    (Instant) row[9]
+                );
+            });
+    }
+
+    /**
+     * Sort over the aggregate expressions of findCreatorQuizStats.
+     * Quizzes without completed attempts sort last in either direction.
+     */
+    private Sort buildCreatorSort(String sortBy, Sort.Direction direction) {
+        String key = sortBy != null ? sortBy : "";
+        String expression = switch (key) {
+            case "attempts" -> "COUNT(a)";
+            case "completions" -> "COUNT(a.completedAt)";
+            case "passRate" -> "SUM(CASE WHEN a.completedAt IS NOT NULL AND a.passed = true THEN 1 ELSE 0 END)"
+                + " * 1.0 / NULLIF(COUNT(a.completedAt), 0)";
+            case "averageScore" -> "AVG(CASE WHEN a.completedAt IS NOT NULL THEN a.percentage END)";
+            case "averageTime" -> "AVG(CASE WHEN a.completedAt IS NOT NULL THEN a.timeTakenSeconds END)";
+            case "title" -> "q.title";
+            default -> "q.createdAt"; // "newest"
+        };
+        Sort sort = JpaSort.unsafe(direction, expression);
+        if (key.equals("passRate") || key.equals("averageScore") || key.equals("averageTime")) {
+            // These metrics are null without completed attempts; group those quizzes after the rest
+            sort = JpaSort.unsafe(Sort.Direction.ASC, "CASE WHEN COUNT(a.completedAt) = 0 THEN 1 ELSE 0 END").and(sort);
+        }
+        // Tie-break on id so pages are stable
+        return sort.and(JpaSort.unsafe(direction, "q.id"));
+    }
+
     private ScoreDistribution calculateScoreDistribution(List<BigDecimal> scores) {
         int[] buckets = new int[5];
 
@@ -156,10 +231,27 @@ public class QuizAnalyticsService {
         );
     }
 
-    private List<QuestionAnalytics> buildQuestionAnalytics(UUID quizId) {
+    /**
+     * Get precomputed item-analysis statistics for one version of a quiz.
+     * Defaults to the published version. Only accessible by quiz owner.
+     */
+    public List<ItemStatistics> getItemStatistics(UUID quizId, UUID userId, Integer versionNumber) {
+        Quiz quiz = quizService.findOwnedQuiz(quizId, userId);
+        int version = versionNumber != null ? versionNumber : publishedVersionOrLegacy(quiz);
+        return itemAnalysisService.getItemStats(quizId, version).values().stream()
+            .map(ItemStatistics::from)
+            .toList();
+    }
+
+    private List<QuestionAnalytics> buildQuestionAnalytics(Quiz quiz) {
+        UUID quizId = quiz.getId();
+
         // Get question stats from aggregation query
         List<Object[]> stats = answerRepository.findQuestionStatsByQuizId(quizId);
 
+        // Heavy item statistics are read precomputed, never computed here
+        Map<UUID, QuestionItemStat> itemStats = itemAnalysisService.getItemStats(quizId, publishedVersionOrLegacy(quiz));
+
         // Get question details
         Map<UUID, Question> questionMap = questionRepository.findByQuizIdOrderByQuestionOrderAsc(quizId)
             .stream()
@@ -177,6 +269,7 @@ public class QuizAnalyticsService {
             if (question == null) continue;
 
             BigDecimal successRate = calculatePercentage(correctAnswers, totalAnswers);
+            QuestionItemStat itemStat = itemStats.get(questionId);
 
             analytics.add(new QuestionAnalytics(
                 questionId,
@@ -187,7 +280,8 @@ public class QuizAnalyticsService {
                 correctAnswers,
                 successRate,
                 avgTime != null ? avgTime.intValue() : null,
-                question.getPoints() != null ? question.getPoints() : 1
+                question.getPoints() != null ? question.getPoints() : 1,
+                itemStat != null ? ItemStatistics.from(itemStat) : null
             ));
         }
 
@@ -197,6 +291,11 @@ public class QuizAnalyticsService {
         return analytics;
     }
 
+    // Item statistics of unversioned legacy attempts are stored under version 0
+    private int publishedVersionOrLegacy(Quiz quiz) {
+        return quiz.getPublishedVersionNumber() != null ? quiz.getPublishedVersionNumber() : 0;
+    }
+
     private List<TimeSeriesDataPoint> buildTimeSeries(UUID quizId, int days) {
         Instant startDate = Instant.now().minus(days, ChronoUnit.DAYS);
         List<Object[]> rawData = attemptRepository.findDailyAttemptStats(quizId, startDate);
@@ -1,5 +1,6 @@
 package io.froebel.backend.quiz.service;
 
+import io.froebel.backend.config.ReplicaRead;
 import io.froebel.backend.exception.InvalidRequestException;
 import io.froebel.backend.exception.ResourceNotFoundException;
 import io.froebel.backend.model.entity.Question;
@@ -8,6 +9,8 @@ import io.froebel.backend.model.entity.QuizHistory;
 import io.froebel.backend.model.entity.Tag;
 import io.froebel.backend.model.entity.User;
 import io.froebel.backend.model.enums.QuizStatus;
+import io.froebel.backend.quiz.dto.OwnedQuizListing;
+import io.froebel.backend.quiz.dto.PublishedQuizSummary;
 import io.froebel.backend.quiz.dto.QuizSnapshot;
 import io.froebel.backend.quiz.dto.request.CreateQuizRequest;
 import io.froebel.backend.quiz.dto.request.UpdateQuizRequest;
@@ -17,27 +20,39 @@ import io.froebel.backend.quiz.dto.response.QuizSummaryResponse;
 import io.froebel.backend.quiz.exception.QuizAccessDeniedException;
 import io.froebel.backend.quiz.exception.QuizConflictException;
 import io.froebel.backend.quiz.util.ShareableIdGenerator;
+import io.froebel.backend.repository.CatalogSpecifications;
 import io.froebel.backend.repository.CategoryRepository;
 import io.froebel.backend.repository.CourseRepository;
 import io.froebel.backend.repository.QuizHistoryRepository;
 import io.froebel.backend.repository.QuizRepository;
+import io.froebel.backend.repository.TagFilter;
 import io.froebel.backend.repository.TagRepository;
 import io.froebel.backend.repository.UserRepository;
+import io.froebel.backend.search.dto.CatalogCursor;
+import io.froebel.backend.search.dto.CursorPage;
+import io.froebel.backend.search.service.SearchIndexChangedEvent;
+import io.froebel.backend.search.service.SimilarQuizIndex;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -54,6 +69,8 @@ public class QuizService {
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SimilarQuizIndex similarQuizIndex;
 
     public QuizService(
         QuizRepository quizRepository,
@@ -62,7 +79,9 @@ public class QuizService {
         CourseRepository courseRepository,
         CategoryRepository categoryRepository,
         TagRepository tagRepository,
-        PasswordEncoder passwordEncoder
+        PasswordEncoder passwordEncoder,
+        ApplicationEventPublisher eventPublisher,
+        SimilarQuizIndex similarQuizIndex
     ) {
         this.quizRepository = quizRepository;
         this.quizHistoryRepository = quizHistoryRepository;
@@ -71,6 +90,8 @@ public class QuizService {
         this.categoryRepository = categoryRepository;
         this.tagRepository = tagRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.similarQuizIndex = similarQuizIndex;
     }
 
     @Transactional
@@ -145,9 +166,24 @@ public class QuizService {
         return QuizDetailResponse.from(quiz, false);
     }
 
+    /**
+     * Owner's dashboard list: one projection query for the page (question count and points aggregated
+     * in SQL) plus one query for the page's tag names, so questions are never loaded.
+     */
     public Page<QuizSummaryResponse> getUserQuizzes(UUID userId, Pageable pageable) {
-        return quizRepository.findByCreatorId(userId, pageable)
-            .map(QuizSummaryResponse::from);
+        Page<OwnedQuizListing> listings = quizRepository.findOwnedListingsByCreatorId(userId, pageable);
+        if (listings.isEmpty()) {
+            return listings.map(listing -> QuizSummaryResponse.fromOwnedListing(listing, Set.of()));
+        }
+
+        Map<UUID, Set<String>> tagsByQuiz = new HashMap<>();
+        List<UUID> quizIds = listings.getContent().stream().map(OwnedQuizListing::id).toList();
+        for (Object[] row : quizRepository.findTagNamesByQuizIds(quizIds)) {
+            tagsByQuiz.computeIfAbsent((UUID) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+
+        return listings.map(listing -> QuizSummaryResponse.fromOwnedListing(
+            listing, tagsByQuiz.getOrDefault(listing.id(), Set.of())));
     }
 
     public QuizDetailResponse getQuizDetail(UUID quizId, UUID userId) {
@@ -180,6 +216,7 @@ public class QuizService {
         Quiz quiz = findOwnedQuiz(quizId, userId);
         quiz.setStatus(status);
         quiz = quizRepository.saveAndFlush(quiz);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.quiz(quiz.getId()));
         return QuizResponse.from(quiz);
     }
 
@@ -202,6 +239,7 @@ public class QuizService {
         }
 
         quiz = quizRepository.saveAndFlush(quiz);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.quiz(quiz.getId()));
         return QuizResponse.from(quiz);
     }
 
@@ -209,39 +247,148 @@ public class QuizService {
     public void deleteQuiz(UUID quizId, UUID userId) {
         Quiz quiz = findOwnedQuiz(quizId, userId);
         quizRepository.delete(quiz);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.quiz(quiz.getId()));
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Page<QuizSummaryResponse> getPublicQuizzes(Pageable pageable) {
         Page<Quiz> quizPage = quizRepository.findByStatusAndIsPublicTrue(QuizStatus.PUBLISHED, pageable);
         return mapQuizzesWithSnapshots(quizPage);
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Page<QuizSummaryResponse> getFilteredPublicQuizzes(
         String search,
         UUID categoryId,
         Set<String> tags,
+        boolean matchAllTags,
         String sortBy,
         Pageable pageable) {
-        // Build sort from sortBy parameter
-        Sort sort = buildSort(sortBy);
-        Pageable sortedPageable = PageRequest.of(
-            pageable.getPageNumber(),
-            pageable.getPageSize(),
-            sort
-        );
+        // Tags arrive as slugs; resolve them to IDs once so the query semi-joins quiz_tag on its keys
+        TagFilter tagFilter = TagFilter.resolve(tags, matchAllTags, tagRepository);
+
+        Page<Quiz> quizPage;
+        if (search != null && !search.isBlank()) {
+            // Full-text match; ordering (relevance unless an explicit sort is chosen) is part of the query
+            quizPage = quizRepository.searchPublicQuizzesWithFilters(
+                search.trim(),
+                categoryId,
+                tagFilter.tagIdArray(),
+                tagFilter.requiredMatches(),
+                sortBy,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+            );
+        } else {
+            Pageable sortedPageable = PageRequest.of(
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                buildSort(sortBy)
+            );
+            quizPage = quizRepository.findPublicQuizzesWithFilters(
+                QuizStatus.PUBLISHED,
+                categoryId,
+                tagFilter.tagIds(),
+                tagFilter.requiredMatches(),
+                sortedPageable
+            );
+        }
 
-        // Convert tags to slugs (tags are stored as slugs)
-        Set<String> tagSlugs = tags != null && !tags.isEmpty() ? tags : null;
+        return mapQuizzesWithSnapshots(quizPage);
+    }
 
-        Page<Quiz> quizPage = quizRepository.searchPublicQuizzesWithFilters(
-            QuizStatus.PUBLISHED,
-            search,
-            categoryId,
-            tagSlugs,
-            sortedPageable
-        );
+    /**
+     * Keyset-paginated variant of {@link #getFilteredPublicQuizzes}: each slice seeks past the cursor
+     * of the previous one instead of using an OFFSET, so deep slices cost the same as the first.
+     * Without search text, sortBy picks the column; with search text, sortBy "popular", "updated" or
+     * "newest" picks the column and anything else orders by relevance.
+     *
+     * @param cursor       nextCursor of the previous slice, null for the first slice
+     * @param includeTotal count all matches; only honoured for the first slice
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public CursorPage<QuizSummaryResponse> scrollPublicQuizzes(
+        String search,
+        UUID categoryId,
+        Set<String> tags,
+        boolean matchAllTags,
+        String sortBy,
+        String cursor,
+        int size,
+        boolean includeTotal) {
+        TagFilter tagFilter = TagFilter.resolve(tags, matchAllTags, tagRepository);
+        boolean countTotal = includeTotal && (cursor == null || cursor.isBlank());
+
+        if (search != null && !search.isBlank()) {
+            String query = search.trim();
+            UUID[] tagIds = tagFilter.tagIdArray();
+            CatalogCursor after = CatalogCursor.decode(cursor, "match:" + sortBy);
+
+            List<Object[]> rows = quizRepository.scrollPublicQuizMatches(
+                query, categoryId, tagIds, tagFilter.requiredMatches(), sortBy,
+                after != null ? after.doubleValue() : null,
+                after != null ? after.id() : null,
+                size + 1);
+            boolean hasMore = rows.size() > size;
+            List<Object[]> slice = hasMore ? rows.subList(0, size) : rows;
+
+            List<UUID> ids = slice.stream().map(row -> (UUID) row[0]).toList();
+            Map<UUID, Quiz> byId = quizRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Quiz::getId, quiz -> quiz));
+            List<Quiz> quizzes = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+
+            String nextCursor = null;
+            if (hasMore) {
+                Object[] last = slice.getLast();
+                nextCursor = new CatalogCursor("match:" + sortBy,
+                    Double.toString(((Number) last[1]).doubleValue()), (UUID) last[0]).encode();
+            }
+            Long total = countTotal ? quizRepository.countPublicQuizMatches(
+                query, categoryId, tagIds, tagFilter.requiredMatches()) : null;
+            return new CursorPage<>(mapQuizzesWithSnapshots(quizzes), nextCursor, total);
+        }
 
-        return mapQuizzesWithSnapshots(quizPage);
+        String attribute = CatalogSpecifications.keysetAttribute(sortBy);
+        CatalogCursor after = CatalogCursor.decode(cursor, attribute);
+
+        List<Specification<Quiz>> filters = new ArrayList<>();
+        filters.add((root, q, cb) -> cb.and(
+            cb.equal(root.get("status"), QuizStatus.PUBLISHED), cb.isTrue(root.get("isPublic"))));
+        if (categoryId != null) {
+            filters.add(CatalogSpecifications.inCategory(categoryId));
+        }
+        if (tagFilter.isActive()) {
+            filters.add(CatalogSpecifications.hasTags(tagFilter));
+        }
+
+        List<Specification<Quiz>> seek = new ArrayList<>(filters);
+        if (after != null) {
+            seek.add(attribute.equals("popularityScore")
+                ? CatalogSpecifications.after(attribute, after.doubleValue(), after.id())
+                : CatalogSpecifications.after(attribute, after.instantValue(), after.id()));
+        }
+
+        List<Quiz> rows = quizRepository.findBy(Specification.allOf(seek), query -> query
+            .sortBy(CatalogSpecifications.keysetSort(attribute))
+            .limit(size + 1)
+            .all());
+        boolean hasMore = rows.size() > size;
+        List<Quiz> quizzes = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Quiz last = quizzes.getLast();
+            String value = switch (attribute) {
+                case "popularityScore" -> Double.toString(last.getPopularityScore());
+                case "updatedAt" -> last.getUpdatedAt().toString();
+                default -> last.getCreatedAt().toString();
+            };
+            nextCursor = new CatalogCursor(attribute, value, last.getId()).encode();
+        }
+        Long total = countTotal ? quizRepository.count(Specification.allOf(filters)) : null;
+        return new CursorPage<>(mapQuizzesWithSnapshots(quizzes), nextCursor, total);
     }
 
     /**
@@ -249,30 +396,35 @@ public class QuizService {
      * Falls back to live entity data for legacy quizzes without snapshots.
      */
     private Page<QuizSummaryResponse> mapQuizzesWithSnapshots(Page<Quiz> quizPage) {
+        return new PageImpl<>(mapQuizzesWithSnapshots(quizPage.getContent()),
+            quizPage.getPageable(), quizPage.getTotalElements());
+    }
+
+    private List<QuizSummaryResponse> mapQuizzesWithSnapshots(List<Quiz> quizzes) {
         // Collect quiz IDs that have published versions
-        Set<UUID> quizIdsWithPublishedVersion = quizPage.getContent().stream()
+        Set<UUID> quizIdsWithPublishedVersion = quizzes.stream()
             .filter(q -> q.getPublishedVersionNumber() != null)
             .map(Quiz::getId)
             .collect(Collectors.toSet());
 
-        // Batch fetch published snapshots
-        Map<UUID, QuizSnapshot> snapshotMap = Collections.emptyMap();
+        // Batch fetch published summaries (summary columns only, not the snapshot JSONB)
+        Map<UUID, PublishedQuizSummary> summaryMap = Collections.emptyMap();
         if (!quizIdsWithPublishedVersion.isEmpty()) {
-            snapshotMap = quizHistoryRepository
-                .findPublishedSnapshotsByQuizIds(quizIdsWithPublishedVersion)
+            summaryMap = quizHistoryRepository
+                .findPublishedSummariesByQuizIds(quizIdsWithPublishedVersion)
                 .stream()
-                .collect(Collectors.toMap(h -> h.getQuiz().getId(), QuizHistory::getSnapshot));
+                .collect(Collectors.toMap(PublishedQuizSummary::quizId, summary -> summary));
         }
 
-        // Map with snapshot when available, fallback to live entity
-        Map<UUID, QuizSnapshot> finalSnapshotMap = snapshotMap;
-        return quizPage.map(quiz -> {
-            QuizSnapshot snapshot = finalSnapshotMap.get(quiz.getId());
-            if (snapshot != null) {
-                return QuizSummaryResponse.fromSnapshot(quiz, snapshot);
+        // Map with published summary when available, fallback to live entity
+        Map<UUID, PublishedQuizSummary> finalSummaryMap = summaryMap;
+        return quizzes.stream().map(quiz -> {
+            PublishedQuizSummary summary = finalSummaryMap.get(quiz.getId());
+            if (summary != null) {
+                return QuizSummaryResponse.fromPublishedSummary(quiz, summary);
             }
             return QuizSummaryResponse.from(quiz);  // Legacy fallback
-        });
+        }).toList();
     }
 
     private Sort buildSort(String sortBy) {
@@ -280,7 +432,8 @@ public class QuizService {
             return Sort.by(Sort.Direction.DESC, "createdAt");
         }
         return switch (sortBy) {
-            case "popular" -> Sort.by(Sort.Direction.DESC, "createdAt"); // TODO: add attemptCount field
+            // Same order as the keyset scroll and the (popularity_score DESC, id) indexes
+            case "popular" -> CatalogSpecifications.keysetSort("popularityScore");
             case "updated" -> Sort.by(Sort.Direction.DESC, "updatedAt");
             default -> Sort.by(Sort.Direction.DESC, "createdAt"); // "newest"
         };
@@ -438,6 +591,7 @@ public class QuizService {
         // After publishing, hasUnpublishedChanges is false (fresh snapshot)
         // After unpublishing, compute it normally
         boolean hasChanges = !publish && hasUnpublishedChangesInternal(quiz);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.quiz(quiz.getId()));
         return QuizDetailResponse.from(quiz, hasChanges);
     }
 
@@ -445,6 +599,7 @@ public class QuizService {
     public void deleteQuizByShareableId(String shareableId, UUID userId) {
         Quiz quiz = findOwnedQuizByShareableId(shareableId, userId);
         quizRepository.delete(quiz);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.quiz(quiz.getId()));
     }
 
     /**
@@ -557,6 +712,7 @@ public class QuizService {
 
         // Compute hasUnpublishedChanges after saving
         boolean hasChanges = hasUnpublishedChangesInternal(quiz);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.quiz(quiz.getId()));
         return QuizDetailResponse.from(quiz, hasChanges);
     }
 
@@ -595,14 +751,16 @@ public class QuizService {
 
         User createdBy = userRepository.findById(userId).orElse(null);
 
+        QuizSnapshot snapshot = createSnapshot(quiz);
         QuizHistory history = QuizHistory.builder()
             .quiz(quiz)
             .versionNumber(newVersion)
-            .snapshot(createSnapshot(quiz))
+            .snapshot(snapshot)
             .createdBy(createdBy)
             .build();
 
         quizHistoryRepository.save(history);
+        similarQuizIndex.storeSignature(quiz.getId(), newVersion, snapshot);
         return newVersion;
     }
 
@@ -626,6 +784,7 @@ public class QuizService {
         Integer versionNumber = createPublishSnapshot(quiz, userId);
         quiz.setPublishedVersionNumber(versionNumber);
         quiz = quizRepository.saveAndFlush(quiz);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.quiz(quiz.getId()));
 
         return QuizResponse.from(quiz);
     }
@@ -648,6 +807,7 @@ public class QuizService {
         Integer versionNumber = createPublishSnapshot(quiz, userId);
         quiz.setPublishedVersionNumber(versionNumber);
         quiz = quizRepository.saveAndFlush(quiz);
+        eventPublisher.publishEvent(SearchIndexChangedEvent.quiz(quiz.getId()));
 
         // After updating published version, hasUnpublishedChanges is false
         return QuizDetailResponse.from(quiz, false);
@@ -24,6 +24,7 @@ import io.froebel.backend.repository.QuizAttemptRepository;
 import io.froebel.backend.repository.QuizHistoryRepository;
 import io.froebel.backend.repository.QuizRepository;
 import io.froebel.backend.repository.UserRepository;
+import io.froebel.backend.service.PopularityCounterService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -52,6 +53,7 @@ public class QuizTakingService {
     private final UserRepository userRepository;
     private final ScoringService scoringService;
     private final PasswordEncoder passwordEncoder;
+    private final PopularityCounterService popularityCounterService;
 
     public QuizTakingService(
         QuizRepository quizRepository,
@@ -61,7 +63,8 @@ public class QuizTakingService {
         QuestionRepository questionRepository,
         UserRepository userRepository,
         ScoringService scoringService,
-        PasswordEncoder passwordEncoder
+        PasswordEncoder passwordEncoder,
+        PopularityCounterService popularityCounterService
     ) {
         this.quizRepository = quizRepository;
         this.quizHistoryRepository = quizHistoryRepository;
@@ -71,6 +74,7 @@ public class QuizTakingService {
         this.userRepository = userRepository;
         this.scoringService = scoringService;
         this.passwordEncoder = passwordEncoder;
+        this.popularityCounterService = popularityCounterService;
     }
 
     public PublicQuizResponse getPublicQuiz(UUID quizId) {
@@ -201,6 +205,7 @@ public class QuizTakingService {
         }
 
         attempt = attemptRepository.save(attempt);
+        popularityCounterService.recordQuizAttemptStarted(quiz.getId());
         return AttemptResponse.from(attempt);
     }
 
@@ -291,6 +296,7 @@ public class QuizTakingService {
         attempt.getAnswers().addAll(answers);
 
         attempt = attemptRepository.save(attempt);
+        popularityCounterService.recordQuizAttemptCompleted(quiz.getId());
 
         return buildAttemptResult(attempt, quiz);
     }
@@ -436,7 +442,9 @@ public class QuizTakingService {
             return AttemptResultResponse.fromPending(attempt, quiz);
         }
 
-        List<QuizAnswer> answers = answerRepository.findByAttemptIdOrderByAnsweredAtAsc(attempt.getId());
+        // started_at and answered_at may come from different nodes' clocks, so the pruning bound is widened
+        List<QuizAnswer> answers = answerRepository.findByAttemptIdAndAnsweredAtGreaterThanEqualOrderByAnsweredAtAsc(
+            attempt.getId(), ClockSkew.widen(attempt.getStartedAt()));
 
         // Get only the questions that have answers (instead of loading ALL quiz questions)
         Set<UUID> answeredQuestionIds = answers.stream()
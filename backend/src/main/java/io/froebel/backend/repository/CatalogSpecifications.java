@@ -0,0 +1,74 @@
+package io.froebel.backend.repository;
+
+import io.froebel.backend.model.entity.BaseEntity;
+import io.froebel.backend.model.entity.Tag;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+
+/**
+ * Filters and keyset predicates shared by the public quiz and course catalog listings.
+ * Keyset listings order by one sort column descending with the ID ascending as tiebreaker,
+ * matching the (column DESC, id) catalog indexes.
+ */
+public final class CatalogSpecifications {
+
+    private CatalogSpecifications() {
+    }
+
+    public static <T extends BaseEntity> Specification<T> inCategory(UUID categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    /**
+     * Semi-join on resolved tag IDs, so a row carrying several of the tags is returned once without DISTINCT.
+     */
+    public static <T extends BaseEntity> Specification<T> hasTags(TagFilter tagFilter) {
+        return (root, query, cb) -> {
+            Subquery<UUID> tagged = query.subquery(UUID.class);
+            Root<? extends T> taggedRoot = tagged.from(root.getJavaType());
+            Join<?, Tag> tag = taggedRoot.join("tags");
+            tagged.select(taggedRoot.get("id"))
+                .where(tag.get("id").in(tagFilter.tagIds()))
+                .groupBy(taggedRoot.get("id"))
+                .having(cb.ge(cb.count(tag), tagFilter.requiredMatches()));
+            return root.get("id").in(tagged);
+        };
+    }
+
+    /**
+     * Rows strictly after (value, id) in {@link #keysetSort(String)} order.
+     */
+    public static <T extends BaseEntity, V extends Comparable<? super V>> Specification<T> after(
+        String attribute, V value, UUID id) {
+        return (root, query, cb) -> {
+            Path<V> sortKey = root.get(attribute);
+            return cb.or(
+                cb.lessThan(sortKey, value),
+                cb.and(cb.equal(sortKey, value), cb.greaterThan(root.<UUID>get("id"), id)));
+        };
+    }
+
+    /**
+     * Entity attribute a catalog sortBy option orders by: "popular", "updated", otherwise "newest".
+     */
+    public static String keysetAttribute(String sortBy) {
+        if (sortBy == null) {
+            return "createdAt";
+        }
+        return switch (sortBy) {
+            case "popular" -> "popularityScore";
+            case "updated" -> "updatedAt";
+            default -> "createdAt"; // "newest"
+        };
+    }
+
+    public static Sort keysetSort(String attribute) {
+        return Sort.by(Sort.Direction.DESC, attribute).and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+}
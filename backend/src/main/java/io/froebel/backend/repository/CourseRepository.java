@@ -6,6 +6,7 @@ import io.froebel.backend.model.enums.Difficulty;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,11 +14,33 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, UUID> {
+public interface CourseRepository extends JpaRepository<Course, UUID>, JpaSpecificationExecutor<Course> {
+
+    // Keyset sort value of a full-text match: the chosen column as a double, or the relevance rank
+    String MATCH_SORT_VALUE = """
+        CASE CAST(:sortBy AS text)
+            WHEN 'popular' THEN c.popularity_score
+            WHEN 'updated' THEN CAST(EXTRACT(EPOCH FROM c.updated_at) AS double precision)
+            WHEN 'newest' THEN CAST(EXTRACT(EPOCH FROM c.created_at) AS double precision)
+            ELSE CAST(ts_rank(c.search_vector, websearch_to_tsquery('english', :query)) AS double precision)
+        END""";
+
+    String MATCH_FILTERS = """
+        WHERE c.published = true
+          AND c.search_vector @@ websearch_to_tsquery('english', :query)
+          AND (CAST(:categoryId AS uuid) IS NULL OR c.category_id = :categoryId)
+          AND (CAST(:difficulty AS text) IS NULL OR c.difficulty = :difficulty)
+          AND (CAST(:tagIds AS uuid[]) IS NULL OR c.id IN (
+              SELECT ct.course_id FROM course_tag ct WHERE ct.tag_id = ANY(:tagIds)
+              GROUP BY ct.course_id HAVING COUNT(*) >= :requiredTagMatches))
+        """;
+
+    String MATCH_AFTER_CURSOR = "AND (CAST(:afterValue AS double precision) IS NULL OR "
+        + MATCH_SORT_VALUE + " < CAST(:afterValue AS double precision) OR ("
+        + MATCH_SORT_VALUE + " = CAST(:afterValue AS double precision) AND c.id > CAST(:afterId AS uuid)))\n";
 
     List<Course> findByCreator(User creator);
 
@@ -37,26 +60,177 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
 
     long countByCreatorId(UUID creatorId);
 
-    // Search published courses by title or description (case-insensitive)
-    @Query("SELECT c FROM Course c WHERE c.published = true " +
-        "AND (LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-        "OR LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%')))")
+    // Full-text search of published courses ranked by weighted relevance (title > description > tags)
+    @Query(value = """
+        SELECT c.* FROM course c
+        WHERE c.published = true
+          AND c.search_vector @@ websearch_to_tsquery('english', :query)
+        ORDER BY ts_rank(c.search_vector, websearch_to_tsquery('english', :query)) DESC, c.id
+        """,
+        countQuery = """
+        SELECT COUNT(*) FROM course c
+        WHERE c.published = true
+          AND c.search_vector @@ websearch_to_tsquery('english', :query)
+        """,
+        nativeQuery = true)
     Page<Course> searchPublishedCourses(@Param("query") String query, Pageable pageable);
 
-    // Search published courses with optional filters (category, tags, difficulty, search)
-    @Query("SELECT DISTINCT c FROM Course c " +
-        "LEFT JOIN c.tags t " +
+    /**
+     * Typo-tolerant title match for the quick-search dropdown, most similar first.
+     * The match threshold is pg_trgm.word_similarity_threshold of the current transaction.
+     */
+    @Query(value = """
+        SELECT c.* FROM course c
+        WHERE c.published = true
+          AND :query <% c.title
+        ORDER BY word_similarity(:query, c.title) DESC, c.popularity_score DESC, c.id
+        LIMIT :limit
+        """,
+        nativeQuery = true)
+    List<Course> quickSearchPublishedCourses(@Param("query") String query, @Param("limit") int limit);
+
+    // Number of quick-search matches, counting no further than :cap
+    @Query(value = """
+        SELECT COUNT(*) FROM (
+            SELECT 1 FROM course c
+            WHERE c.published = true
+              AND :query <% c.title
+            LIMIT :cap) capped
+        """,
+        nativeQuery = true)
+    long countQuickSearchPublishedCourses(@Param("query") String query, @Param("cap") int cap);
+
+    /**
+     * Full-text search of published courses with optional category/difficulty/tag filters.
+     * sortBy "popular", "updated" or "newest" orders by that column first; anything else orders by relevance.
+     * Pass an unsorted Pageable - ordering is fixed by the query.
+     */
+    @Query(value = """
+        SELECT c.* FROM course c
+        WHERE c.published = true
+          AND c.search_vector @@ websearch_to_tsquery('english', :query)
+          AND (CAST(:categoryId AS uuid) IS NULL OR c.category_id = :categoryId)
+          AND (CAST(:difficulty AS text) IS NULL OR c.difficulty = :difficulty)
+          AND (CAST(:tagIds AS uuid[]) IS NULL OR c.id IN (
+              SELECT ct.course_id FROM course_tag ct WHERE ct.tag_id = ANY(:tagIds)
+              GROUP BY ct.course_id HAVING COUNT(*) >= :requiredTagMatches))
+        ORDER BY CASE WHEN :sortBy = 'popular' THEN c.popularity_score END DESC NULLS LAST,
+                 CASE WHEN :sortBy = 'updated' THEN c.updated_at END DESC NULLS LAST,
+                 CASE WHEN :sortBy = 'newest' THEN c.created_at END DESC NULLS LAST,
+                 ts_rank(c.search_vector, websearch_to_tsquery('english', :query)) DESC,
+                 c.id
+        """,
+        countQuery = """
+        SELECT COUNT(*) FROM course c
+        WHERE c.published = true
+          AND c.search_vector @@ websearch_to_tsquery('english', :query)
+          AND (CAST(:categoryId AS uuid) IS NULL OR c.category_id = :categoryId)
+          AND (CAST(:difficulty AS text) IS NULL OR c.difficulty = :difficulty)
+          AND (CAST(:tagIds AS uuid[]) IS NULL OR c.id IN (
+              SELECT ct.course_id FROM course_tag ct WHERE ct.tag_id = ANY(:tagIds)
+              GROUP BY ct.course_id HAVING COUNT(*) >= :requiredTagMatches))
+        """,
+        nativeQuery = true)
+    Page<Course> searchPublishedCoursesWithFilters(
+        @Param("query") String query,
+        @Param("categoryId") UUID categoryId,
+        @Param("difficulty") String difficulty,
+        @Param("tagIds") UUID[] tagIds,
+        @Param("requiredTagMatches") int requiredTagMatches,
+        @Param("sortBy") String sortBy,
+        Pageable pageable);
+
+    /**
+     * Keyset slice of full-text matches with optional category/difficulty/tag filters: rows after
+     * (afterValue, afterId) ordered by sort value descending, then ID. Pass null afterValue/afterId
+     * for the first slice.
+     *
+     * @return [id, sort value] pairs; load the entities with findAllById
+     */
+    @Query(value = "SELECT c.id, " + MATCH_SORT_VALUE + " AS sort_value FROM course c "
+        + MATCH_FILTERS + MATCH_AFTER_CURSOR + "ORDER BY sort_value DESC, c.id LIMIT :limit",
+        nativeQuery = true)
+    List<Object[]> scrollPublishedCourseMatches(
+        @Param("query") String query,
+        @Param("categoryId") UUID categoryId,
+        @Param("difficulty") String difficulty,
+        @Param("tagIds") UUID[] tagIds,
+        @Param("requiredTagMatches") int requiredTagMatches,
+        @Param("sortBy") String sortBy,
+        @Param("afterValue") Double afterValue,
+        @Param("afterId") UUID afterId,
+        @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM course c " + MATCH_FILTERS, nativeQuery = true)
+    long countPublishedCourseMatches(
+        @Param("query") String query,
+        @Param("categoryId") UUID categoryId,
+        @Param("difficulty") String difficulty,
+        @Param("tagIds") UUID[] tagIds,
+        @Param("requiredTagMatches") int requiredTagMatches);
+
+    /**
+     * Facet counts of published courses matching the optional search text and category/difficulty/tag
+     * filters, aggregated in one pass with GROUPING SETS.
+     *
+     * @return [facet ("category", "difficulty", "tag" or "total"), value (category ID, difficulty or
+     * tag slug), label, count] rows
+     */
+    @Query(value = """
+        WITH matches AS (
+            SELECT c.id, c.category_id, c.difficulty FROM course c
+            WHERE c.published = true
+              AND (CAST(:query AS text) IS NULL OR c.search_vector @@ websearch_to_tsquery('english', :query))
+              AND (CAST(:categoryId AS uuid) IS NULL OR c.category_id = :categoryId)
+              AND (CAST(:difficulty AS text) IS NULL OR c.difficulty = :difficulty)
+              AND (CAST(:tagIds AS uuid[]) IS NULL OR c.id IN (
+                  SELECT ct.course_id FROM course_tag ct WHERE ct.tag_id = ANY(:tagIds)
+                  GROUP BY ct.course_id HAVING COUNT(*) >= :requiredTagMatches))
+        ),
+        facets AS (
+            SELECT CASE WHEN GROUPING(cat.id) = 0 THEN 'category'
+                        WHEN GROUPING(m.difficulty) = 0 THEN 'difficulty'
+                        WHEN GROUPING(t.slug) = 0 THEN 'tag'
+                        ELSE 'total' END AS facet,
+                   CASE WHEN GROUPING(cat.id) = 0 THEN CAST(cat.id AS text)
+                        WHEN GROUPING(m.difficulty) = 0 THEN m.difficulty
+                        ELSE t.slug END AS value,
+                   CASE WHEN GROUPING(cat.id) = 0 THEN cat.name
+                        WHEN GROUPING(m.difficulty) = 0 THEN m.difficulty
+                        ELSE t.name END AS label,
+                   COUNT(DISTINCT m.id) AS hits
+            FROM matches m
+            LEFT JOIN category cat ON cat.id = m.category_id
+            LEFT JOIN course_tag ct ON ct.course_id = m.id
+            LEFT JOIN tag t ON t.id = ct.tag_id
+            GROUP BY GROUPING SETS ((cat.id, cat.name), (m.difficulty), (t.slug, t.name), ())
+        )
+        SELECT facet, value, label, hits FROM facets
+        WHERE facet = 'total' OR value IS NOT NULL
+        ORDER BY facet, hits DESC, label
+        """,
+        nativeQuery = true)
+    List<Object[]> findPublishedCourseFacets(
+        @Param("query") String query,
+        @Param("categoryId") UUID categoryId,
+        @Param("difficulty") String difficulty,
+        @Param("tagIds") UUID[] tagIds,
+        @Param("requiredTagMatches") int requiredTagMatches);
+
+    // Browse published courses with optional filters (category, tags, difficulty) when there is no search text.
+    // Tags are a semi-join on resolved tag IDs: requiredTagMatches is 1 for any tag, the tag count for all tags
+    @Query("SELECT c FROM Course c " +
         "WHERE c.published = true " +
-        "AND (:query IS NULL OR :query = '' OR LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-        "    OR LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%'))) " +
         "AND (:categoryId IS NULL OR c.category.id = :categoryId) " +
         "AND (:difficulty IS NULL OR c.difficulty = :difficulty) " +
-        "AND (:tagSlugs IS NULL OR t.slug IN :tagSlugs)")
-    Page<Course> searchPublishedCoursesWithFilters(
-        @Param("query") String query,
+        "AND (:tagIds IS NULL OR c.id IN (" +
+        "    SELECT tc.id FROM Course tc JOIN tc.tags t WHERE t.id IN :tagIds " +
+        "    GROUP BY tc.id HAVING COUNT(t) >= :requiredTagMatches))")
+    Page<Course> findPublishedCoursesWithFilters(
         @Param("categoryId") UUID categoryId,
         @Param("difficulty") Difficulty difficulty,
-        @Param("tagSlugs") Set<String> tagSlugs,
+        @Param("tagIds") List<UUID> tagIds,
+        @Param("requiredTagMatches") long requiredTagMatches,
         Pageable pageable);
 
     // Anonymize courses by setting creator to null (used for account deletion)
@@ -13,9 +13,16 @@ import java.util.UUID;
 public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, UUID> {
 
     /**
-     * Count failed login attempts for an email within a time window.
+     * Count failed login attempts for an email within a time window, ignoring those before a later successful login.
      */
-    @Query("SELECT COUNT(la) FROM LoginAttempt la WHERE la.email = :email AND la.successful = false AND la.attemptedAt > :since")
+    @Query("""
+        SELECT COUNT(la) FROM LoginAttempt la
+        WHERE la.email = :email AND la.successful = false AND la.attemptedAt > :since
+        AND NOT EXISTS (
+            SELECT 1 FROM LoginAttempt s
+            WHERE s.email = :email AND s.successful = true AND s.attemptedAt > la.attemptedAt
+        )
+        """)
     long countFailedAttemptsSince(String email, Instant since);
 
     /**
@@ -32,7 +39,7 @@ public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, UUID
     int deleteAttemptsOlderThan(Instant before);
 
     /**
-     * Delete all attempts for an email (on successful login or password reset).
+     * Delete all attempts for an email (on password reset).
      */
     @Modifying
     @Query("DELETE FROM LoginAttempt la WHERE la.email = :email")
@@ -0,0 +1,61 @@
+package io.froebel.backend.repository;
+
+import io.froebel.backend.model.entity.QuestionItemStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface QuestionItemStatRepository extends JpaRepository<QuestionItemStat, UUID> {
+
+    List<QuestionItemStat> findByQuizIdAndQuizVersionNumber(UUID quizId, Integer quizVersionNumber);
+
+    @Modifying
+    @Query("DELETE FROM QuestionItemStat s WHERE s.quiz.id = :quizId AND s.quizVersionNumber = :versionNumber")
+    int deleteByQuizIdAndVersionNumber(@Param("quizId") UUID quizId, @Param("versionNumber") Integer versionNumber);
+
+    /**
+     * Find (quiz_id, version) pairs with attempts completed by transaction {@code sinceXid} (the job watermark)
+     * or later and not covered by the version's last analysis run. Unversioned legacy attempts are grouped
+     * under version 0.
+     */
+    @Query(value = """
+        SELECT DISTINCT a.quiz_id, COALESCE(a.quiz_version_number, 0) AS version_number
+        FROM quiz_attempt a
+        LEFT JOIN item_analysis_run r
+            ON r.quiz_id = a.quiz_id AND r.quiz_version_number = COALESCE(a.quiz_version_number, 0)
+        WHERE a.completed_xid >= :sinceXid
+          AND (r.analysed_xmin IS NULL OR a.completed_xid >= r.analysed_xmin)
+        """, nativeQuery = true)
+    List<Object[]> findStaleQuizVersions(@Param("sinceXid") long sinceXid);
+
+    /**
+     * Oldest transaction still running. Every attempt completed by an older transaction has committed
+     * (or rolled back) and is visible to statements run from now on.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)", nativeQuery = true)
+    long currentTransactionHorizon();
+
+    /**
+     * Record that a quiz version was analysed, whether or not statistics came out of it.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO item_analysis_run (quiz_id, quiz_version_number, computed_at, analysed_xmin)
+        VALUES (:quizId, :versionNumber, :computedAt, :analysedXmin)
+        ON CONFLICT (quiz_id, quiz_version_number)
+            DO UPDATE SET computed_at = EXCLUDED.computed_at, analysed_xmin = EXCLUDED.analysed_xmin
+        """, nativeQuery = true)
+    int upsertAnalysisRun(
+        @Param("quizId") UUID quizId,
+        @Param("versionNumber") int versionNumber,
+        @Param("computedAt") Instant computedAt,
+        @Param("analysedXmin") long analysedXmin
+    );
+}
@@ -1,14 +1,19 @@
 package io.froebel.backend.repository;
 
 import io.froebel.backend.model.entity.QuizAnswer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuizAnswerRepository extends JpaRepository<QuizAnswer, UUID> {
@@ -17,6 +22,9 @@ public interface QuizAnswerRepository extends JpaRepository<QuizAnswer, UUID> {
 
     List<QuizAnswer> findByAttemptIdOrderByAnsweredAtAsc(UUID attemptId);
 
+    // Answers are never older than their attempt; the lower bound prunes earlier answered_at partitions
+    List<QuizAnswer> findByAttemptIdAndAnsweredAtGreaterThanEqualOrderByAnsweredAtAsc(UUID attemptId, Instant startedAt);
+
     Optional<QuizAnswer> findByAttemptIdAndQuestionId(UUID attemptId, UUID questionId);
 
     void deleteByAttemptId(UUID attemptId);
@@ -36,4 +44,30 @@ public interface QuizAnswerRepository extends JpaRepository<QuizAnswer, UUID> {
         GROUP BY qa.question.id
         """)
     List<Object[]> findQuestionStatsByQuizId(@Param("quizId") UUID quizId);
+
+    /**
+     * Stream every answer of completed attempts for one quiz version, joined with the attempt percentage.
+     * Row: [question_id, is_correct, selection (JSON text of 'selected' or 'answer'), attempt percentage].
+     * Must be consumed inside a transaction and closed by the caller.
+     * {@code since} (the version's publish time) bounds both partitioned tables.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = """
+        SELECT qa.question_id,
+               qa.is_correct,
+               CAST(COALESCE(qa.answer_data -> 'selected', qa.answer_data -> 'answer') AS text),
+               a.percentage
+        FROM quiz_answer qa
+        JOIN quiz_attempt a ON a.id = qa.attempt_id
+        WHERE a.quiz_id = :quizId
+          AND COALESCE(a.quiz_version_number, 0) = :versionNumber
+          AND a.completed_at IS NOT NULL
+          AND a.started_at >= :since
+          AND qa.answered_at >= :since
+        """, nativeQuery = true)
+    Stream<Object[]> streamItemResponses(
+        @Param("quizId") UUID quizId,
+        @Param("versionNumber") int versionNumber,
+        @Param("since") Instant since
+    );
 }
@@ -92,11 +92,59 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, UUID>
                COUNT(*) as attempt_count,
                COUNT(completed_at) as completed_count,
                AVG(CASE WHEN completed_at IS NOT NULL THEN percentage END) as avg_score
-        FROM quiz_attempts
+        FROM quiz_attempt
         WHERE quiz_id = :quizId
           AND started_at >= :startDate
         GROUP BY DATE(started_at)
         ORDER BY date ASC
         """, nativeQuery = true)
     List<Object[]> findDailyAttemptStats(@Param("quizId") UUID quizId, @Param("startDate") Instant startDate);
+
+    /**
+     * Completed attempt count plus the 27th and 73rd percentile of percentage for one quiz version.
+     * Used as the lower/upper group cutoffs of the item discrimination index.
+     * {@code since} (the version's publish time) lets the planner skip older started_at partitions.
+     */
+    @Query(value = """
+        SELECT COUNT(*),
+               percentile_cont(0.27) WITHIN GROUP (ORDER BY percentage),
+               percentile_cont(0.73) WITHIN GROUP (ORDER BY percentage)
+        FROM quiz_attempt
+        WHERE quiz_id = :quizId
+          AND COALESCE(quiz_version_number, 0) = :versionNumber
+          AND completed_at IS NOT NULL
+          AND started_at >= :since
+        """, nativeQuery = true)
+    List<Object[]> findScoreCutoffsByQuizVersion(
+        @Param("quizId") UUID quizId,
+        @Param("versionNumber") int versionNumber,
+        @Param("since") Instant since
+    );
+
+    // ==================== Creator Portfolio Analytics ====================
+
+    /**
+     * Per-quiz attempt aggregates for all quizzes of a creator in one grouped query.
+     * Row: [quizId, title, shareableId, status, totalAttempts, completedAttempts, passedAttempts,
+     * averageScore, averageTimeSeconds, createdAt].
+     * Sort with {@link org.springframework.data.jpa.domain.JpaSort#unsafe} expressions over aliases q and a.
+     */
+    @Query(value = """
+        SELECT q.id,
+               q.title,
+               q.shareableId,
+               q.status,
+               COUNT(a),
+               COUNT(a.completedAt),
+               SUM(CASE WHEN a.completedAt IS NOT NULL AND a.passed = true THEN 1 ELSE 0 END),
+               AVG(CASE WHEN a.completedAt IS NOT NULL THEN a.percentage END),
+               AVG(CASE WHEN a.completedAt IS NOT NULL THEN a.timeTakenSeconds END),
+               q.createdAt
+        FROM Quiz q
+        LEFT JOIN q.attempts a
+        WHERE q.creator.id = :creatorId
+        GROUP BY q.id, q.title, q.shareableId, q.status, q.createdAt
+        """,
+        countQuery = "SELECT COUNT(q) FROM Quiz q WHERE q.creator.id = :creatorId")
+    Page<Object[]> findCreatorQuizStats(@Param("creatorId") UUID creatorId, Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package io.froebel.backend.repository;
 
 import io.froebel.backend.model.entity.QuizHistory;
+import io.froebel.backend.quiz.dto.PublishedQuizSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -49,10 +50,14 @@ public interface QuizHistoryRepository extends JpaRepository<QuizHistory, UUID>
     void deleteByQuizId(UUID quizId);
 
     /**
-     * Batch fetch published snapshots for multiple quizzes.
-     * Returns history entries where versionNumber matches the quiz's publishedVersionNumber.
-     * Uses JOIN FETCH to eagerly load quiz to avoid N+1 queries when mapping results.
+     * Batch fetch the listing summary of the published version for multiple quizzes.
+     * Reads only the summary columns, never the snapshot JSONB.
      */
-    @Query("SELECT h FROM QuizHistory h JOIN FETCH h.quiz WHERE h.quiz.id IN :quizIds AND h.versionNumber = h.quiz.publishedVersionNumber")
-    List<QuizHistory> findPublishedSnapshotsByQuizIds(@Param("quizIds") Collection<UUID> quizIds);
+    @Query("SELECT new io.froebel.backend.quiz.dto.PublishedQuizSummary(" +
+        "q.id, h.summaryTitle, h.summaryDescription, h.questionCount, h.totalPoints, " +
+        "h.timeLimit, h.passingScore, h.maxAttempts, h.isPublic, h.allowAnonymous, " +
+        "h.categoryId, h.courseId, h.tagNames, h.availableFrom, h.availableUntil, h.resultsVisibleFrom) " +
+        "FROM QuizHistory h JOIN h.quiz q " +
+        "WHERE q.id IN :quizIds AND h.versionNumber = q.publishedVersionNumber")
+    List<PublishedQuizSummary> findPublishedSummariesByQuizIds(@Param("quizIds") Collection<UUID> quizIds);
 }
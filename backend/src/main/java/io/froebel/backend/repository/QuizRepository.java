@@ -3,22 +3,46 @@ package io.froebel.backend.repository;
 import io.froebel.backend.model.entity.Quiz;
 import io.froebel.backend.model.entity.User;
 import io.froebel.backend.model.enums.QuizStatus;
+import io.froebel.backend.quiz.dto.OwnedQuizListing;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface QuizRepository extends JpaRepository<Quiz, UUID> {
+public interface QuizRepository extends JpaRepository<Quiz, UUID>, JpaSpecificationExecutor<Quiz> {
+
+    // Keyset sort value of a full-text match: the chosen column as a double, or the relevance rank
+    String MATCH_SORT_VALUE = """
+        CASE CAST(:sortBy AS text)
+            WHEN 'popular' THEN q.popularity_score
+            WHEN 'updated' THEN CAST(EXTRACT(EPOCH FROM q.updated_at) AS double precision)
+            WHEN 'newest' THEN CAST(EXTRACT(EPOCH FROM q.created_at) AS double precision)
+            ELSE CAST(ts_rank(q.search_vector, websearch_to_tsquery('english', :query)) AS double precision)
+        END""";
+
+    String MATCH_FILTERS = """
+        WHERE q.status = 'PUBLISHED' AND q.is_public = true
+          AND q.search_vector @@ websearch_to_tsquery('english', :query)
+          AND (CAST(:categoryId AS uuid) IS NULL OR q.category_id = :categoryId)
+          AND (CAST(:tagIds AS uuid[]) IS NULL OR q.id IN (
+              SELECT qt.quiz_id FROM quiz_tag qt WHERE qt.tag_id = ANY(:tagIds)
+              GROUP BY qt.quiz_id HAVING COUNT(*) >= :requiredTagMatches))
+        """;
+
+    String MATCH_AFTER_CURSOR = "AND (CAST(:afterValue AS double precision) IS NULL OR "
+        + MATCH_SORT_VALUE + " < CAST(:afterValue AS double precision) OR ("
+        + MATCH_SORT_VALUE + " = CAST(:afterValue AS double precision) AND q.id > CAST(:afterId AS uuid)))\n";
 
     List<Quiz> findByCreator(User creator);
 
@@ -26,6 +50,28 @@ public interface QuizRepository extends JpaRepository<Quiz, UUID> {
 
     Page<Quiz> findByCreatorId(UUID creatorId, Pageable pageable);
 
+    /**
+     * Owner's dashboard listing. Question count and total points are aggregated by subquery,
+     * so neither questions nor the creator entity are loaded.
+     */
+    @Query(value = "SELECT new io.froebel.backend.quiz.dto.OwnedQuizListing(" +
+        "q.id, q.shareableId, q.title, q.description, c.id, c.displayName, c.email, " +
+        "co.id, ca.id, q.status, q.isPublic, q.allowAnonymous, " +
+        "q.timeLimit, q.passingScore, q.maxAttempts, " +
+        "(SELECT COUNT(qu) FROM Question qu WHERE qu.quiz = q), " +
+        "(SELECT COALESCE(SUM(COALESCE(qu.points, 1)), 0L) FROM Question qu WHERE qu.quiz = q), " +
+        "q.createdAt, q.updatedAt, q.availableFrom, q.availableUntil, q.resultsVisibleFrom) " +
+        "FROM Quiz q JOIN q.creator c LEFT JOIN q.course co LEFT JOIN q.category ca " +
+        "WHERE c.id = :creatorId",
+        countQuery = "SELECT COUNT(q) FROM Quiz q WHERE q.creator.id = :creatorId")
+    Page<OwnedQuizListing> findOwnedListingsByCreatorId(@Param("creatorId") UUID creatorId, Pageable pageable);
+
+    /**
+     * Tag names of several quizzes as [quizId, tagName] rows.
+     */
+    @Query("SELECT q.id, t.name FROM Quiz q JOIN q.tags t WHERE q.id IN :quizIds")
+    List<Object[]> findTagNamesByQuizIds(@Param("quizIds") Collection<UUID> quizIds);
+
     Optional<Quiz> findByIdAndCreatorId(UUID id, UUID creatorId);
 
     List<Quiz> findByCourseId(UUID courseId);
@@ -39,25 +85,163 @@ public interface QuizRepository extends JpaRepository<Quiz, UUID> {
 
     long countByCreatorId(UUID creatorId);
 
-    // Search public quizzes by title or description (case-insensitive)
-    @Query("SELECT q FROM Quiz q WHERE q.status = :status AND q.isPublic = true " +
-        "AND (LOWER(q.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-        "OR LOWER(q.description) LIKE LOWER(CONCAT('%', :query, '%')))")
-    Page<Quiz> searchPublicQuizzes(@Param("status") QuizStatus status, @Param("query") String query, Pageable pageable);
+    // Full-text search of public quizzes ranked by weighted relevance (title > description > tags)
+    @Query(value = """
+        SELECT q.* FROM quiz q
+        WHERE q.status = 'PUBLISHED' AND q.is_public = true
+          AND q.search_vector @@ websearch_to_tsquery('english', :query)
+        ORDER BY ts_rank(q.search_vector, websearch_to_tsquery('english', :query)) DESC, q.id
+        """,
+        countQuery = """
+        SELECT COUNT(*) FROM quiz q
+        WHERE q.status = 'PUBLISHED' AND q.is_public = true
+          AND q.search_vector @@ websearch_to_tsquery('english', :query)
+        """,
+        nativeQuery = true)
+    Page<Quiz> searchPublicQuizzes(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Typo-tolerant title match for the quick-search dropdown, most similar first.
+     * The match threshold is pg_trgm.word_similarity_threshold of the current transaction.
+     */
+    @Query(value = """
+        SELECT q.* FROM quiz q
+        WHERE q.status = 'PUBLISHED' AND q.is_public = true
+          AND :query <% q.title
+        ORDER BY word_similarity(:query, q.title) DESC, q.popularity_score DESC, q.id
+        LIMIT :limit
+        """,
+        nativeQuery = true)
+    List<Quiz> quickSearchPublicQuizzes(@Param("query") String query, @Param("limit") int limit);
+
+    // Number of quick-search matches, counting no further than :cap
+    @Query(value = """
+        SELECT COUNT(*) FROM (
+            SELECT 1 FROM quiz q
+            WHERE q.status = 'PUBLISHED' AND q.is_public = true
+              AND :query <% q.title
+            LIMIT :cap) capped
+        """,
+        nativeQuery = true)
+    long countQuickSearchPublicQuizzes(@Param("query") String query, @Param("cap") int cap);
+
+    /**
+     * Full-text search of public quizzes with optional category/tag filters.
+     * sortBy "popular", "updated" or "newest" orders by that column first; anything else orders by relevance.
+     * Pass an unsorted Pageable - ordering is fixed by the query.
+     */
+    @Query(value = """
+        SELECT q.* FROM quiz q
+        WHERE q.status = 'PUBLISHED' AND q.is_public = true
+          AND q.search_vector @@ websearch_to_tsquery('english', :query)
+          AND (CAST(:categoryId AS uuid) IS NULL OR q.category_id = :categoryId)
+          AND (CAST(:tagIds AS uuid[]) IS NULL OR q.id IN (
+              SELECT qt.quiz_id FROM quiz_tag qt WHERE qt.tag_id = ANY(:tagIds)
+              GROUP BY qt.quiz_id HAVING COUNT(*) >= :requiredTagMatches))
+        ORDER BY CASE WHEN :sortBy = 'popular' THEN q.popularity_score END DESC NULLS LAST,
+                 CASE WHEN :sortBy = 'updated' THEN q.updated_at END DESC NULLS LAST,
+                 CASE WHEN :sortBy = 'newest' THEN q.created_at END DESC NULLS LAST,
+                 ts_rank(q.search_vector, websearch_to_tsquery('english', :query)) DESC,
+                 q.id
+        """,
+        countQuery = """
+        SELECT COUNT(*) FROM quiz q
+        WHERE q.status = 'PUBLISHED' AND q.is_public = true
+          AND q.search_vector @@ websearch_to_tsquery('english', :query)
+          AND (CAST(:categoryId AS uuid) IS NULL OR q.category_id = :categoryId)
+          AND (CAST(:tagIds AS uuid[]) IS NULL OR q.id IN (
+              SELECT qt.quiz_id FROM quiz_tag qt WHERE qt.tag_id = ANY(:tagIds)
+              GROUP BY qt.quiz_id HAVING COUNT(*) >= :requiredTagMatches))
+        """,
+        nativeQuery = true)
+    Page<Quiz> searchPublicQuizzesWithFilters(
+        @Param("query") String query,
+        @Param("categoryId") UUID categoryId,
+        @Param("tagIds") UUID[] tagIds,
+        @Param("requiredTagMatches") int requiredTagMatches,
+        @Param("sortBy") String sortBy,
+        Pageable pageable);
 
-    // Search public quizzes with optional filters (category, tags, search)
-    @Query("SELECT DISTINCT q FROM Quiz q " +
-        "LEFT JOIN q.tags t " +
+    /**
+     * Keyset slice of full-text matches with optional category/tag filters: rows after
+     * (afterValue, afterId) ordered by sort value descending, then ID. Pass null afterValue/afterId
+     * for the first slice.
+     *
+     * @return [id, sort value] pairs; load the entities with findAllById
+     */
+    @Query(value = "SELECT q.id, " + MATCH_SORT_VALUE + " AS sort_value FROM quiz q "
+        + MATCH_FILTERS + MATCH_AFTER_CURSOR + "ORDER BY sort_value DESC, q.id LIMIT :limit",
+        nativeQuery = true)
+    List<Object[]> scrollPublicQuizMatches(
+        @Param("query") String query,
+        @Param("categoryId") UUID categoryId,
+        @Param("tagIds") UUID[] tagIds,
+        @Param("requiredTagMatches") int requiredTagMatches,
+        @Param("sortBy") String sortBy,
+        @Param("afterValue") Double afterValue,
+        @Param("afterId") UUID afterId,
+        @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM quiz q " + MATCH_FILTERS, nativeQuery = true)
+    long countPublicQuizMatches(
+        @Param("query") String query,
+        @Param("categoryId") UUID categoryId,
+        @Param("tagIds") UUID[] tagIds,
+        @Param("requiredTagMatches") int requiredTagMatches);
+
+    /**
+     * Facet counts of public quizzes matching the optional search text and category/tag filters,
+     * aggregated in one pass with GROUPING SETS.
+     *
+     * @return [facet ("category", "tag" or "total"), value (category ID or tag slug), label, count] rows
+     */
+    @Query(value = """
+        WITH matches AS (
+            SELECT q.id, q.category_id FROM quiz q
+            WHERE q.status = 'PUBLISHED' AND q.is_public = true
+              AND (CAST(:query AS text) IS NULL OR q.search_vector @@ websearch_to_tsquery('english', :query))
+              AND (CAST(:categoryId AS uuid) IS NULL OR q.category_id = :categoryId)
+              AND (CAST(:tagIds AS uuid[]) IS NULL OR q.id IN (
+                  SELECT qt.quiz_id FROM quiz_tag qt WHERE qt.tag_id = ANY(:tagIds)
+                  GROUP BY qt.quiz_id HAVING COUNT(*) >= :requiredTagMatches))
+        ),
+        facets AS (
+            SELECT CASE WHEN GROUPING(c.id) = 0 THEN 'category'
+                        WHEN GROUPING(t.slug) = 0 THEN 'tag'
+                        ELSE 'total' END AS facet,
+                   CASE WHEN GROUPING(c.id) = 0 THEN CAST(c.id AS text) ELSE t.slug END AS value,
+                   CASE WHEN GROUPING(c.id) = 0 THEN c.name ELSE t.name END AS label,
+                   COUNT(DISTINCT m.id) AS hits
+            FROM matches m
+            LEFT JOIN category c ON c.id = m.category_id
+            LEFT JOIN quiz_tag qt ON qt.quiz_id = m.id
+            LEFT JOIN tag t ON t.id = qt.tag_id
+            GROUP BY GROUPING SETS ((c.id, c.name), (t.slug, t.name), ())
+        )
+        SELECT facet, value, label, hits FROM facets
+        WHERE facet = 'total' OR value IS NOT NULL
+        ORDER BY facet, hits DESC, label
+        """,
+        nativeQuery = true)
+    List<Object[]> findPublicQuizFacets(
+        @Param("query") String query,
+        @Param("categoryId") UUID categoryId,
+        @Param("tagIds") UUID[] tagIds,
+        @Param("requiredTagMatches") int requiredTagMatches);
+
+    // Browse public quizzes with optional filters (category, tags) when there is no search text.
+    // Tags are a semi-join on resolved tag IDs: requiredTagMatches is 1 for any tag, the tag count for all tags
+    @Query("SELECT q FROM Quiz q " +
         "WHERE q.status = :status AND q.isPublic = true " +
-        "AND (:query IS NULL OR :query = '' OR LOWER(q.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-        "    OR LOWER(q.description) LIKE LOWER(CONCAT('%', :query, '%'))) " +
         "AND (:categoryId IS NULL OR q.category.id = :categoryId) " +
-        "AND (:tagSlugs IS NULL OR t.slug IN :tagSlugs)")
-    Page<Quiz> searchPublicQuizzesWithFilters(
+        "AND (:tagIds IS NULL OR q.id IN (" +
+        "    SELECT tq.id FROM Quiz tq JOIN tq.tags t WHERE t.id IN :tagIds " +
+        "    GROUP BY tq.id HAVING COUNT(t) >= :requiredTagMatches))")
+    Page<Quiz> findPublicQuizzesWithFilters(
         @Param("status") QuizStatus status,
-        @Param("query") String query,
         @Param("categoryId") UUID categoryId,
-        @Param("tagSlugs") Set<String> tagSlugs,
+        @Param("tagIds") List<UUID> tagIds,
+        @Param("requiredTagMatches") long requiredTagMatches,
         Pageable pageable);
 
     // Find public quizzes by category
@@ -0,0 +1,34 @@
+package io.froebel.backend.repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Catalog tag filter with slugs resolved to tag IDs up front, so listings can semi-join the tag
+ * link tables on their keys instead of joining tag to compare slugs. A row matches when it carries
+ * at least requiredMatches of the tags: 1 for any-tag, the number of requested tags for all-tags.
+ * Unknown slugs stay counted in all-tags mode, so such a filter matches nothing.
+ *
+ * @param tagIds null when the listing is not filtered by tag
+ */
+public record TagFilter(List<UUID> tagIds, int requiredMatches) {
+
+    public static final TagFilter NONE = new TagFilter(null, 0);
+
+    public static TagFilter resolve(Set<String> tagSlugs, boolean matchAll, TagRepository tagRepository) {
+        if (tagSlugs == null || tagSlugs.isEmpty()) {
+            return NONE;
+        }
+        return new TagFilter(tagRepository.findIdsBySlugIn(tagSlugs), matchAll ? tagSlugs.size() : 1);
+    }
+
+    public boolean isActive() {
+        return tagIds != null;
+    }
+
+    // Native queries bind the IDs as a uuid[]
+    public UUID[] tagIdArray() {
+        return tagIds != null ? tagIds.toArray(UUID[]::new) : null;
+    }
+}
@@ -2,8 +2,12 @@ package io.froebel.backend.repository;
 
 import io.froebel.backend.model.entity.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -16,4 +20,7 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
     Optional<Tag> findBySlug(String slug);
 
     Set<Tag> findByNameIn(Set<String> names);
+
+    @Query("SELECT t.id FROM Tag t WHERE t.slug IN :slugs")
+    List<UUID> findIdsBySlugIn(@Param("slugs") Collection<String> slugs);
 }
@@ -2,7 +2,11 @@ package io.froebel.backend.repository;
 
 import io.froebel.backend.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -17,4 +21,29 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmailVerificationToken(String token);
 
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
+
+    /**
+     * Lowest BCrypt cost among stored password hashes ({@code $2a$10$...}), or null when no user has a password.
+     */
+    @Query(value = """
+        SELECT MIN(CAST(SUBSTRING(password FROM 5 FOR 2) AS INTEGER))
+        FROM "user"
+        WHERE password LIKE '$2_$%'
+        """, nativeQuery = true)
+    Integer findLowestBcryptCost();
+
+    /**
+     * Replace the password hash only if it is still the one the caller read, so a password changed
+     * or reset meanwhile is not overwritten. Touches no other column.
+     *
+     * @return 1 if replaced, 0 if the hash had changed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePasswordIfUnchanged(
+        @Param("id") UUID id,
+        @Param("oldPassword") String oldPassword,
+        @Param("newPassword") String newPassword
+    );
 }
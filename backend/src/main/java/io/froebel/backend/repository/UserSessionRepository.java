@@ -20,6 +20,9 @@ public interface UserSessionRepository extends JpaRepository<UserSession, UUID>
 
     Optional<UserSession> findByRefreshTokenId(UUID refreshTokenId);
 
+    @Query("SELECT s.id FROM UserSession s WHERE s.user.id = :userId AND s.id != :currentSessionId AND s.revokedAt IS NULL")
+    List<UUID> findActiveSessionIdsExcept(UUID userId, UUID currentSessionId);
+
     @Modifying
     @Query("UPDATE UserSession s SET s.revokedAt = :revokedAt WHERE s.user.id = :userId AND s.id != :currentSessionId AND s.revokedAt IS NULL")
     int revokeAllOtherSessions(UUID userId, UUID currentSessionId, Instant revokedAt);
@@ -28,9 +31,5 @@ public interface UserSessionRepository extends JpaRepository<UserSession, UUID>
     @Query("UPDATE UserSession s SET s.revokedAt = :revokedAt WHERE s.user.id = :userId AND s.revokedAt IS NULL")
     int revokeAllUserSessions(UUID userId, Instant revokedAt);
 
-    @Modifying
-    @Query("UPDATE UserSession s SET s.lastActiveAt = :lastActiveAt WHERE s.id = :sessionId")
-    int updateLastActiveAt(UUID sessionId, Instant lastActiveAt);
-
     long countByUserIdAndRevokedAtIsNull(UUID userId);
 }
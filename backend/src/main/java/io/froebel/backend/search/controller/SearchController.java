@@ -1,29 +1,38 @@
 package io.froebel.backend.search.controller;
 
+import io.froebel.backend.course.dto.response.PublicCourseResponse;
+import io.froebel.backend.model.enums.Difficulty;
+import io.froebel.backend.quiz.dto.response.QuizSummaryResponse;
+import io.froebel.backend.search.dto.FacetedSearchResponse;
 import io.froebel.backend.search.dto.SearchCourseItem;
 import io.froebel.backend.search.dto.SearchQuizItem;
 import io.froebel.backend.search.dto.SearchResultDTO;
+import io.froebel.backend.search.service.FacetedSearchService;
 import io.froebel.backend.search.service.SearchService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/search")
 public class SearchController {
 
     private final SearchService searchService;
+    private final FacetedSearchService facetedSearchService;
 
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, FacetedSearchService facetedSearchService) {
         this.searchService = searchService;
+        this.facetedSearchService = facetedSearchService;
     }
 
     /**
@@ -36,19 +45,19 @@ public class SearchController {
         @RequestParam(defaultValue = "5") int limit
     ) {
         if (query == null || query.trim().isEmpty()) {
-            return ResponseEntity.ok(new SearchResultDTO(List.of(), List.of(), 0, 0));
+            return ResponseEntity.ok(SearchResultDTO.of(List.of(), List.of(), 0, 0));
         }
         return ResponseEntity.ok(searchService.quickSearch(query.trim(), Math.min(limit, 10)));
     }
 
     /**
-     * Full quiz search for /search page
+     * Full quiz search for /search page, ordered by relevance
      * GET /api/v1/search/quizzes?q=query&page=0&size=12
      */
     @GetMapping("/quizzes")
     public ResponseEntity<Page<SearchQuizItem>> searchQuizzes(
         @RequestParam("q") String query,
-        @PageableDefault(size = 12, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+        @PageableDefault(size = 12) Pageable pageable
     ) {
         if (query == null || query.trim().isEmpty()) {
             return ResponseEntity.ok(Page.empty(pageable));
@@ -57,17 +66,64 @@ public class SearchController {
     }
 
     /**
-     * Full course search for /search page
+     * Full course search for /search page, ordered by relevance
      * GET /api/v1/search/courses?q=query&page=0&size=12
      */
     @GetMapping("/courses")
     public ResponseEntity<Page<SearchCourseItem>> searchCourses(
         @RequestParam("q") String query,
-        @PageableDefault(size = 12, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+        @PageableDefault(size = 12) Pageable pageable
     ) {
         if (query == null || query.trim().isEmpty()) {
             return ResponseEntity.ok(Page.empty(pageable));
         }
         return ResponseEntity.ok(searchService.searchCourses(query.trim(), pageable));
     }
+
+    /**
+     * Quizzes similar to the given one, best match first
+     * GET /api/v1/search/quizzes/{quizId}/similar?limit=6
+     */
+    @GetMapping("/quizzes/{quizId}/similar")
+    public ResponseEntity<List<SearchQuizItem>> similarQuizzes(
+        @PathVariable UUID quizId,
+        @RequestParam(defaultValue = "6") int limit
+    ) {
+        return ResponseEntity.ok(searchService.findSimilarQuizzes(quizId, Math.max(1, Math.min(limit, 20))));
+    }
+
+    /**
+     * Quiz search with category and tag counts for the filter sidebar
+     * GET /api/v1/search/quizzes/faceted?q=query&categoryId=...&tags=a,b&sortBy=relevance&size=12
+     */
+    @GetMapping("/quizzes/faceted")
+    public ResponseEntity<FacetedSearchResponse<QuizSummaryResponse>> facetedQuizSearch(
+        @RequestParam(value = "q", required = false) String query,
+        @RequestParam(required = false) UUID categoryId,
+        @RequestParam(required = false) Set<String> tags,
+        @RequestParam(defaultValue = "false") boolean matchAllTags,
+        @RequestParam(defaultValue = "relevance") String sortBy,
+        @RequestParam(defaultValue = "12") int size
+    ) {
+        return ResponseEntity.ok(facetedSearchService.searchQuizzes(
+            query, categoryId, tags, matchAllTags, sortBy, Math.max(1, Math.min(size, 100))));
+    }
+
+    /**
+     * Course search with category, difficulty and tag counts for the filter sidebar
+     * GET /api/v1/search/courses/faceted?q=query&difficulty=BEGINNER&sortBy=relevance&size=12
+     */
+    @GetMapping("/courses/faceted")
+    public ResponseEntity<FacetedSearchResponse<PublicCourseResponse>> facetedCourseSearch(
+        @RequestParam(value = "q", required = false) String query,
+        @RequestParam(required = false) UUID categoryId,
+        @RequestParam(required = false) Difficulty difficulty,
+        @RequestParam(required = false) Set<String> tags,
+        @RequestParam(defaultValue = "false") boolean matchAllTags,
+        @RequestParam(defaultValue = "relevance") String sortBy,
+        @RequestParam(defaultValue = "12") int size
+    ) {
+        return ResponseEntity.ok(facetedSearchService.searchCourses(
+            query, categoryId, difficulty, tags, matchAllTags, sortBy, Math.max(1, Math.min(size, 100))));
+    }
 }
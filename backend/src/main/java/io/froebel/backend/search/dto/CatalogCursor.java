@@ -0,0 +1,61 @@
+package io.froebel.backend.search.dto;
+
+import io.froebel.backend.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last row of a catalog slice: the ordering it belongs to, the sort key of that
+ * row and its ID as tiebreaker. Encoded as opaque base64url so clients treat it as a token.
+ */
+public record CatalogCursor(String ordering, String value, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = ordering + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant instantValue() {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public double doubleValue() {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Decode a client cursor, which must have been issued for the same ordering.
+     *
+     * @return null when no cursor was given (first slice)
+     */
+    public static CatalogCursor decode(String cursor, String expectedOrdering) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last || !raw.substring(0, first).equals(expectedOrdering)) {
+                throw new InvalidRequestException("Cursor does not belong to this listing");
+            }
+            return new CatalogCursor(expectedOrdering, raw.substring(first + 1, last), UUID.fromString(raw.substring(last + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.froebel.backend.search.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated listing.
+ *
+ * @param nextCursor    opaque cursor for the following slice, null on the last slice
+ * @param totalEstimate number of matches, only computed for the first slice when requested
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor,
+    Long totalEstimate
+) {
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor, totalEstimate);
+    }
+}
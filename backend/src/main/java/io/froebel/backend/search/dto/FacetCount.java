@@ -0,0 +1,13 @@
+package io.froebel.backend.search.dto;
+
+/**
+ * Number of results a facet value would return.
+ *
+ * @param value filter value to send back (category ID, tag slug or difficulty)
+ */
+public record FacetCount(
+    String value,
+    String label,
+    long count
+) {
+}
@@ -0,0 +1,17 @@
+package io.froebel.backend.search.dto;
+
+import java.util.List;
+
+/**
+ * First slice of a catalog search with the total and per-facet counts of the whole result set.
+ * Continue with nextCursor on the matching /public/scroll endpoint.
+ */
+public record FacetedSearchResponse<T>(
+    List<T> items,
+    String nextCursor,
+    long total,
+    List<FacetCount> categories,
+    List<FacetCount> tags,
+    List<FacetCount> difficulties
+) {
+}
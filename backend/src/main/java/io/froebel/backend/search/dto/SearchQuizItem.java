@@ -3,8 +3,9 @@ package io.froebel.backend.search.dto;
 import io.froebel.backend.model.entity.Question;
 import io.froebel.backend.model.entity.Quiz;
 import io.froebel.backend.model.entity.Tag;
-import io.froebel.backend.quiz.dto.QuizSnapshot;
+import io.froebel.backend.quiz.dto.PublishedQuizSummary;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -38,24 +39,24 @@ public record SearchQuizItem(
     }
 
     /**
-     * Build a SearchQuizItem from a published snapshot.
+     * Build a SearchQuizItem from the summary of the published version.
      * Used to serve the frozen published version in search results.
      *
-     * @param quiz     The quiz entity (for id, creator)
-     * @param snapshot The published snapshot to serve
+     * @param quiz    The quiz entity (for id, creator)
+     * @param summary The published version's listing summary to serve
      */
-    public static SearchQuizItem fromSnapshot(Quiz quiz, QuizSnapshot snapshot) {
-        // Tags come from snapshot if available, otherwise from entity
-        Set<String> tagNames = snapshot.tagNames() != null ? snapshot.tagNames() :
+    public static SearchQuizItem fromPublishedSummary(Quiz quiz, PublishedQuizSummary summary) {
+        // Tags come from the published version if captured, otherwise from entity
+        Set<String> tagNames = summary.tagNames() != null ? Set.copyOf(Arrays.asList(summary.tagNames())) :
             quiz.getTags().stream().map(Tag::getName).collect(Collectors.toSet());
 
         return new SearchQuizItem(
             quiz.getId(),
-            snapshot.title(),
-            snapshot.description(),
+            summary.title(),
+            summary.description(),
             quiz.getCreator().getDisplayName(),
-            snapshot.questions().size(),
-            snapshot.settings().timeLimit(),
+            summary.questionCount(),
+            summary.timeLimit(),
             tagNames
         );
     }
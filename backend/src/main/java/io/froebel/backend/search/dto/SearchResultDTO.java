@@ -2,10 +2,32 @@ package io.froebel.backend.search.dto;
 
 import java.util.List;
 
+/**
+ * Quick-search dropdown results. Totals are counted no further than {@link #TOTAL_CAP};
+ * totalsCapped is set when either one reached it, to be shown as e.g. "100+".
+ */
 public record SearchResultDTO(
     List<SearchQuizItem> quizzes,
     List<SearchCourseItem> courses,
     int totalQuizzes,
-    int totalCourses
+    int totalCourses,
+    boolean totalsCapped
 ) {
+
+    public static final int TOTAL_CAP = 100;
+
+    public static SearchResultDTO of(
+        List<SearchQuizItem> quizzes,
+        List<SearchCourseItem> courses,
+        long totalQuizzes,
+        long totalCourses
+    ) {
+        return new SearchResultDTO(
+            quizzes,
+            courses,
+            (int) Math.min(totalQuizzes, TOTAL_CAP),
+            (int) Math.min(totalCourses, TOTAL_CAP),
+            totalQuizzes >= TOTAL_CAP || totalCourses >= TOTAL_CAP
+        );
+    }
 }
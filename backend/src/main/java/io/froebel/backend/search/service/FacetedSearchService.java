@@ -0,0 +1,117 @@
+package io.froebel.backend.search.service;
+
+import io.froebel.backend.course.dto.response.PublicCourseResponse;
+import io.froebel.backend.course.service.CourseService;
+import io.froebel.backend.model.enums.Difficulty;
+import io.froebel.backend.quiz.dto.response.QuizSummaryResponse;
+import io.froebel.backend.quiz.service.QuizService;
+import io.froebel.backend.repository.CourseRepository;
+import io.froebel.backend.repository.QuizRepository;
+import io.froebel.backend.repository.TagFilter;
+import io.froebel.backend.repository.TagRepository;
+import io.froebel.backend.search.dto.CursorPage;
+import io.froebel.backend.search.dto.FacetCount;
+import io.froebel.backend.search.dto.FacetedSearchResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Catalog search returning the first slice of hits together with category, tag and difficulty
+ * counts. All facet counts come from a single GROUPING SETS query, however many values exist.
+ */
+@Service
+@Transactional(readOnly = true)
+public class FacetedSearchService {
+
+    private final QuizService quizService;
+    private final CourseService courseService;
+    private final QuizRepository quizRepository;
+    private final CourseRepository courseRepository;
+    private final TagRepository tagRepository;
+
+    public FacetedSearchService(
+        QuizService quizService,
+        CourseService courseService,
+        QuizRepository quizRepository,
+        CourseRepository courseRepository,
+        TagRepository tagRepository) {
+        this.quizService = quizService;
+        this.courseService = courseService;
+        this.quizRepository = quizRepository;
+        this.courseRepository = courseRepository;
+        this.tagRepository = tagRepository;
+    }
+
+    public FacetedSearchResponse<QuizSummaryResponse> searchQuizzes(
+        String search,
+        UUID categoryId,
+        Set<String> tags,
+        boolean matchAllTags,
+        String sortBy,
+        int size) {
+        String query = search != null && !search.isBlank() ? search.trim() : null;
+        TagFilter tagFilter = TagFilter.resolve(tags, matchAllTags, tagRepository);
+
+        CursorPage<QuizSummaryResponse> hits = quizService.scrollPublicQuizzes(
+            query, categoryId, tags, matchAllTags, sortBy, null, size, false);
+        Facets facets = Facets.from(quizRepository.findPublicQuizFacets(
+            query, categoryId, tagFilter.tagIdArray(), tagFilter.requiredMatches()));
+
+        return new FacetedSearchResponse<>(hits.items(), hits.nextCursor(), facets.total(),
+            facets.values("category"), facets.values("tag"), List.of());
+    }
+
+    public FacetedSearchResponse<PublicCourseResponse> searchCourses(
+        String search,
+        UUID categoryId,
+        Difficulty difficulty,
+        Set<String> tags,
+        boolean matchAllTags,
+        String sortBy,
+        int size) {
+        String query = search != null && !search.isBlank() ? search.trim() : null;
+        String difficultyName = difficulty != null ? difficulty.name() : null;
+        TagFilter tagFilter = TagFilter.resolve(tags, matchAllTags, tagRepository);
+
+        CursorPage<PublicCourseResponse> hits = courseService.scrollPublicCourses(
+            query, categoryId, difficulty, tags, matchAllTags, sortBy, null, size, false);
+        Facets facets = Facets.from(courseRepository.findPublishedCourseFacets(
+            query, categoryId, difficultyName, tagFilter.tagIdArray(), tagFilter.requiredMatches()));
+
+        return new FacetedSearchResponse<>(hits.items(), hits.nextCursor(), facets.total(),
+            facets.values("category"), facets.values("tag"), facets.values("difficulty"));
+    }
+
+    /**
+     * Facet rows grouped by facet name; rows arrive already ordered by count within each facet.
+     */
+    private record Facets(long total, Map<String, List<FacetCount>> byFacet) {
+
+        static Facets from(List<Object[]> rows) {
+            long total = 0;
+            Map<String, List<FacetCount>> byFacet = new HashMap<>();
+            for (Object[] row : rows) {
+                String facet = (String) row[0];
+                long count = ((Number) row[3]).longValue();
+                if ("total".equals(facet)) {
+                    total = count;
+                } else {
+                    byFacet.computeIfAbsent(facet, k -> new ArrayList<>())
+                        .add(new FacetCount((String) row[1], (String) row[2], count));
+                }
+            }
+            return new Facets(total, byFacet);
+        }
+
+        List<FacetCount> values(String facet) {
+            return byFacet.getOrDefault(facet, List.of());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.froebel.backend.search.service;
+
+import io.froebel.backend.util.Hashing;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over string feature sets and their LSH band keys.
+ * Two signatures agree on each position with probability equal to the Jaccard similarity of the
+ * feature sets; with 32 bands of 4 rows, pairs above ~0.4 similarity share a band with high probability.
+ * Seeds are fixed, so signatures stored by one node stay comparable on every other node and across restarts.
+ */
+final class MinHash {
+
+    static final int NUM_HASHES = 128;
+    static final int BANDS = 32;
+    static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+
+    private static final long[] SEEDS = new SplittableRandom(0x9E3779B97F4A7C15L).longs(NUM_HASHES).toArray();
+
+    private MinHash() {
+    }
+
+    /**
+     * @return the signature of the feature set, or null when the set is empty
+     */
+    static int[] signature(Collection<String> features) {
+        if (features.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String feature : features) {
+            long base = Hashing.fnv1a(feature);
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int hash = (int) (Hashing.mix(base ^ SEEDS[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity: the fraction of positions where the signatures agree.
+     */
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    /**
+     * One bucket key per band; the band index is mixed in so equal rows in different bands hash apart.
+     */
+    static long[] bandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS_PER_BAND; row++) {
+                key = key * Hashing.FNV_PRIME + signature[band * ROWS_PER_BAND + row];
+            }
+            keys[band] = Hashing.mix(key);
+        }
+        return keys;
+    }
+
+    static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(NUM_HASHES * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    /**
+     * @return the decoded signature, or null when the stored value does not have the expected length
+     */
+    static int[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != NUM_HASHES * Integer.BYTES) {
+            return null;
+        }
+        int[] signature = new int[NUM_HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+}
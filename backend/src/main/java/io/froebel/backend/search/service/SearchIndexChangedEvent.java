@@ -0,0 +1,23 @@
+package io.froebel.backend.search.service;
+
+import java.util.UUID;
+
+/**
+ * Published when a quiz or course changed in a way that may affect its search entry
+ * (publish state, visibility, title or deletion). Handled after commit by {@link TypeaheadIndexSync}.
+ */
+public record SearchIndexChangedEvent(Kind kind, UUID id) {
+
+    public enum Kind {
+        QUIZ,
+        COURSE
+    }
+
+    public static SearchIndexChangedEvent quiz(UUID quizId) {
+        return new SearchIndexChangedEvent(Kind.QUIZ, quizId);
+    }
+
+    public static SearchIndexChangedEvent course(UUID courseId) {
+        return new SearchIndexChangedEvent(Kind.COURSE, courseId);
+    }
+}
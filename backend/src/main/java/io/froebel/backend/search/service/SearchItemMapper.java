@@ -0,0 +1,64 @@
+package io.froebel.backend.search.service;
+
+import io.froebel.backend.model.entity.Quiz;
+import io.froebel.backend.quiz.dto.PublishedQuizSummary;
+import io.froebel.backend.repository.QuizHistoryRepository;
+import io.froebel.backend.search.dto.SearchQuizItem;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Maps quizzes to search items, serving the published version's summary when available.
+ * Shared by the database-backed search and the in-memory typeahead index.
+ */
+@Component
+public class SearchItemMapper {
+
+    private final QuizHistoryRepository quizHistoryRepository;
+
+    public SearchItemMapper(QuizHistoryRepository quizHistoryRepository) {
+        this.quizHistoryRepository = quizHistoryRepository;
+    }
+
+    /**
+     * Map a list of quizzes to SearchQuizItem using published summaries when available.
+     */
+    public List<SearchQuizItem> toQuizItems(List<Quiz> quizzes) {
+        Map<UUID, PublishedQuizSummary> summaryMap = fetchSummariesForQuizzes(quizzes);
+
+        return quizzes.stream()
+            .map(quiz -> {
+                PublishedQuizSummary summary = summaryMap.get(quiz.getId());
+                if (summary != null) {
+                    return SearchQuizItem.fromPublishedSummary(quiz, summary);
+                }
+                return SearchQuizItem.from(quiz);  // Legacy fallback
+            })
+            .toList();
+    }
+
+    /**
+     * Batch fetch the published version summaries (summary columns only) for a list of quizzes.
+     */
+    private Map<UUID, PublishedQuizSummary> fetchSummariesForQuizzes(List<Quiz> quizzes) {
+        Set<UUID> quizIdsWithPublishedVersion = quizzes.stream()
+            .filter(q -> q.getPublishedVersionNumber() != null)
+            .map(Quiz::getId)
+            .collect(Collectors.toSet());
+
+        if (quizIdsWithPublishedVersion.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return quizHistoryRepository
+            .findPublishedSummariesByQuizIds(quizIdsWithPublishedVersion)
+            .stream()
+            .collect(Collectors.toMap(PublishedQuizSummary::quizId, summary -> summary));
+    }
+}
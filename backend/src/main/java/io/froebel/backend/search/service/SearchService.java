@@ -1,123 +1,162 @@
 package io.froebel.backend.search.service;
 
+import io.froebel.backend.config.AppProperties;
+import io.froebel.backend.config.ReplicaRead;
 import io.froebel.backend.model.entity.Quiz;
-import io.froebel.backend.model.entity.QuizHistory;
-import io.froebel.backend.model.enums.QuizStatus;
-import io.froebel.backend.quiz.dto.QuizSnapshot;
 import io.froebel.backend.repository.CourseRepository;
-import io.froebel.backend.repository.QuizHistoryRepository;
 import io.froebel.backend.repository.QuizRepository;
 import io.froebel.backend.search.dto.SearchCourseItem;
 import io.froebel.backend.search.dto.SearchQuizItem;
 import io.froebel.backend.search.dto.SearchResultDTO;
+import jakarta.annotation.PreDestroy;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+@ReplicaRead
 @Service
+@Transactional(readOnly = true)
 public class SearchService {
 
     private final QuizRepository quizRepository;
-    private final QuizHistoryRepository quizHistoryRepository;
     private final CourseRepository courseRepository;
+    private final SearchItemMapper searchItemMapper;
+    private final TypeaheadIndex typeaheadIndex;
+    private final SimilarQuizIndex similarQuizIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    // One virtual thread per lookup; concurrency is bounded by the connection pool
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
     public SearchService(
         QuizRepository quizRepository,
-        QuizHistoryRepository quizHistoryRepository,
-        CourseRepository courseRepository) {
+        CourseRepository courseRepository,
+        SearchItemMapper searchItemMapper,
+        TypeaheadIndex typeaheadIndex,
+        SimilarQuizIndex similarQuizIndex,
+        JdbcTemplate jdbcTemplate,
+        AppProperties appProperties,
+        PlatformTransactionManager transactionManager) {
         this.quizRepository = quizRepository;
-        this.quizHistoryRepository = quizHistoryRepository;
         this.courseRepository = courseRepository;
+        this.searchItemMapper = searchItemMapper;
+        this.typeaheadIndex = typeaheadIndex;
+        this.similarQuizIndex = similarQuizIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.appProperties = appProperties;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     /**
-     * Quick search for dropdown preview (limited results)
+     * Quick search for dropdown preview (limited results).
+     * Title-prefix matches are served from the in-memory typeahead index; when it has no match
+     * (typically a misspelling) or is not loaded yet, titles are matched by trigram word similarity.
+     * The quiz and course lookups then run concurrently, each in its own read-only transaction.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SearchResultDTO quickSearch(String query, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-
-        var quizPage = quizRepository.searchPublicQuizzes(QuizStatus.PUBLISHED, query, pageable);
-        var coursePage = courseRepository.searchPublishedCourses(query, pageable);
-
-        // Map quizzes with published snapshots
-        List<SearchQuizItem> quizItems = mapQuizzesWithSnapshots(quizPage.getContent());
+        Optional<SearchResultDTO> indexed = typeaheadIndex.search(query, limit);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
 
-        return new SearchResultDTO(
-            quizItems,
-            coursePage.getContent().stream().map(SearchCourseItem::from).toList(),
-            (int) quizPage.getTotalElements(),
-            (int) coursePage.getTotalElements()
-        );
+        CompletableFuture<QuickMatches<SearchQuizItem>> quizzes = CompletableFuture.supplyAsync(
+            () -> readOnlyTransactionTemplate.execute(status -> {
+                applySimilarityThreshold();
+                return new QuickMatches<>(
+                    searchItemMapper.toQuizItems(quizRepository.quickSearchPublicQuizzes(query, limit)),
+                    quizRepository.countQuickSearchPublicQuizzes(query, SearchResultDTO.TOTAL_CAP));
+            }), executor);
+        CompletableFuture<QuickMatches<SearchCourseItem>> courses = CompletableFuture.supplyAsync(
+            () -> readOnlyTransactionTemplate.execute(status -> {
+                applySimilarityThreshold();
+                return new QuickMatches<>(
+                    courseRepository.quickSearchPublishedCourses(query, limit).stream()
+                        .map(SearchCourseItem::from)
+                        .toList(),
+                    courseRepository.countQuickSearchPublishedCourses(query, SearchResultDTO.TOTAL_CAP));
+            }), executor);
+
+        try {
+            QuickMatches<SearchQuizItem> quizMatches = quizzes.join();
+            QuickMatches<SearchCourseItem> courseMatches = courses.join();
+            return SearchResultDTO.of(quizMatches.items(), courseMatches.items(),
+                quizMatches.total(), courseMatches.total());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     /**
-     * Full paginated search for quizzes
+     * Full paginated search for quizzes, ordered by relevance
      */
     public Page<SearchQuizItem> searchQuizzes(String query, Pageable pageable) {
-        Page<Quiz> quizPage = quizRepository.searchPublicQuizzes(QuizStatus.PUBLISHED, query, pageable);
-
-        // Batch fetch published snapshots
-        Map<UUID, QuizSnapshot> snapshotMap = fetchSnapshotsForQuizzes(quizPage.getContent());
+        Page<Quiz> quizPage = quizRepository.searchPublicQuizzes(query, unsorted(pageable));
 
         // Map with snapshot when available, fallback to live entity
-        return quizPage.map(quiz -> {
-            QuizSnapshot snapshot = snapshotMap.get(quiz.getId());
-            if (snapshot != null) {
-                return SearchQuizItem.fromSnapshot(quiz, snapshot);
-            }
-            return SearchQuizItem.from(quiz);  // Legacy fallback
-        });
+        List<SearchQuizItem> items = searchItemMapper.toQuizItems(quizPage.getContent());
+        return new PageImpl<>(items, quizPage.getPageable(), quizPage.getTotalElements());
     }
 
     /**
-     * Full paginated search for courses
+     * Full paginated search for courses, ordered by relevance
      */
     public Page<SearchCourseItem> searchCourses(String query, Pageable pageable) {
-        return courseRepository.searchPublishedCourses(query, pageable)
+        return courseRepository.searchPublishedCourses(query, unsorted(pageable))
             .map(SearchCourseItem::from);
     }
 
     /**
-     * Map a list of quizzes to SearchQuizItem using published snapshots when available.
+     * Published public quizzes similar to the given one in content, tags and category,
+     * served from the in-memory MinHash index (empty while it is not built)
      */
-    private List<SearchQuizItem> mapQuizzesWithSnapshots(List<Quiz> quizzes) {
-        Map<UUID, QuizSnapshot> snapshotMap = fetchSnapshotsForQuizzes(quizzes);
-
-        return quizzes.stream()
-            .map(quiz -> {
-                QuizSnapshot snapshot = snapshotMap.get(quiz.getId());
-                if (snapshot != null) {
-                    return SearchQuizItem.fromSnapshot(quiz, snapshot);
-                }
-                return SearchQuizItem.from(quiz);  // Legacy fallback
-            })
-            .toList();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<SearchQuizItem> findSimilarQuizzes(UUID quizId, int limit) {
+        return similarQuizIndex.findSimilar(quizId, limit);
     }
 
     /**
-     * Batch fetch published snapshots for a list of quizzes.
+     * The trigram operator's threshold is a GUC, so set it for the current transaction only
+     * (the index can only serve the operator, not an explicit similarity comparison).
      */
-    private Map<UUID, QuizSnapshot> fetchSnapshotsForQuizzes(List<Quiz> quizzes) {
-        Set<UUID> quizIdsWithPublishedVersion = quizzes.stream()
-            .filter(q -> q.getPublishedVersionNumber() != null)
-            .map(Quiz::getId)
-            .collect(Collectors.toSet());
-
-        if (quizIdsWithPublishedVersion.isEmpty()) {
-            return Collections.emptyMap();
-        }
+    private void applySimilarityThreshold() {
+        double threshold = appProperties.getSearch().getQuickSearchSimilarityThreshold();
+        jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)",
+            String.class, Double.toString(threshold));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Search queries order by ts_rank themselves; a client sort would be appended after it.
+     */
+    private static Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
 
-        return quizHistoryRepository
-            .findPublishedSnapshotsByQuizIds(quizIdsWithPublishedVersion)
-            .stream()
-            .collect(Collectors.toMap(h -> h.getQuiz().getId(), QuizHistory::getSnapshot));
+    private record QuickMatches<T>(List<T> items, long total) {
     }
 }
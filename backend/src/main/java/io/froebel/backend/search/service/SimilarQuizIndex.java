@@ -0,0 +1,393 @@
+package io.froebel.backend.search.service;
+
+import io.froebel.backend.config.AppProperties;
+import io.froebel.backend.model.entity.Quiz;
+import io.froebel.backend.model.enums.QuizStatus;
+import io.froebel.backend.quiz.dto.QuizSnapshot;
+import io.froebel.backend.repository.QuizHistoryRepository;
+import io.froebel.backend.repository.QuizRepository;
+import io.froebel.backend.search.dto.SearchQuizItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory LSH index over the MinHash signatures of published public quizzes, serving
+ * "similar quizzes" without touching the database.
+ * Signatures are computed from the published snapshot when a version is published and stored in
+ * quiz_similarity_signature; this index only loads them. It is built on startup, updated per quiz
+ * through {@link TypeaheadIndexSync} and fully rebuilt periodically to repair any missed update.
+ */
+@Component
+public class SimilarQuizIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarQuizIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 500;
+    // Tags and category are repeated as distinct features so they outweigh incidental word overlap
+    private static final int TAG_WEIGHT = 4;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int MIN_WORD_LENGTH = 3;
+
+    private static final String UPSERT_SIGNATURE = """
+        INSERT INTO quiz_similarity_signature (quiz_id, version_number, signature, updated_at)
+        VALUES (:quizId, :versionNumber, :signature, now())
+        ON CONFLICT (quiz_id) DO UPDATE
+        SET version_number = EXCLUDED.version_number,
+            signature = EXCLUDED.signature,
+            updated_at = EXCLUDED.updated_at
+        """;
+
+    private static final String SELECT_SIGNATURES = """
+        SELECT quiz_id, version_number, signature
+        FROM quiz_similarity_signature
+        WHERE quiz_id IN (:quizIds)
+        """;
+
+    private final QuizRepository quizRepository;
+    private final QuizHistoryRepository quizHistoryRepository;
+    private final SearchItemMapper searchItemMapper;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    // Null until the first build completes; replaced wholesale by each rebuild
+    private volatile LshIndex index;
+    private volatile boolean rebuilding;
+    private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public SimilarQuizIndex(
+        QuizRepository quizRepository,
+        QuizHistoryRepository quizHistoryRepository,
+        SearchItemMapper searchItemMapper,
+        NamedParameterJdbcTemplate jdbcTemplate,
+        AppProperties appProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.quizRepository = quizRepository;
+        this.quizHistoryRepository = quizHistoryRepository;
+        this.searchItemMapper = searchItemMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.appProperties = appProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Quizzes most similar to the given one, best match first (ties broken by popularity).
+     *
+     * @return empty when the index is disabled, not built yet, or the quiz is not indexed
+     */
+    public List<SearchQuizItem> findSimilar(UUID quizId, int limit) {
+        LshIndex current = index;
+        if (current == null || !appProperties.getSearch().isSimilarQuizzesEnabled()) {
+            return List.of();
+        }
+        return current.similar(quizId, limit, appProperties.getSearch().getSimilarQuizzesMinSimilarity());
+    }
+
+    /**
+     * Compute and store the signature of a newly published version.
+     * Runs inside the publishing transaction; the in-memory entry follows after commit via {@link #refresh}.
+     *
+     * @return the signature, or null when the snapshot has no indexable content
+     */
+    public int[] storeSignature(UUID quizId, int versionNumber, QuizSnapshot snapshot) {
+        int[] signature = MinHash.signature(features(snapshot));
+        if (signature == null) {
+            return null;
+        }
+        jdbcTemplate.update(UPSERT_SIGNATURE, new MapSqlParameterSource()
+            .addValue("quizId", quizId)
+            .addValue("versionNumber", versionNumber)
+            .addValue("signature", MinHash.toBytes(signature)));
+        return signature;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.search.similar-quizzes-rebuild-interval-ms:3600000}",
+        initialDelayString = "${app.search.similar-quizzes-rebuild-interval-ms:3600000}"
+    )
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Load the stored signature of every published public quiz into a fresh index and swap it in.
+     * Quizzes published before signatures existed, or whose signature is stale, are signed from their
+     * published snapshot on the primary. Changes received while loading are re-applied afterwards.
+     */
+    public synchronized void rebuild() {
+        if (!appProperties.getSearch().isSimilarQuizzesEnabled()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            LshIndex fresh = new LshIndex();
+            List<UUID> unsigned = new ArrayList<>();
+            int page = 0;
+            while (loadQuizPage(fresh, page, unsigned)) {
+                page++;
+            }
+            for (int from = 0; from < unsigned.size(); from += LOAD_BATCH_SIZE) {
+                List<UUID> batch = unsigned.subList(from, Math.min(from + LOAD_BATCH_SIZE, unsigned.size()));
+                transactionTemplate.executeWithoutResult(status ->
+                    indexQuizzes(fresh, publishedPublic(quizRepository.findAllById(batch)), true));
+            }
+            index = fresh;
+            log.info("Similar quiz index built with {} quizzes ({} signed during build) in {} ms",
+                fresh.size(), unsigned.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to build similar quiz index: {}", e.getMessage());
+        } finally {
+            rebuilding = false;
+        }
+
+        for (UUID quizId : changedDuringRebuild) {
+            refresh(quizId);
+        }
+        changedDuringRebuild.clear();
+    }
+
+    /**
+     * Re-read one quiz and its signature from the primary and insert, replace or remove its entry.
+     */
+    public void refresh(UUID quizId) {
+        if (rebuilding) {
+            changedDuringRebuild.add(quizId);
+        }
+        LshIndex current = index;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Quiz> quizzes = publishedPublic(quizRepository.findById(quizId).stream().toList());
+                if (quizzes.isEmpty()) {
+                    current.remove(quizId);
+                } else {
+                    indexQuizzes(current, quizzes, true);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to refresh similar quiz entry {}: {}", quizId, e.getMessage());
+        }
+    }
+
+    private boolean loadQuizPage(LshIndex target, int page, List<UUID> unsigned) {
+        return Boolean.TRUE.equals(readOnlyTransactionTemplate.execute(status -> {
+            Page<Quiz> batch = quizRepository.findByStatusAndIsPublicTrue(
+                QuizStatus.PUBLISHED, PageRequest.of(page, LOAD_BATCH_SIZE, Sort.by("id")));
+            unsigned.addAll(indexQuizzes(target, publishedPublic(batch.getContent()), false));
+            return batch.hasNext();
+        }));
+    }
+
+    /**
+     * Index quizzes whose stored signature matches their published version.
+     * With {@code sign} set, missing or stale signatures are computed and stored first (needs a writable
+     * transaction); otherwise the affected quizzes are returned for a later signing pass.
+     */
+    private List<UUID> indexQuizzes(LshIndex target, List<Quiz> quizzes, boolean sign) {
+        if (quizzes.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, StoredSignature> stored = loadSignatures(quizzes.stream().map(Quiz::getId).toList());
+        List<SearchQuizItem> items = searchItemMapper.toQuizItems(quizzes);
+
+        List<UUID> unsigned = new ArrayList<>();
+        for (int i = 0; i < quizzes.size(); i++) {
+            Quiz quiz = quizzes.get(i);
+            int version = quiz.getPublishedVersionNumber();
+            StoredSignature signature = stored.get(quiz.getId());
+            int[] values = signature != null && signature.versionNumber() == version ? signature.values() : null;
+
+            if (values == null && sign) {
+                values = quizHistoryRepository.findByQuizIdAndVersionNumber(quiz.getId(), version)
+                    .map(history -> storeSignature(quiz.getId(), version, history.getSnapshot()))
+                    .orElse(null);
+            } else if (values == null) {
+                unsigned.add(quiz.getId());
+                continue;
+            }
+
+            if (values != null) {
+                target.put(quiz.getId(), values, quiz.getPopularityScore(), items.get(i));
+            } else {
+                target.remove(quiz.getId());
+            }
+        }
+        return unsigned;
+    }
+
+    private Map<UUID, StoredSignature> loadSignatures(Collection<UUID> quizIds) {
+        Map<UUID, StoredSignature> signatures = new HashMap<>();
+        jdbcTemplate.query(SELECT_SIGNATURES, new MapSqlParameterSource("quizIds", quizIds), rs -> {
+            int[] values = MinHash.fromBytes(rs.getBytes("signature"));
+            if (values != null) {
+                UUID quizId = rs.getObject("quiz_id", UUID.class);
+                signatures.put(quizId, new StoredSignature(rs.getInt("version_number"), values));
+            }
+        });
+        return signatures;
+    }
+
+    private static List<Quiz> publishedPublic(List<Quiz> quizzes) {
+        return quizzes.stream()
+            .filter(quiz -> quiz.getStatus() == QuizStatus.PUBLISHED && quiz.isPublic())
+            .filter(quiz -> quiz.getPublishedVersionNumber() != null)
+            .toList();
+    }
+
+    /**
+     * Word unigrams and bigrams of the title and question texts, plus weighted tag and category features.
+     */
+    static Set<String> features(QuizSnapshot snapshot) {
+        Set<String> features = new LinkedHashSet<>();
+        addShingles(features, snapshot.title());
+        if (snapshot.questions() != null) {
+            for (QuizSnapshot.QuestionSnapshot question : snapshot.questions()) {
+                addShingles(features, question.text());
+            }
+        }
+        if (snapshot.tagNames() != null) {
+            for (String tag : snapshot.tagNames()) {
+                String normalized = String.join(" ", TypeaheadIndex.words(tag));
+                for (int i = 0; i < TAG_WEIGHT && !normalized.isEmpty(); i++) {
+                    features.add("tag:" + normalized + "#" + i);
+                }
+            }
+        }
+        if (snapshot.categoryId() != null) {
+            for (int i = 0; i < CATEGORY_WEIGHT; i++) {
+                features.add("cat:" + snapshot.categoryId() + "#" + i);
+            }
+        }
+        return features;
+    }
+
+    private static void addShingles(Set<String> features, String text) {
+        List<String> words = TypeaheadIndex.words(text);
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            if (word.length() >= MIN_WORD_LENGTH) {
+                features.add(word);
+            }
+            if (i + 1 < words.size()) {
+                features.add(word + " " + words.get(i + 1));
+            }
+        }
+    }
+
+    private record StoredSignature(int versionNumber, int[] values) {
+    }
+
+    private record Entry(int[] signature, long[] bandKeys, double popularity, SearchQuizItem item) {
+    }
+
+    private record Candidate(Entry entry, double similarity) {
+    }
+
+    /**
+     * Band buckets (band key -> quiz IDs) plus the entries themselves. A lookup unions the buckets of
+     * the quiz's own band keys and ranks only those candidates by estimated similarity.
+     */
+    private static final class LshIndex {
+
+        private static final Comparator<Candidate> BY_RANK = Comparator
+            .comparingDouble(Candidate::similarity).reversed()
+            .thenComparing(Comparator.comparingDouble((Candidate c) -> c.entry().popularity()).reversed());
+
+        private final ConcurrentHashMap<Long, Set<UUID>> buckets = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+        void put(UUID id, int[] signature, double popularity, SearchQuizItem item) {
+            remove(id);
+            long[] bandKeys = MinHash.bandKeys(signature);
+            entries.put(id, new Entry(signature, bandKeys, popularity, item));
+            for (long key : bandKeys) {
+                buckets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        void remove(UUID id) {
+            Entry removed = entries.remove(id);
+            if (removed == null) {
+                return;
+            }
+            for (long key : removed.bandKeys()) {
+                buckets.computeIfPresent(key, (k, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        List<SearchQuizItem> similar(UUID id, int limit, double minSimilarity) {
+            Entry source = entries.get(id);
+            if (source == null) {
+                return List.of();
+            }
+
+            Set<UUID> candidateIds = new HashSet<>();
+            for (long key : source.bandKeys()) {
+                Set<UUID> ids = buckets.get(key);
+                if (ids != null) {
+                    candidateIds.addAll(ids);
+                }
+            }
+            candidateIds.remove(id);
+
+            List<Candidate> candidates = new ArrayList<>(candidateIds.size());
+            for (UUID candidateId : candidateIds) {
+                Entry entry = entries.get(candidateId);
+                if (entry != null) {
+                    double similarity = MinHash.similarity(source.signature(), entry.signature());
+                    if (similarity >= minSimilarity) {
+                        candidates.add(new Candidate(entry, similarity));
+                    }
+                }
+            }
+            candidates.sort(BY_RANK);
+
+            return candidates.stream().limit(limit).map(candidate -> candidate.entry().item()).toList();
+        }
+    }
+}
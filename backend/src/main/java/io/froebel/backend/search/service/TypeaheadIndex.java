@@ -0,0 +1,327 @@
+package io.froebel.backend.search.service;
+
+import io.froebel.backend.config.AppProperties;
+import io.froebel.backend.model.entity.Course;
+import io.froebel.backend.model.entity.Quiz;
+import io.froebel.backend.model.enums.QuizStatus;
+import io.froebel.backend.repository.CourseRepository;
+import io.froebel.backend.repository.QuizRepository;
+import io.froebel.backend.search.dto.SearchCourseItem;
+import io.froebel.backend.search.dto.SearchQuizItem;
+import io.froebel.backend.search.dto.SearchResultDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over the normalized title tokens of published public quizzes and
+ * published courses, holding the display fields served by the quick-search dropdown.
+ * Built on startup, updated per entity through {@link TypeaheadIndexSync} and fully rebuilt
+ * periodically to repair any missed update.
+ */
+@Component
+public class TypeaheadIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeaheadIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final QuizRepository quizRepository;
+    private final CourseRepository courseRepository;
+    private final SearchItemMapper searchItemMapper;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    // Null until the first build completes; replaced wholesale by each rebuild
+    private volatile Snapshot snapshot;
+    private volatile boolean rebuilding;
+    private final Set<ContentKey> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public TypeaheadIndex(
+        QuizRepository quizRepository,
+        CourseRepository courseRepository,
+        SearchItemMapper searchItemMapper,
+        AppProperties appProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.quizRepository = quizRepository;
+        this.courseRepository = courseRepository;
+        this.searchItemMapper = searchItemMapper;
+        this.appProperties = appProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Serve a typeahead query from memory.
+     * Every query token must prefix some title token; results are ordered by popularity, then title.
+     *
+     * @return empty when the index is disabled, not built yet, or has no match
+     */
+    public Optional<SearchResultDTO> search(String query, int limit) {
+        Snapshot current = snapshot;
+        if (current == null || !appProperties.getSearch().isTypeaheadEnabled()) {
+            return Optional.empty();
+        }
+
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Matches<SearchQuizItem> quizzes = current.quizzes().search(tokens, limit);
+        Matches<SearchCourseItem> courses = current.courses().search(tokens, limit);
+        if (quizzes.total() == 0 && courses.total() == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(SearchResultDTO.of(quizzes.items(), courses.items(), quizzes.total(), courses.total()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.search.typeahead-rebuild-interval-ms:900000}",
+        initialDelayString = "${app.search.typeahead-rebuild-interval-ms:900000}"
+    )
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Load every published public quiz and published course into a fresh index and swap it in.
+     * Changes received while loading are re-applied to the new index afterwards.
+     */
+    public synchronized void rebuild() {
+        if (!appProperties.getSearch().isTypeaheadEnabled()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            Snapshot fresh = new Snapshot(new PrefixIndex<>(), new PrefixIndex<>());
+            int page = 0;
+            while (loadQuizPage(fresh.quizzes(), page)) {
+                page++;
+            }
+            page = 0;
+            while (loadCoursePage(fresh.courses(), page)) {
+                page++;
+            }
+            snapshot = fresh;
+            log.info("Typeahead index built with {} quizzes and {} courses in {} ms",
+                fresh.quizzes().size(), fresh.courses().size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to build typeahead index: {}", e.getMessage());
+        } finally {
+            rebuilding = false;
+        }
+
+        for (ContentKey key : changedDuringRebuild) {
+            refresh(key.kind(), key.id());
+        }
+        changedDuringRebuild.clear();
+    }
+
+    /**
+     * Re-read one quiz or course from the primary and insert, replace or remove its entry.
+     */
+    public void refresh(SearchIndexChangedEvent.Kind kind, UUID id) {
+        if (rebuilding) {
+            changedDuringRebuild.add(new ContentKey(kind, id));
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                switch (kind) {
+                    case QUIZ -> quizRepository.findById(id)
+                        .filter(quiz -> quiz.getStatus() == QuizStatus.PUBLISHED && quiz.isPublic())
+                        .ifPresentOrElse(
+                            quiz -> indexQuizzes(current.quizzes(), List.of(quiz)),
+                            () -> current.quizzes().remove(id));
+                    case COURSE -> courseRepository.findById(id)
+                        .filter(Course::isPublished)
+                        .ifPresentOrElse(
+                            course -> indexCourse(current.courses(), course),
+                            () -> current.courses().remove(id));
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to refresh typeahead entry {} {}: {}", kind, id, e.getMessage());
+        }
+    }
+
+    private boolean loadQuizPage(PrefixIndex<SearchQuizItem> index, int page) {
+        return Boolean.TRUE.equals(readOnlyTransactionTemplate.execute(status -> {
+            Page<Quiz> batch = quizRepository.findByStatusAndIsPublicTrue(
+                QuizStatus.PUBLISHED, PageRequest.of(page, LOAD_BATCH_SIZE, Sort.by("id")));
+            indexQuizzes(index, batch.getContent());
+            return batch.hasNext();
+        }));
+    }
+
+    private boolean loadCoursePage(PrefixIndex<SearchCourseItem> index, int page) {
+        return Boolean.TRUE.equals(readOnlyTransactionTemplate.execute(status -> {
+            Page<Course> batch = courseRepository.findByPublishedTrue(PageRequest.of(page, LOAD_BATCH_SIZE, Sort.by("id")));
+            batch.getContent().forEach(course -> indexCourse(index, course));
+            return batch.hasNext();
+        }));
+    }
+
+    private void indexQuizzes(PrefixIndex<SearchQuizItem> index, List<Quiz> quizzes) {
+        List<SearchQuizItem> items = searchItemMapper.toQuizItems(quizzes);
+        for (int i = 0; i < quizzes.size(); i++) {
+            SearchQuizItem item = items.get(i);
+            index.put(item.id(), item.title(), quizzes.get(i).getPopularityScore(), item);
+        }
+    }
+
+    private void indexCourse(PrefixIndex<SearchCourseItem> index, Course course) {
+        SearchCourseItem item = SearchCourseItem.from(course);
+        index.put(item.id(), item.title(), course.getPopularityScore(), item);
+    }
+
+    /**
+     * Lowercase, strip diacritics and split on anything that is not a letter or digit.
+     */
+    static List<String> tokenize(String text) {
+        return words(text).stream().distinct().toList();
+    }
+
+    /**
+     * Normalized words of the text in order, duplicates kept.
+     */
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        return Arrays.stream(TOKEN_SEPARATORS.split(normalized))
+            .filter(token -> !token.isEmpty())
+            .toList();
+    }
+
+    private record Snapshot(PrefixIndex<SearchQuizItem> quizzes, PrefixIndex<SearchCourseItem> courses) {
+    }
+
+    private record ContentKey(SearchIndexChangedEvent.Kind kind, UUID id) {
+    }
+
+    private record Matches<T>(List<T> items, int total) {
+    }
+
+    /**
+     * Sorted token map (token -> entry IDs) plus the entries themselves. A prefix lookup is a
+     * range scan of the sorted map, so only tokens and IDs are stored per title word.
+     */
+    private static final class PrefixIndex<T> {
+
+        private static final Comparator<Entry<?>> BY_RANK = Comparator
+            .comparingDouble((Entry<?> e) -> e.score()).reversed()
+            .thenComparing(Entry::title, String.CASE_INSENSITIVE_ORDER);
+
+        private final ConcurrentSkipListMap<String, Set<UUID>> postings = new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<UUID, Entry<T>> entries = new ConcurrentHashMap<>();
+
+        void put(UUID id, String title, double score, T item) {
+            remove(id);
+            List<String> tokens = tokenize(title);
+            entries.put(id, new Entry<>(item, title, tokens.toArray(String[]::new), score));
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, k -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        void remove(UUID id) {
+            Entry<T> removed = entries.remove(id);
+            if (removed == null) {
+                return;
+            }
+            for (String token : removed.tokens()) {
+                postings.computeIfPresent(token, (k, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        Matches<T> search(List<String> queryTokens, int limit) {
+            // Expand the most selective (longest) token via the sorted map, then filter by the others
+            String anchor = queryTokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+            Set<UUID> candidates = new HashSet<>();
+            for (Set<UUID> ids : postings.subMap(anchor, true, anchor + Character.MAX_VALUE, false).values()) {
+                candidates.addAll(ids);
+            }
+
+            List<Entry<T>> matches = new ArrayList<>();
+            for (UUID id : candidates) {
+                Entry<T> entry = entries.get(id);
+                if (entry != null && entry.matchesAll(queryTokens)) {
+                    matches.add(entry);
+                }
+            }
+            matches.sort(BY_RANK);
+
+            return new Matches<>(matches.stream().limit(limit).map(Entry::item).toList(), matches.size());
+        }
+    }
+
+    private record Entry<T>(T item, String title, String[] tokens, double score) {
+
+        boolean matchesAll(List<String> queryTokens) {
+            for (String queryToken : queryTokens) {
+                boolean matched = false;
+                for (String token : tokens) {
+                    if (token.startsWith(queryToken)) {
+                        matched = true;
+                        break;
+                    }
+                }
+                if (!matched) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.froebel.backend.search.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Propagates search index changes to every node through Redis pub/sub.
+ * Each node, including the publisher, refreshes the entry in {@link TypeaheadIndex} (and, for quizzes,
+ * {@link SimilarQuizIndex}) when the message arrives. If Redis is unavailable the change is applied
+ * locally only; the periodic rebuilds bring other nodes back in line.
+ */
+@Component
+public class TypeaheadIndexSync implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeaheadIndexSync.class);
+    static final String CHANNEL = "search:typeahead:changes";
+
+    private final TypeaheadIndex typeaheadIndex;
+    private final SimilarQuizIndex similarQuizIndex;
+    private final StringRedisTemplate redisTemplate;
+
+    public TypeaheadIndexSync(
+        TypeaheadIndex typeaheadIndex,
+        SimilarQuizIndex similarQuizIndex,
+        StringRedisTemplate redisTemplate,
+        RedisMessageListenerContainer listenerContainer
+    ) {
+        this.typeaheadIndex = typeaheadIndex;
+        this.similarQuizIndex = similarQuizIndex;
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSearchIndexChanged(SearchIndexChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event.kind().name() + ":" + event.id());
+        } catch (Exception e) {
+            log.warn("Redis unavailable, applying typeahead change locally only: {}", e.getMessage());
+            refresh(event.kind(), event.id());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            SearchIndexChangedEvent.Kind kind = SearchIndexChangedEvent.Kind.valueOf(body.substring(0, separator));
+            refresh(kind, UUID.fromString(body.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed typeahead change message: {}", body);
+        }
+    }
+
+    private void refresh(SearchIndexChangedEvent.Kind kind, UUID id) {
+        typeaheadIndex.refresh(kind, id);
+        if (kind == SearchIndexChangedEvent.Kind.QUIZ) {
+            similarQuizIndex.refresh(id);
+        }
+    }
+}
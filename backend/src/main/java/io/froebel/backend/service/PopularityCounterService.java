@@ -0,0 +1,152 @@
+package io.froebel.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the denormalized attempt/enrollment counters and popularity score of quiz and course.
+ * Increments are coalesced per entity in memory once the surrounding transaction commits and applied
+ * in one JDBC batch per flush, so a popular quiz costs one row update per interval rather than one per
+ * attempt. Pending increments are flushed on shutdown; a crash loses at most one interval.
+ */
+@Service
+public class PopularityCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(PopularityCounterService.class);
+
+    // Must match the epoch and half-life used by the V13 backfill
+    private static final Instant POPULARITY_EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    private static final double HALF_LIFE_SECONDS = Duration.ofDays(7).toSeconds();
+
+    // popularity_score = ln(exp(popularity_score) + exp(batch score)), clamped to stay clear of float underflow
+    private static final String POPULARITY_UPDATE = """
+        popularity_score = CASE WHEN ?
+            THEN GREATEST(popularity_score, ?) + LN(1 + EXP(-LEAST(ABS(popularity_score - ?), 700)))
+            ELSE popularity_score END
+        """;
+
+    private static final String QUIZ_UPDATE = """
+        UPDATE quiz
+        SET attempt_count = attempt_count + ?,
+            completion_count = completion_count + ?,
+        """ + POPULARITY_UPDATE + "WHERE id = ?";
+
+    private static final String COURSE_UPDATE = """
+        UPDATE course
+        SET enrollment_count = enrollment_count + ?,
+            completion_count = completion_count + ?,
+        """ + POPULARITY_UPDATE + "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<UUID, CounterDelta> pendingQuizzes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, CounterDelta> pendingCourses = new ConcurrentHashMap<>();
+
+    public PopularityCounterService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void recordQuizAttemptStarted(UUID quizId) {
+        afterCommit(() -> pendingQuizzes.merge(quizId, new CounterDelta(1, 0, 1), CounterDelta::plus));
+    }
+
+    public void recordQuizAttemptCompleted(UUID quizId) {
+        afterCommit(() -> pendingQuizzes.merge(quizId, new CounterDelta(0, 1, 0), CounterDelta::plus));
+    }
+
+    public void recordCourseEnrolled(UUID courseId) {
+        afterCommit(() -> pendingCourses.merge(courseId, new CounterDelta(1, 0, 1), CounterDelta::plus));
+    }
+
+    public void recordCourseUnenrolled(UUID courseId, boolean wasCompleted) {
+        CounterDelta delta = new CounterDelta(-1, wasCompleted ? -1 : 0, 0);
+        afterCommit(() -> pendingCourses.merge(courseId, delta, CounterDelta::plus));
+    }
+
+    public void recordCourseCompleted(UUID courseId) {
+        afterCommit(() -> pendingCourses.merge(courseId, new CounterDelta(0, 1, 0), CounterDelta::plus));
+    }
+
+    public void recordCourseCompletionReverted(UUID courseId) {
+        afterCommit(() -> pendingCourses.merge(courseId, new CounterDelta(0, -1, 0), CounterDelta::plus));
+    }
+
+    @Scheduled(fixedDelayString = "${app.popularity.flush-interval-ms:10000}")
+    public void flush() {
+        double baseScore = Duration.between(POPULARITY_EPOCH, Instant.now()).toSeconds()
+            / HALF_LIFE_SECONDS * Math.log(2);
+        flush(pendingQuizzes, QUIZ_UPDATE, baseScore);
+        flush(pendingCourses, COURSE_UPDATE, baseScore);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(ConcurrentHashMap<UUID, CounterDelta> pending, String sql, double baseScore) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Drain in ID order so concurrent flushes from several instances lock rows in the same order
+        Map<UUID, CounterDelta> drained = new LinkedHashMap<>();
+        pending.keySet().stream().sorted().forEach(id -> {
+            CounterDelta delta = pending.remove(id);
+            if (delta != null) {
+                drained.put(id, delta);
+            }
+        });
+
+        List<Object[]> batchArgs = new ArrayList<>(drained.size());
+        drained.forEach((id, delta) -> {
+            boolean hasEvents = delta.events() > 0;
+            double batchScore = hasEvents ? baseScore + Math.log(delta.events()) : 0.0;
+            batchArgs.add(new Object[]{delta.count(), delta.completions(), hasEvents, batchScore, batchScore, id});
+        });
+
+        try {
+            jdbcTemplate.batchUpdate(sql, batchArgs);
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush {} popularity counters, retrying next interval: {}", drained.size(), e.getMessage());
+            drained.forEach((id, delta) -> pending.merge(id, delta, CounterDelta::plus));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Coalesced change of one entity: counter delta, completion delta and number of new popularity events.
+     */
+    private record CounterDelta(long count, long completions, long events) {
+        CounterDelta plus(CounterDelta other) {
+            return new CounterDelta(count + other.count, completions + other.completions, events + other.events);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package io.froebel.backend.service;
 
+import io.froebel.backend.auth.security.UserPrincipalChangedEvent;
 import io.froebel.backend.exception.ResourceNotFoundException;
 import io.froebel.backend.repository.PasswordResetTokenRepository;
 import io.froebel.backend.repository.RefreshTokenRepository;
 import io.froebel.backend.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,15 +17,18 @@ public class UserService {
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserService(
         UserRepository userRepository,
         RefreshTokenRepository refreshTokenRepository,
-        PasswordResetTokenRepository passwordResetTokenRepository
+        PasswordResetTokenRepository passwordResetTokenRepository,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -40,5 +45,6 @@ public class UserService {
 
         // Delete user (courses, quizzes, questions cascade automatically)
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(userId));
     }
 }
@@ -1,5 +1,6 @@
 package io.froebel.backend.settings.service;
 
+import io.froebel.backend.auth.security.UserPrincipalChangedEvent;
 import io.froebel.backend.config.AppProperties;
 import io.froebel.backend.exception.ResourceNotFoundException;
 import io.froebel.backend.model.entity.AccountDeletionRequest;
@@ -12,6 +13,7 @@ import io.froebel.backend.repository.UserRepository;
 import io.froebel.backend.settings.dto.AccountDeletionStatusResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +35,7 @@ public class AccountDeletionService {
     private final CourseRepository courseRepository;
     private final AppProperties appProperties;
     private final SessionManagementService sessionManagementService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AccountDeletionService(
         AccountDeletionRequestRepository deletionRequestRepository,
@@ -40,7 +43,8 @@ public class AccountDeletionService {
         QuizRepository quizRepository,
         CourseRepository courseRepository,
         AppProperties appProperties,
-        SessionManagementService sessionManagementService
+        SessionManagementService sessionManagementService,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.deletionRequestRepository = deletionRequestRepository;
         this.userRepository = userRepository;
@@ -48,6 +52,7 @@ public class AccountDeletionService {
         this.courseRepository = courseRepository;
         this.appProperties = appProperties;
         this.sessionManagementService = sessionManagementService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -144,6 +149,7 @@ public class AccountDeletionService {
 
         // 4. Delete the user (cascades to linked accounts, notification preferences, etc.)
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(userId));
 
         // 5. Mark deletion request as processed
         request.setStatus(DeletionStatus.PROCESSED);
@@ -3,8 +3,10 @@ package io.froebel.backend.settings.service;
 import io.froebel.backend.auth.exception.InvalidCredentialsException;
 import io.froebel.backend.auth.exception.InvalidTokenException;
 import io.froebel.backend.auth.exception.TokenExpiredException;
+import io.froebel.backend.auth.security.UserPrincipalChangedEvent;
 import io.froebel.backend.auth.service.AuditLogService;
 import io.froebel.backend.auth.service.EmailService;
+import io.froebel.backend.auth.service.PasswordHashingService;
 import io.froebel.backend.auth.service.RefreshTokenService;
 import io.froebel.backend.config.AppProperties;
 import io.froebel.backend.exception.ResourceNotFoundException;
@@ -14,7 +16,7 @@ import io.froebel.backend.repository.EmailChangeRequestRepository;
 import io.froebel.backend.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,31 +32,34 @@ public class EmailChangeService {
 
     private final UserRepository userRepository;
     private final EmailChangeRequestRepository emailChangeRequestRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final EmailService emailService;
     private final RefreshTokenService refreshTokenService;
     private final SessionManagementService sessionManagementService;
     private final AuditLogService auditLogService;
     private final AppProperties appProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EmailChangeService(
         UserRepository userRepository,
         EmailChangeRequestRepository emailChangeRequestRepository,
-        PasswordEncoder passwordEncoder,
+        PasswordHashingService passwordHashingService,
         EmailService emailService,
         RefreshTokenService refreshTokenService,
         SessionManagementService sessionManagementService,
         AuditLogService auditLogService,
-        AppProperties appProperties
+        AppProperties appProperties,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.emailChangeRequestRepository = emailChangeRequestRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.emailService = emailService;
         this.refreshTokenService = refreshTokenService;
         this.sessionManagementService = sessionManagementService;
         this.auditLogService = auditLogService;
         this.appProperties = appProperties;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -63,7 +68,7 @@ public class EmailChangeService {
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         // Verify password (required even for OAuth users who have set a password)
-        if (user.getPassword() == null || !passwordEncoder.matches(password, user.getPassword())) {
+        if (user.getPassword() == null || !passwordHashingService.matches(password, user.getPassword())) {
             throw new InvalidCredentialsException("Invalid password");
         }
 
@@ -140,6 +145,7 @@ public class EmailChangeService {
         // Update user's email
         user.setEmail(newEmail);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(user.getId()));
 
         // Mark request as confirmed
         request.setConfirmedAt(Instant.now());
@@ -175,8 +181,9 @@ public class EmailChangeService {
             throw new IllegalStateException("Password is already set. Use change password instead.");
         }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(userId));
 
         log.info("Password set for OAuth user {}", userId);
         auditLogService.logAuthEvent(
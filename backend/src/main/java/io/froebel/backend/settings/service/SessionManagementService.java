@@ -1,5 +1,6 @@
 package io.froebel.backend.settings.service;
 
+import io.froebel.backend.auth.service.RevocationEpochService;
 import io.froebel.backend.exception.ResourceNotFoundException;
 import io.froebel.backend.model.entity.RefreshToken;
 import io.froebel.backend.model.entity.User;
@@ -9,29 +10,49 @@ import io.froebel.backend.settings.dto.SessionListResponse;
 import io.froebel.backend.settings.dto.SessionResponse;
 import io.froebel.backend.settings.util.UserAgentParser;
 import io.froebel.backend.settings.util.UserAgentParser.ParsedUserAgent;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class SessionManagementService {
 
     private static final Logger log = LoggerFactory.getLogger(SessionManagementService.class);
 
+    // Never moves last_active_at backwards, so flushes from several instances can interleave
+    private static final String LAST_ACTIVE_UPDATE =
+        "UPDATE user_session SET last_active_at = GREATEST(last_active_at, ?) WHERE id = ?";
+
     private final UserSessionRepository sessionRepository;
     private final UserAgentParser userAgentParser;
+    private final RevocationEpochService revocationEpochService;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Session ID -> latest activity not yet written
+    private final ConcurrentHashMap<UUID, Instant> pendingLastActive = new ConcurrentHashMap<>();
 
     public SessionManagementService(
         UserSessionRepository sessionRepository,
-        UserAgentParser userAgentParser
+        UserAgentParser userAgentParser,
+        RevocationEpochService revocationEpochService,
+        JdbcTemplate jdbcTemplate
     ) {
         this.sessionRepository = sessionRepository;
         this.userAgentParser = userAgentParser;
+        this.revocationEpochService = revocationEpochService;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Transactional
@@ -82,12 +103,15 @@ public class SessionManagementService {
 
         session.setRevokedAt(Instant.now());
         sessionRepository.save(session);
+        revocationEpochService.revokeSession(sessionId);
 
         log.info("Session {} revoked for user {}", sessionId, userId);
     }
 
     @Transactional
     public void revokeAllOtherSessions(UUID userId, UUID currentSessionId) {
+        sessionRepository.findActiveSessionIdsExcept(userId, currentSessionId)
+            .forEach(revocationEpochService::revokeSession);
         int count = sessionRepository.revokeAllOtherSessions(userId, currentSessionId, Instant.now());
         log.info("Revoked {} other sessions for user {}", count, userId);
     }
@@ -95,12 +119,52 @@ public class SessionManagementService {
     @Transactional
     public void revokeAllSessions(UUID userId) {
         int count = sessionRepository.revokeAllUserSessions(userId, Instant.now());
+        revocationEpochService.revokeUser(userId);
         log.info("Revoked all {} sessions for user {}", count, userId);
     }
 
-    @Transactional
+    /**
+     * Record activity on a session. Only buffered in memory; {@link #flushLastActive()} writes the latest
+     * timestamp of every active session in one batch per interval, so session lists lag by at most that interval.
+     */
     public void updateLastActive(UUID sessionId) {
-        sessionRepository.updateLastActiveAt(sessionId, Instant.now());
+        pendingLastActive.merge(sessionId, Instant.now(), SessionManagementService::latest);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.session-activity-flush-interval-ms:30000}")
+    public void flushLastActive() {
+        if (pendingLastActive.isEmpty()) {
+            return;
+        }
+
+        // Drain in ID order so concurrent flushes from several instances lock rows in the same order
+        List<UUID> sessionIds = pendingLastActive.keySet().stream().sorted().toList();
+        List<Object[]> batchArgs = new ArrayList<>(sessionIds.size());
+        for (UUID sessionId : sessionIds) {
+            Instant lastActive = pendingLastActive.remove(sessionId);
+            if (lastActive != null) {
+                batchArgs.add(new Object[]{Timestamp.from(lastActive), sessionId});
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(LAST_ACTIVE_UPDATE, batchArgs);
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush last-active time of {} sessions, retrying next interval: {}",
+                batchArgs.size(), e.getMessage());
+            for (Object[] args : batchArgs) {
+                pendingLastActive.merge((UUID) args[1], ((Timestamp) args[0]).toInstant(), SessionManagementService::latest);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLastActive();
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
     }
 
     public UUID findSessionIdByRefreshToken(UUID refreshTokenId) {
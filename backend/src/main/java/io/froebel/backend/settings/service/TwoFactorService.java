@@ -10,6 +10,7 @@ import dev.samstevens.totp.secret.DefaultSecretGenerator;
 import dev.samstevens.totp.secret.SecretGenerator;
 import dev.samstevens.totp.time.SystemTimeProvider;
 import dev.samstevens.totp.time.TimeProvider;
+import io.froebel.backend.auth.security.UserPrincipalChangedEvent;
 import io.froebel.backend.exception.ResourceNotFoundException;
 import io.froebel.backend.model.entity.TwoFactorBackupCode;
 import io.froebel.backend.model.entity.User;
@@ -20,6 +21,7 @@ import io.froebel.backend.settings.dto.TwoFactorSetupResponse;
 import io.froebel.backend.settings.dto.TwoFactorStatusResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,17 +43,20 @@ public class TwoFactorService {
     private final UserRepository userRepository;
     private final TwoFactorBackupCodeRepository backupCodeRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     private final SecretGenerator secretGenerator;
     private final CodeVerifier codeVerifier;
 
     public TwoFactorService(
         UserRepository userRepository,
         TwoFactorBackupCodeRepository backupCodeRepository,
-        PasswordEncoder passwordEncoder
+        PasswordEncoder passwordEncoder,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.backupCodeRepository = backupCodeRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
 
         // Initialize TOTP components
         this.secretGenerator = new DefaultSecretGenerator();
@@ -119,6 +124,7 @@ public class TwoFactorService {
         user.setTwoFactorEnabled(true);
         user.setTwoFactorConfirmedAt(Instant.now());
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(userId));
 
         // Generate backup codes
         List<String> backupCodes = generateBackupCodes(userId);
@@ -147,6 +153,7 @@ public class TwoFactorService {
         user.setTwoFactorSecret(null);
         user.setTwoFactorConfirmedAt(null);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(userId));
 
         // Delete all backup codes
         backupCodeRepository.deleteByUserId(userId);
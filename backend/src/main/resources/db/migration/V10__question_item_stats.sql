@@ -0,0 +1,27 @@
+-- V10: Precomputed classical item-analysis statistics per quiz version
+-- Populated by the background item-analysis job; read by the analytics endpoints
+
+CREATE TABLE question_item_stat
+(
+    id                     UUID PRIMARY KEY     DEFAULT gen_random_uuid(),
+    quiz_id                UUID        NOT NULL REFERENCES quiz (id) ON DELETE CASCADE,
+    quiz_version_number    INTEGER     NOT NULL,
+    question_id            UUID        NOT NULL REFERENCES question (id) ON DELETE CASCADE,
+    respondent_count       INTEGER     NOT NULL,
+    p_value                NUMERIC(5, 4),
+    point_biserial         NUMERIC(5, 4),
+    discrimination_index   NUMERIC(5, 4),
+    choice_selection_rates JSONB,
+    computed_at            TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT uq_question_item_stat UNIQUE (quiz_id, quiz_version_number, question_id)
+);
+
+COMMENT ON TABLE question_item_stat IS 'Item-analysis statistics per question and quiz version, recomputed in batch from quiz_answer';
+COMMENT ON COLUMN question_item_stat.quiz_version_number IS 'quiz_attempt.quiz_version_number the statistics were computed for (0 for unversioned legacy attempts)';
+COMMENT ON COLUMN question_item_stat.p_value IS 'Difficulty index: proportion of respondents answering correctly';
+COMMENT ON COLUMN question_item_stat.point_biserial IS 'Point-biserial correlation between item correctness and attempt percentage';
+COMMENT ON COLUMN question_item_stat.discrimination_index IS 'Upper 27% minus lower 27% proportion correct';
+COMMENT ON COLUMN question_item_stat.choice_selection_rates IS 'Selection rate per choice id / answer value';
+
+CREATE INDEX idx_question_item_stat_quiz_version ON question_item_stat (quiz_id, quiz_version_number);
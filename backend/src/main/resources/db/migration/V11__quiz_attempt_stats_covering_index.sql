@@ -0,0 +1,6 @@
+-- V11: Covering index for per-quiz attempt aggregates
+-- Lets the creator-wide analytics query aggregate all of a creator's quizzes with index-only scans
+-- instead of visiting every quiz_attempt heap row
+
+CREATE INDEX IF NOT EXISTS idx_quiz_attempt_quiz_stats
+    ON quiz_attempt (quiz_id) INCLUDE (completed_at, passed, percentage, time_taken_seconds);
@@ -0,0 +1,189 @@
+-- V12: Monthly range partitioning of quiz_attempt (started_at) and quiz_answer (answered_at)
+--
+-- PostgreSQL requires every primary key / unique index of a partitioned table to contain the
+-- partition key, and a foreign key can only reference such a key. Consequently:
+--   * primary keys become (id, started_at) / (id, answered_at); ids stay globally unique UUIDs
+--   * quiz_answer.attempt_id no longer has a foreign key to quiz_attempt; answers are removed with
+--     their attempt by the JPA cascade, and with their quiz through question_id ON DELETE CASCADE
+--   * the "one in-progress attempt per user / anonymous session" unique indexes are replaced by a
+--     BEFORE INSERT trigger serialised with a transaction-scoped advisory lock
+--
+-- Partitions are named <table>_pYYYY_MM and cover one UTC calendar month. Future partitions are
+-- pre-created by AttemptPartitionService; a DEFAULT partition catches anything outside the range.
+
+-- =====================================================
+-- 1. Partition helper
+-- =====================================================
+
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE)
+    RETURNS TEXT AS
+$$
+DECLARE
+    partition_name TEXT := parent || '_p' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name,
+                   parent,
+                   month_start::timestamp AT TIME ZONE 'UTC',
+                   (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION create_monthly_partition(TEXT, DATE) IS 'Create the UTC calendar-month range partition of a quiz_attempt/quiz_answer table if it does not exist';
+
+-- =====================================================
+-- 2. Partitioned tables
+-- =====================================================
+
+ALTER TABLE quiz_answer RENAME TO quiz_answer_legacy;
+ALTER TABLE quiz_attempt RENAME TO quiz_attempt_legacy;
+
+CREATE TABLE quiz_attempt
+(
+    id                   UUID        NOT NULL DEFAULT gen_random_uuid(),
+    quiz_id              UUID        NOT NULL REFERENCES quiz (id) ON DELETE CASCADE,
+    user_id              UUID REFERENCES "user" (id) ON DELETE SET NULL,
+    anonymous_name       VARCHAR(255),
+    anonymous_email      VARCHAR(255),
+    anonymous_session_id VARCHAR(36),
+    score                INTEGER,
+    max_score            INTEGER,
+    percentage           DECIMAL(5, 2),
+    passed               BOOLEAN,
+    started_at           TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    completed_at         TIMESTAMPTZ,
+    time_taken_seconds   INTEGER,
+    ip_address           VARCHAR(45),
+    created_at           TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    quiz_version_number  INTEGER,
+    PRIMARY KEY (id, started_at)
+) PARTITION BY RANGE (started_at);
+
+CREATE TABLE quiz_answer
+(
+    id                 UUID        NOT NULL DEFAULT gen_random_uuid(),
+    attempt_id         UUID        NOT NULL,
+    question_id        UUID        NOT NULL REFERENCES question (id) ON DELETE CASCADE,
+    answer_data        JSONB       NOT NULL,
+    is_correct         BOOLEAN,
+    points_earned      INTEGER              DEFAULT 0,
+    time_taken_seconds INTEGER,
+    answered_at        TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, answered_at)
+) PARTITION BY RANGE (answered_at);
+
+CREATE TABLE quiz_attempt_default PARTITION OF quiz_attempt DEFAULT;
+CREATE TABLE quiz_answer_default PARTITION OF quiz_answer DEFAULT;
+
+-- Monthly partitions from the oldest existing row up to three months ahead
+DO
+$$
+    DECLARE
+        month DATE;
+        last_month DATE := (date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '3 months')::date;
+    BEGIN
+        SELECT date_trunc('month', LEAST(
+                COALESCE((SELECT MIN(started_at) FROM quiz_attempt_legacy), NOW()),
+                COALESCE((SELECT MIN(answered_at) FROM quiz_answer_legacy), NOW())) AT TIME ZONE 'UTC')::date
+        INTO month;
+
+        WHILE month <= last_month
+            LOOP
+                PERFORM create_monthly_partition('quiz_attempt', month);
+                PERFORM create_monthly_partition('quiz_answer', month);
+                month := (month + INTERVAL '1 month')::date;
+            END LOOP;
+    END
+$$;
+
+-- =====================================================
+-- 3. Copy data and drop the unpartitioned tables
+-- =====================================================
+
+INSERT INTO quiz_attempt (id, quiz_id, user_id, anonymous_name, anonymous_email, anonymous_session_id, score,
+                          max_score, percentage, passed, started_at, completed_at, time_taken_seconds, ip_address,
+                          created_at, quiz_version_number)
+SELECT id, quiz_id, user_id, anonymous_name, anonymous_email, anonymous_session_id, score,
+       max_score, percentage, passed, started_at, completed_at, time_taken_seconds, ip_address,
+       created_at, quiz_version_number
+FROM quiz_attempt_legacy;
+
+INSERT INTO quiz_answer (id, attempt_id, question_id, answer_data, is_correct, points_earned, time_taken_seconds,
+                         answered_at)
+SELECT id, attempt_id, question_id, answer_data, is_correct, points_earned, time_taken_seconds, answered_at
+FROM quiz_answer_legacy;
+
+DROP TABLE quiz_answer_legacy;
+DROP TABLE quiz_attempt_legacy;
+
+-- =====================================================
+-- 4. Indexes (created on the parent, propagated to every partition)
+-- =====================================================
+
+CREATE INDEX idx_quiz_attempt_id ON quiz_attempt (id);
+CREATE INDEX idx_quiz_attempt_quiz ON quiz_attempt (quiz_id);
+CREATE INDEX idx_quiz_attempt_user ON quiz_attempt (user_id);
+CREATE INDEX idx_quiz_attempt_quiz_completed ON quiz_attempt (quiz_id, completed_at) WHERE completed_at IS NOT NULL;
+CREATE INDEX idx_quiz_attempt_started_at ON quiz_attempt (quiz_id, started_at);
+CREATE INDEX idx_quiz_attempt_quiz_ip ON quiz_attempt (quiz_id, ip_address);
+CREATE INDEX idx_quiz_attempt_user_completed ON quiz_attempt (quiz_id, user_id, completed_at) WHERE completed_at IS NOT NULL;
+CREATE INDEX idx_quiz_attempt_anonymous_session ON quiz_attempt (quiz_id, anonymous_session_id) WHERE anonymous_session_id IS NOT NULL;
+CREATE INDEX idx_quiz_attempt_in_progress ON quiz_attempt (quiz_id, user_id, anonymous_session_id) WHERE completed_at IS NULL;
+CREATE INDEX idx_quiz_attempt_quiz_stats
+    ON quiz_attempt (quiz_id) INCLUDE (completed_at, passed, percentage, time_taken_seconds);
+
+CREATE INDEX idx_quiz_answer_id ON quiz_answer (id);
+CREATE INDEX idx_quiz_answer_attempt_question ON quiz_answer (attempt_id, question_id);
+CREATE INDEX idx_quiz_answer_question ON quiz_answer (question_id);
+CREATE INDEX idx_quiz_answer_question_correct ON quiz_answer (question_id, is_correct);
+
+-- =====================================================
+-- 5. Single in-progress attempt guard
+-- =====================================================
+
+CREATE OR REPLACE FUNCTION enforce_single_in_progress_attempt()
+    RETURNS TRIGGER AS
+$$
+DECLARE
+    owner_key TEXT;
+BEGIN
+    IF NEW.completed_at IS NOT NULL THEN
+        RETURN NEW;
+    END IF;
+
+    IF NEW.user_id IS NOT NULL THEN
+        owner_key := 'user:' || NEW.user_id;
+    ELSIF NEW.anonymous_session_id IS NOT NULL THEN
+        owner_key := 'session:' || NEW.anonymous_session_id;
+    ELSE
+        RETURN NEW;
+    END IF;
+
+    -- Serialise concurrent starts of the same owner on the same quiz until commit
+    PERFORM pg_advisory_xact_lock(hashtextextended('quiz_attempt:' || NEW.quiz_id || ':' || owner_key, 0));
+
+    IF EXISTS (SELECT 1
+               FROM quiz_attempt
+               WHERE quiz_id = NEW.quiz_id
+                 AND completed_at IS NULL
+                 AND id <> NEW.id
+                 AND ((NEW.user_id IS NOT NULL AND user_id = NEW.user_id)
+                   OR (NEW.user_id IS NULL AND user_id IS NULL AND anonymous_session_id = NEW.anonymous_session_id))) THEN
+        RAISE EXCEPTION 'An in-progress attempt already exists for quiz % and %', NEW.quiz_id, owner_key
+            USING ERRCODE = 'unique_violation';
+    END IF;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_quiz_attempt_single_in_progress
+    BEFORE INSERT
+    ON quiz_attempt
+    FOR EACH ROW
+EXECUTE FUNCTION enforce_single_in_progress_attempt();
+
+COMMENT ON TABLE quiz_attempt IS 'Quiz attempts, range-partitioned by month on started_at';
+COMMENT ON TABLE quiz_answer IS 'Quiz answers, range-partitioned by month on answered_at';
+COMMENT ON COLUMN quiz_attempt.quiz_version_number IS 'The quiz version at attempt start time. Used for accurate scoring against historical content.';
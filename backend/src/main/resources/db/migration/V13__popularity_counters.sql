@@ -0,0 +1,83 @@
+-- V13: Denormalized attempt/enrollment counters and time-decayed popularity for quiz and course
+--
+-- Counters are maintained by PopularityCounterService, which coalesces increments in memory and
+-- applies them in one batched UPDATE per flush instead of a row update per attempt.
+--
+-- popularity_score is the natural log of sum(2 ^ ((event_time - 2024-01-01) / 7 days)) over all
+-- attempt starts (quiz) or enrollments (course). Anchoring the exponent to a fixed epoch instead of
+-- "now" means the score never has to be decayed in place: ordering by it is the same as ordering by
+-- a 7-day half-life decayed count at any moment, and new events are folded in with log-add-exp.
+
+ALTER TABLE quiz
+    ADD COLUMN attempt_count         BIGINT           NOT NULL DEFAULT 0,
+    ADD COLUMN completion_count      BIGINT           NOT NULL DEFAULT 0,
+    ADD COLUMN popularity_score      DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+ALTER TABLE course
+    ADD COLUMN enrollment_count      BIGINT           NOT NULL DEFAULT 0,
+    ADD COLUMN completion_count      BIGINT           NOT NULL DEFAULT 0,
+    ADD COLUMN popularity_score      DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+-- =====================================================
+-- Backfill
+-- =====================================================
+
+WITH events AS (SELECT quiz_id,
+                       EXTRACT(EPOCH FROM started_at - TIMESTAMPTZ '2024-01-01 00:00:00+00') / 604800.0 * LN(2) AS x,
+                       completed_at
+                FROM quiz_attempt),
+     stats AS (SELECT quiz_id,
+                      COUNT(*)            AS attempts,
+                      COUNT(completed_at) AS completions,
+                      MAX(x)              AS max_x
+               FROM events
+               GROUP BY quiz_id),
+     scores AS (SELECT e.quiz_id, s.max_x + LN(SUM(EXP(e.x - s.max_x))) AS score
+                FROM events e
+                JOIN stats s ON s.quiz_id = e.quiz_id
+                GROUP BY e.quiz_id, s.max_x)
+UPDATE quiz q
+SET attempt_count    = s.attempts,
+    completion_count = s.completions,
+    popularity_score = sc.score
+FROM stats s
+JOIN scores sc ON sc.quiz_id = s.quiz_id
+WHERE q.id = s.quiz_id;
+
+WITH events AS (SELECT course_id,
+                       EXTRACT(EPOCH FROM enrolled_at - TIMESTAMPTZ '2024-01-01 00:00:00+00') / 604800.0 * LN(2) AS x,
+                       completed_at
+                FROM enrollment),
+     stats AS (SELECT course_id,
+                      COUNT(*)            AS enrollments,
+                      COUNT(completed_at) AS completions,
+                      MAX(x)              AS max_x
+               FROM events
+               GROUP BY course_id),
+     scores AS (SELECT e.course_id, s.max_x + LN(SUM(EXP(e.x - s.max_x))) AS score
+                FROM events e
+                JOIN stats s ON s.course_id = e.course_id
+                GROUP BY e.course_id, s.max_x)
+UPDATE course c
+SET enrollment_count = s.enrollments,
+    completion_count = s.completions,
+    popularity_score = sc.score
+FROM stats s
+JOIN scores sc ON sc.course_id = s.course_id
+WHERE c.id = s.course_id;
+
+-- =====================================================
+-- Popular-first browsing of public content
+-- =====================================================
+
+CREATE INDEX idx_quiz_public_popular ON quiz (popularity_score DESC, id)
+    WHERE status = 'PUBLISHED' AND is_public = true;
+CREATE INDEX idx_course_published_popular ON course (popularity_score DESC, id)
+    WHERE published = true;
+
+COMMENT ON COLUMN quiz.attempt_count IS 'Number of attempts started, maintained in batches by the application';
+COMMENT ON COLUMN quiz.completion_count IS 'Number of attempts completed, maintained in batches by the application';
+COMMENT ON COLUMN quiz.popularity_score IS 'ln(sum(2^((started_at - 2024-01-01) / 7 days))) over attempts; orders like a 7-day half-life decayed count';
+COMMENT ON COLUMN course.enrollment_count IS 'Number of current enrollments, maintained in batches by the application';
+COMMENT ON COLUMN course.completion_count IS 'Number of completed enrollments, maintained in batches by the application';
+COMMENT ON COLUMN course.popularity_score IS 'ln(sum(2^((enrolled_at - 2024-01-01) / 7 days))) over enrollments; orders like a 7-day half-life decayed count';
@@ -0,0 +1,122 @@
+-- V14: Weighted full-text search vectors for quiz and course
+--
+-- search_vector weights title (A) over description (B) over tag names (C). Generated columns cannot
+-- read other tables, so tag names are denormalized into tag_names and kept current by triggers on
+-- quiz_tag / course_tag and on tag renames.
+
+-- =====================================================
+-- 1. Denormalized tag names
+-- =====================================================
+
+ALTER TABLE quiz ADD COLUMN tag_names TEXT NOT NULL DEFAULT '';
+ALTER TABLE course ADD COLUMN tag_names TEXT NOT NULL DEFAULT '';
+
+UPDATE quiz q
+SET tag_names = COALESCE((SELECT string_agg(t.name, ' ' ORDER BY t.name)
+                          FROM quiz_tag qt
+                          JOIN tag t ON t.id = qt.tag_id
+                          WHERE qt.quiz_id = q.id), '');
+
+UPDATE course c
+SET tag_names = COALESCE((SELECT string_agg(t.name, ' ' ORDER BY t.name)
+                          FROM course_tag ct
+                          JOIN tag t ON t.id = ct.tag_id
+                          WHERE ct.course_id = c.id), '');
+
+CREATE OR REPLACE FUNCTION refresh_quiz_tag_names(target_quiz_id UUID) RETURNS VOID AS
+$$
+UPDATE quiz q
+SET tag_names = COALESCE((SELECT string_agg(t.name, ' ' ORDER BY t.name)
+                          FROM quiz_tag qt
+                          JOIN tag t ON t.id = qt.tag_id
+                          WHERE qt.quiz_id = q.id), '')
+WHERE q.id = target_quiz_id;
+$$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION refresh_course_tag_names(target_course_id UUID) RETURNS VOID AS
+$$
+UPDATE course c
+SET tag_names = COALESCE((SELECT string_agg(t.name, ' ' ORDER BY t.name)
+                          FROM course_tag ct
+                          JOIN tag t ON t.id = ct.tag_id
+                          WHERE ct.course_id = c.id), '')
+WHERE c.id = target_course_id;
+$$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION quiz_tag_changed() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM refresh_quiz_tag_names(OLD.quiz_id);
+    ELSE
+        PERFORM refresh_quiz_tag_names(NEW.quiz_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION course_tag_changed() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM refresh_course_tag_names(OLD.course_id);
+    ELSE
+        PERFORM refresh_course_tag_names(NEW.course_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION tag_renamed() RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM refresh_quiz_tag_names(qt.quiz_id) FROM quiz_tag qt WHERE qt.tag_id = NEW.id;
+    PERFORM refresh_course_tag_names(ct.course_id) FROM course_tag ct WHERE ct.tag_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_quiz_tag_names
+    AFTER INSERT OR DELETE
+    ON quiz_tag
+    FOR EACH ROW
+EXECUTE FUNCTION quiz_tag_changed();
+
+CREATE TRIGGER trg_course_tag_names
+    AFTER INSERT OR DELETE
+    ON course_tag
+    FOR EACH ROW
+EXECUTE FUNCTION course_tag_changed();
+
+CREATE TRIGGER trg_tag_renamed
+    AFTER UPDATE OF name
+    ON tag
+    FOR EACH ROW
+    WHEN (OLD.name IS DISTINCT FROM NEW.name)
+EXECUTE FUNCTION tag_renamed();
+
+-- =====================================================
+-- 2. Search vectors
+-- =====================================================
+
+ALTER TABLE quiz
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', COALESCE(title, '')), 'A') ||
+        setweight(to_tsvector('english', COALESCE(description, '')), 'B') ||
+        setweight(to_tsvector('english', tag_names), 'C')
+        ) STORED;
+
+ALTER TABLE course
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', COALESCE(title, '')), 'A') ||
+        setweight(to_tsvector('english', COALESCE(description, '')), 'B') ||
+        setweight(to_tsvector('english', tag_names), 'C')
+        ) STORED;
+
+CREATE INDEX idx_quiz_search_vector ON quiz USING GIN (search_vector);
+CREATE INDEX idx_course_search_vector ON course USING GIN (search_vector);
+
+COMMENT ON COLUMN quiz.tag_names IS 'Space-separated tag names, maintained by trigger for search_vector';
+COMMENT ON COLUMN quiz.search_vector IS 'Weighted full-text vector: title (A), description (B), tag names (C)';
+COMMENT ON COLUMN course.tag_names IS 'Space-separated tag names, maintained by trigger for search_vector';
+COMMENT ON COLUMN course.search_vector IS 'Weighted full-text vector: title (A), description (B), tag names (C)';
@@ -0,0 +1,12 @@
+-- V15: Trigram indexes for the typo-tolerant quick-search dropdown
+--
+-- Quick search matches titles with pg_trgm word similarity (query <% title), which tolerates
+-- misspellings and partial words. The indexes are partial so they only cover browsable content.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_quiz_public_title_trgm ON quiz USING GIN (title gin_trgm_ops)
+    WHERE status = 'PUBLISHED' AND is_public = true;
+
+CREATE INDEX idx_course_published_title_trgm ON course USING GIN (title gin_trgm_ops)
+    WHERE published = true;
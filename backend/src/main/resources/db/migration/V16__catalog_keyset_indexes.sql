@@ -0,0 +1,14 @@
+-- V16: Indexes for keyset pagination of the public catalog
+--
+-- Browse listings seek past the last row seen with (sort column, id) instead of an OFFSET, ordering by
+-- the column descending and the ID ascending. popularity_score is covered by the V13 indexes.
+
+CREATE INDEX idx_quiz_public_newest ON quiz (created_at DESC, id)
+    WHERE status = 'PUBLISHED' AND is_public = true;
+CREATE INDEX idx_quiz_public_updated ON quiz (updated_at DESC, id)
+    WHERE status = 'PUBLISHED' AND is_public = true;
+
+CREATE INDEX idx_course_published_newest ON course (created_at DESC, id)
+    WHERE published = true;
+CREATE INDEX idx_course_published_updated ON course (updated_at DESC, id)
+    WHERE published = true;
@@ -0,0 +1,7 @@
+-- V17: Reverse indexes on the tag link tables
+--
+-- Catalog tag filters resolve slugs to tag IDs up front and semi-join quiz_tag / course_tag on
+-- tag_id. The primary keys lead with the content ID, so they cannot drive a lookup by tag.
+
+CREATE INDEX idx_quiz_tag_tag ON quiz_tag (tag_id, quiz_id);
+CREATE INDEX idx_course_tag_tag ON course_tag (tag_id, course_id);
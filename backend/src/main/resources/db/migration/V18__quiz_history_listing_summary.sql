@@ -0,0 +1,76 @@
+-- V18: Listing summary columns on quiz_history
+--
+-- Browse and search cards of published quizzes only need a handful of fields, but reading them from
+-- the snapshot JSONB detoasts and deserializes every question. The fields are written next to the
+-- snapshot when a version is saved (QuizHistory#deriveSummary) so listings can select just these.
+
+ALTER TABLE quiz_history
+    ADD COLUMN summary_title        VARCHAR(255),
+    ADD COLUMN summary_description  TEXT,
+    ADD COLUMN question_count       INTEGER,
+    ADD COLUMN total_points         INTEGER,
+    ADD COLUMN time_limit           INTEGER,
+    ADD COLUMN passing_score        INTEGER,
+    ADD COLUMN max_attempts         INTEGER,
+    ADD COLUMN is_public            BOOLEAN,
+    ADD COLUMN allow_anonymous      BOOLEAN,
+    ADD COLUMN category_id          UUID,
+    ADD COLUMN course_id            UUID,
+    ADD COLUMN tag_names            TEXT[],
+    ADD COLUMN available_from       TIMESTAMPTZ,
+    ADD COLUMN available_until      TIMESTAMPTZ,
+    ADD COLUMN results_visible_from TIMESTAMPTZ;
+
+-- =====================================================
+-- Backfill from existing snapshots
+-- =====================================================
+
+-- Instants may have been serialized as epoch seconds or as ISO-8601 strings
+CREATE FUNCTION v18_snapshot_instant(value JSONB) RETURNS TIMESTAMPTZ AS
+$$
+SELECT CASE jsonb_typeof(value)
+           WHEN 'number' THEN to_timestamp(CAST(CAST(value AS TEXT) AS DOUBLE PRECISION))
+           WHEN 'string' THEN CAST(value #>> '{}' AS TIMESTAMPTZ)
+           END
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE FUNCTION v18_snapshot_array(value JSONB) RETURNS JSONB AS
+$$
+SELECT CASE WHEN jsonb_typeof(value) = 'array' THEN value ELSE '[]'::jsonb END
+$$ LANGUAGE sql IMMUTABLE;
+
+UPDATE quiz_history h
+SET summary_title        = h.snapshot ->> 'title',
+    summary_description  = h.snapshot ->> 'description',
+    question_count       = jsonb_array_length(v18_snapshot_array(h.snapshot -> 'questions')),
+    total_points         = COALESCE((SELECT SUM(COALESCE(CAST(q ->> 'points' AS INTEGER), 1))
+                                     FROM jsonb_array_elements(v18_snapshot_array(h.snapshot -> 'questions')) q), 0),
+    time_limit           = CAST(h.snapshot -> 'settings' ->> 'timeLimit' AS INTEGER),
+    passing_score        = CAST(h.snapshot -> 'settings' ->> 'passingScore' AS INTEGER),
+    max_attempts         = CAST(h.snapshot -> 'settings' ->> 'maxAttempts' AS INTEGER),
+    is_public            = COALESCE(CAST(COALESCE(h.snapshot -> 'access' ->> 'isPublic',
+                                                  h.snapshot -> 'access' ->> 'public') AS BOOLEAN), true),
+    allow_anonymous      = COALESCE(CAST(h.snapshot -> 'access' ->> 'allowAnonymous' AS BOOLEAN), false),
+    category_id          = CAST(h.snapshot ->> 'categoryId' AS UUID),
+    course_id            = CAST(h.snapshot ->> 'courseId' AS UUID),
+    tag_names            = CASE
+                               WHEN jsonb_typeof(h.snapshot -> 'tagNames') = 'array'
+                                   THEN ARRAY(SELECT jsonb_array_elements_text(h.snapshot -> 'tagNames'))
+                               END,
+    available_from       = v18_snapshot_instant(h.snapshot -> 'scheduling' -> 'availableFrom'),
+    available_until      = v18_snapshot_instant(h.snapshot -> 'scheduling' -> 'availableUntil'),
+    results_visible_from = v18_snapshot_instant(h.snapshot -> 'scheduling' -> 'resultsVisibleFrom');
+
+DROP FUNCTION v18_snapshot_instant(JSONB);
+DROP FUNCTION v18_snapshot_array(JSONB);
+
+ALTER TABLE quiz_history
+    ALTER COLUMN question_count SET NOT NULL,
+    ALTER COLUMN total_points SET NOT NULL,
+    ALTER COLUMN is_public SET NOT NULL,
+    ALTER COLUMN allow_anonymous SET NOT NULL;
+
+COMMENT ON COLUMN quiz_history.summary_title IS 'Snapshot title, copied for listings';
+COMMENT ON COLUMN quiz_history.question_count IS 'Number of questions in the snapshot, copied for listings';
+COMMENT ON COLUMN quiz_history.total_points IS 'Sum of question points in the snapshot (unset points count as 1)';
+COMMENT ON COLUMN quiz_history.tag_names IS 'Snapshot tag names, NULL when the snapshot predates tag capture';
@@ -0,0 +1,16 @@
+-- V19: MinHash signatures of published quiz versions for "similar quizzes" recommendations
+--
+-- Each row holds the signature of the quiz's published version: 128 MinHash values (32-bit, big-endian)
+-- over title/question word shingles plus tag and category features. Written by the application when a
+-- version is published and loaded into an in-memory LSH index, so lookups never scan this table.
+
+CREATE TABLE quiz_similarity_signature
+(
+    quiz_id        UUID PRIMARY KEY REFERENCES quiz (id) ON DELETE CASCADE,
+    version_number INTEGER     NOT NULL,
+    signature      BYTEA       NOT NULL,
+    updated_at     TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+COMMENT ON TABLE quiz_similarity_signature IS 'MinHash signature of the published version of each quiz, maintained by the application';
+COMMENT ON COLUMN quiz_similarity_signature.version_number IS 'quiz_history version the signature was computed from; stale when it differs from quiz.published_version_number';
@@ -0,0 +1,21 @@
+-- V20: Authentication audit events
+--
+-- Append-only table written in batches by the background audit writer (AuditLogService).
+-- Emails are stored masked, as in the AUDIT log. Rows past the retention period are deleted daily.
+
+CREATE TABLE audit_event
+(
+    id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    occurred_at TIMESTAMPTZ NOT NULL,
+    event_type  VARCHAR(50) NOT NULL,
+    user_id     UUID,
+    email       VARCHAR(255),
+    ip_address  VARCHAR(45),
+    details     TEXT
+);
+
+CREATE INDEX idx_audit_event_occurred_at ON audit_event (occurred_at);
+CREATE INDEX idx_audit_event_user ON audit_event (user_id, occurred_at) WHERE user_id IS NOT NULL;
+
+COMMENT ON TABLE audit_event IS 'Authentication audit trail, written asynchronously in batches by the application';
+COMMENT ON COLUMN audit_event.email IS 'Masked email (first and last character of the local part and the domain)';
@@ -0,0 +1,32 @@
+-- V21: Item-analysis watermarks
+--
+-- item_analysis_run records when each quiz version was last analysed, also when no statistics came out,
+-- so versions without usable answers are not recomputed on every run. item_analysis_watermark holds the
+-- completed_at up to which the job has found every stale version, so each run only scans newer attempts.
+
+CREATE TABLE item_analysis_run
+(
+    quiz_id             UUID        NOT NULL REFERENCES quiz (id) ON DELETE CASCADE,
+    quiz_version_number INTEGER     NOT NULL,
+    computed_at         TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (quiz_id, quiz_version_number)
+);
+
+INSERT INTO item_analysis_run (quiz_id, quiz_version_number, computed_at)
+SELECT quiz_id, quiz_version_number, MAX(computed_at)
+FROM question_item_stat
+GROUP BY quiz_id, quiz_version_number;
+
+CREATE TABLE item_analysis_watermark
+(
+    id            BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    scanned_until TIMESTAMPTZ NOT NULL
+);
+
+-- Start from the beginning; the first run finds every version not covered by the backfill above
+INSERT INTO item_analysis_watermark (scanned_until) VALUES (TIMESTAMPTZ '1970-01-01 00:00:00+00');
+
+CREATE INDEX idx_quiz_attempt_completed_at ON quiz_attempt (completed_at) WHERE completed_at IS NOT NULL;
+
+COMMENT ON TABLE item_analysis_run IS 'Last item-analysis computation of each quiz version, maintained by the application';
+COMMENT ON TABLE item_analysis_watermark IS 'Single row: completed_at up to which the item-analysis job has scanned quiz_attempt';
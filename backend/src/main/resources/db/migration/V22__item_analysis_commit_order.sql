@@ -0,0 +1,43 @@
+-- V22: Item-analysis watermarks in commit order
+--
+-- completed_at comes from the application clock and is set before the attempt's transaction commits, so an
+-- attempt committing after a run that already scanned past its completed_at was never analysed. Completed
+-- attempts now record the ID of the transaction that completed them, and the watermarks hold the oldest
+-- transaction still running when they were taken: every attempt with a lower ID is committed (or rolled
+-- back) and visible, every attempt with a higher ID is picked up by the next run.
+
+ALTER TABLE quiz_attempt ADD COLUMN completed_xid BIGINT;
+
+-- Existing attempts predate the watermarks; 0 makes every version with one stale once
+UPDATE quiz_attempt SET completed_xid = 0 WHERE completed_at IS NOT NULL;
+
+CREATE OR REPLACE FUNCTION record_attempt_completed_xid()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF NEW.completed_at IS NOT NULL
+        AND (TG_OP = 'INSERT' OR OLD.completed_at IS DISTINCT FROM NEW.completed_at) THEN
+        NEW.completed_xid := CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_quiz_attempt_completed_xid
+    BEFORE INSERT OR UPDATE OF completed_at
+    ON quiz_attempt
+    FOR EACH ROW
+EXECUTE FUNCTION record_attempt_completed_xid();
+
+DROP INDEX idx_quiz_attempt_completed_at;
+CREATE INDEX idx_quiz_attempt_completed_xid ON quiz_attempt (completed_xid) WHERE completed_xid IS NOT NULL;
+
+-- Runs recorded so far carry no transaction horizon; 0 lets the backfilled attempts above recompute them once
+ALTER TABLE item_analysis_run ADD COLUMN analysed_xmin BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE item_analysis_watermark ADD COLUMN scanned_xmin BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE item_analysis_watermark DROP COLUMN scanned_until;
+
+COMMENT ON COLUMN quiz_attempt.completed_xid IS 'Transaction that completed the attempt, maintained by trigger';
+COMMENT ON COLUMN item_analysis_run.analysed_xmin IS 'Oldest running transaction when the run started; attempts completed by it or later are not covered';
+COMMENT ON TABLE item_analysis_watermark IS 'Single row: transaction horizon up to which the item-analysis job has scanned quiz_attempt';
@@ -0,0 +1,122 @@
+package io.froebel.backend.auth.security;
+
+import io.froebel.backend.config.AppProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteTreeTest {
+
+    @Test
+    void returnsEveryLiteralAndWildcardMatch() {
+        RouteTree<String> tree = new RouteTree<>();
+        tree.add("/api/v1/quizzes/public", "literal");
+        tree.add("/api/v1/quizzes/{quizId}", "variable");
+        tree.add("/api/v1/quizzes/*", "wildcard");
+        tree.add("/api/v1/quizzes/**", "catch-all");
+        tree.add("/api/v1/courses/{courseId}", "other");
+
+        assertEquals(Set.of("literal", "variable", "wildcard", "catch-all"),
+            values(tree.match("/api/v1/quizzes/public")));
+        assertEquals(Set.of("variable", "wildcard", "catch-all"), values(tree.match("/api/v1/quizzes/abc")));
+        assertEquals(Set.of("catch-all"), values(tree.match("/api/v1/quizzes/abc/attempts")));
+        assertTrue(tree.match("/api/v1/media/abc").isEmpty());
+    }
+
+    @Test
+    void trailingDoubleWildcardMatchesZeroOrMoreSegments() {
+        RouteTree<String> tree = new RouteTree<>();
+        tree.add("/api/v1/search/**", "search");
+
+        assertEquals(Set.of("search"), values(tree.match("/api/v1/search")));
+        assertEquals(Set.of("search"), values(tree.match("/api/v1/search/quizzes")));
+        assertEquals(Set.of("search"), values(tree.match("/api/v1/search/quizzes/suggest")));
+        assertTrue(tree.match("/api/v1/searching").isEmpty());
+        assertTrue(tree.match("/api/v1").isEmpty());
+    }
+
+    @Test
+    void ignoresLeadingAndTrailingSlashes() {
+        RouteTree<String> tree = new RouteTree<>();
+        tree.add("/api/v1/auth/login/", "login");
+
+        assertEquals(Set.of("login"), values(tree.match("/api/v1/auth/login")));
+        assertEquals(Set.of("login"), values(tree.match("/api/v1/auth/login/")));
+        assertEquals(Set.of("login"), values(tree.match("api/v1/auth/login")));
+        assertTrue(tree.match("/api/v1/auth").isEmpty());
+    }
+
+    @Test
+    void capturesNamedSegmentsInOrder() {
+        RouteTree<String> tree = new RouteTree<>();
+        tree.add("/api/v1/quizzes/{quizId}/attempts/{attemptId}/submit", "submit");
+        tree.add("/api/v1/quizzes/*/attempts/{attemptId}", "attempt");
+
+        List<RouteTree.Match<String>> submit = tree.match("/api/v1/quizzes/q-1/attempts/a-2/submit");
+        assertEquals(1, submit.size());
+        assertEquals(Map.of("quizId", "q-1", "attemptId", "a-2"), submit.get(0).variables());
+
+        // Unnamed wildcards consume a segment without being captured
+        List<RouteTree.Match<String>> attempt = tree.match("/api/v1/quizzes/q-1/attempts/a-2");
+        assertEquals(1, attempt.size());
+        assertEquals(Map.of("attemptId", "a-2"), attempt.get(0).variables());
+    }
+
+    @Test
+    void rejectsDoubleWildcardBeforeTheEnd() {
+        RouteTree<String> tree = new RouteTree<>();
+        assertThrows(IllegalArgumentException.class, () -> tree.add("/api/**/quizzes", "invalid"));
+    }
+
+    @Test
+    void configuredPoliciesMatchTheirRoutes() throws Exception {
+        // The test resources shadow application.yaml on the classpath, so read the shipped file directly
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+            .load("application", new FileSystemResource("src/main/resources/application.yaml"));
+        List<AppProperties.RateLimitPolicy> policies = new Binder(ConfigurationPropertySources.from(sources))
+            .bind("app.rate-limiting.policies", Bindable.listOf(AppProperties.RateLimitPolicy.class))
+            .get();
+        assertFalse(policies.isEmpty());
+
+        RouteTree<String> tree = new RouteTree<>();
+        for (AppProperties.RateLimitPolicy policy : policies) {
+            tree.add(policy.getPattern(), policy.getName());
+        }
+
+        assertEquals(Set.of("public-quizzes"), values(tree.match("/api/v1/quizzes/public")));
+        assertEquals(Set.of("public-quizzes"), values(tree.match("/api/v1/quizzes/public/abc")));
+        assertEquals(Set.of("public-courses"), values(tree.match("/api/v1/courses/public/abc/")));
+        assertEquals(Set.of("search"), values(tree.match("/api/v1/search")));
+        assertEquals(Set.of("media"), values(tree.match("/api/v1/media/abc/file")));
+        assertTrue(tree.match("/api/v1/auth/login").isEmpty());
+        assertTrue(tree.match("/api/v1/quizzes/abc").isEmpty());
+
+        List<RouteTree.Match<String>> attempts = tree.match("/api/v1/quizzes/q-1/attempts");
+        assertEquals(1, attempts.size());
+        assertEquals("quiz-attempts", attempts.get(0).value());
+        assertEquals("q-1", attempts.get(0).variables().get("quizId"));
+
+        List<RouteTree.Match<String>> submit = tree.match("/api/v1/quizzes/q-1/attempts/a-2/submit");
+        assertEquals(1, submit.size());
+        assertEquals("quiz-submit", submit.get(0).value());
+        assertEquals("q-1", submit.get(0).variables().get("quizId"));
+    }
+
+    private static Set<String> values(List<RouteTree.Match<String>> matches) {
+        return matches.stream().map(RouteTree.Match::value).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,125 @@
+package io.froebel.backend.auth.security;
+
+import io.froebel.backend.config.AppProperties;
+import io.froebel.backend.model.entity.User;
+import io.froebel.backend.model.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserPrincipalCacheTest {
+
+    private AppProperties appProperties;
+    private UserPrincipalCache cache;
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        // No connection factory: publishing fails and the cache falls back to local eviction
+        cache = new UserPrincipalCache(appProperties, new StringRedisTemplate(), new RedisMessageListenerContainer());
+    }
+
+    @Test
+    void servesTheCachedPrincipalUntilEvicted() {
+        UserPrincipal first = cache.get(userId, loader("a@example.com"));
+        assertSame(first, cache.get(userId, loader("b@example.com")));
+        assertEquals(1, loads.get());
+
+        cache.evict(userId);
+        assertEquals("b@example.com", cache.get(userId, loader("b@example.com")).getEmail());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void reloadsAfterTheTtl() {
+        appProperties.getSecurity().setPrincipalCacheTtlMs(0);
+        cache.get(userId, loader("a@example.com"));
+        cache.get(userId, loader("a@example.com"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictsOnCommittedChangesAndOnMessagesFromOtherNodes() {
+        cache.get(userId, loader("a@example.com"));
+        cache.onUserPrincipalChanged(new UserPrincipalChangedEvent(userId));
+        assertEquals("b@example.com", cache.get(userId, loader("b@example.com")).getEmail());
+
+        cache.onMessage(message(userId.toString()), null);
+        assertEquals("c@example.com", cache.get(userId, loader("c@example.com")).getEmail());
+
+        cache.onMessage(message("not-a-uuid"), null);
+        assertEquals("c@example.com", cache.get(userId, loader("d@example.com")).getEmail());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void doesNotCacheALoadThatOverlappedAnEviction() {
+        // The change commits and evicts while this request is still loading the old row
+        UserPrincipal stale = cache.get(userId, id -> {
+            UserPrincipal principal = loader("old@example.com").apply(id);
+            cache.evict(id);
+            return principal;
+        });
+        assertEquals("old@example.com", stale.getEmail());
+
+        assertEquals("new@example.com", cache.get(userId, loader("new@example.com")).getEmail());
+        assertEquals(2, loads.get());
+        assertEquals("new@example.com", cache.get(userId, loader("newer@example.com")).getEmail());
+    }
+
+    @Test
+    void cachesNothingWhenTheLoaderFails() {
+        assertThrows(IllegalStateException.class, () -> cache.get(userId, id -> {
+            throw new IllegalStateException("User not found");
+        }));
+        cache.get(userId, loader("a@example.com"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void staysWithinTheConfiguredSize() throws Exception {
+        appProperties.getSecurity().setPrincipalCacheSize(3);
+        for (int i = 0; i < 20; i++) {
+            cache.get(UUID.randomUUID(), loader("user" + i + "@example.com"));
+            assertTrue(entries().size() <= 3, "cache grew to " + entries().size());
+        }
+        assertFalse(entries().isEmpty());
+    }
+
+    private Function<UUID, UserPrincipal> loader(String email) {
+        return id -> {
+            loads.incrementAndGet();
+            User user = User.builder().email(email).password("hash").role(Role.USER).emailVerified(true).build();
+            user.setId(id);
+            return new UserPrincipal(user);
+        };
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(UserPrincipalCache.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<?, ?> entries() throws Exception {
+        Field field = UserPrincipalCache.class.getDeclaredField("entries");
+        field.setAccessible(true);
+        return (Map<?, ?>) field.get(cache);
+    }
+}
@@ -0,0 +1,147 @@
+package io.froebel.backend.auth.service;
+
+import io.froebel.backend.auth.service.AuditLogService.AuthEventType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditRingBufferTest {
+
+    @Test
+    void deliversEveryRecordFromConcurrentProducersExactlyOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        AuditRingBuffer buffer = new AuditRingBuffer(64);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < perProducer; i++) {
+                    // A small ring fills up constantly; retry so every record eventually goes through
+                    while (!buffer.tryPublish(AuthEventType.LOGIN_SUCCESS, null, null, null,
+                        producer + ":" + i, i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        int[] seen = new int[producers * perProducer];
+        int[] lastPerProducer = new int[producers];
+        Arrays.fill(lastPerProducer, -1);
+        start.countDown();
+
+        int received = 0;
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (received < seen.length && System.nanoTime() < deadline) {
+            int count = buffer.available(16);
+            for (int i = 0; i < count; i++) {
+                String[] parts = buffer.get(i).details.split(":");
+                int producer = Integer.parseInt(parts[0]);
+                int index = Integer.parseInt(parts[1]);
+                seen[producer * perProducer + index]++;
+                assertTrue(index > lastPerProducer[producer], "records of one producer arrived out of order");
+                lastPerProducer[producer] = index;
+            }
+            buffer.release(count);
+            received += count;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(seen.length, received);
+        for (int i = 0; i < seen.length; i++) {
+            assertEquals(1, seen[i], "record " + i + " delivered " + seen[i] + " times");
+        }
+        assertEquals(0, buffer.available(16));
+        assertEquals(0, buffer.depth());
+    }
+
+    @Test
+    void dropsRecordsWhileTheRingIsFull() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(publish(buffer, "event-" + i));
+        }
+        assertFalse(publish(buffer, "dropped"));
+        assertEquals(4, buffer.depth());
+
+        assertEquals(4, buffer.available(8));
+        buffer.release(2);
+        assertTrue(publish(buffer, "event-4"));
+        assertTrue(publish(buffer, "event-5"));
+        assertFalse(publish(buffer, "dropped"));
+
+        assertEquals(4, buffer.available(8));
+        for (int i = 0; i < 4; i++) {
+            assertEquals("event-" + (i + 2), buffer.get(i).details);
+        }
+    }
+
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        AuditRingBuffer buffer = new AuditRingBuffer(1000);
+        int accepted = 0;
+        while (publish(buffer, "event")) {
+            accepted++;
+        }
+        assertEquals(1024, accepted);
+    }
+
+    @Test
+    void stopsAtAClaimedButUnpublishedSlot() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(8);
+        assertTrue(publish(buffer, "first"));
+
+        // A producer has claimed sequence 1 but not yet published it, while a later producer has published 2
+        AtomicLong claimed = field(buffer, "claimed");
+        claimed.incrementAndGet();
+        assertTrue(publish(buffer, "third"));
+
+        assertEquals(1, buffer.available(8));
+        assertEquals("first", buffer.get(0).details);
+        buffer.release(1);
+        assertEquals(0, buffer.available(8));
+        assertNull(buffer.get(0).details);
+
+        AtomicLongArray published = field(buffer, "published");
+        published.set(1, 1);
+        assertEquals(2, buffer.available(8));
+        assertEquals("third", buffer.get(1).details);
+    }
+
+    private static boolean publish(AuditRingBuffer buffer, String details) {
+        return buffer.tryPublish(AuthEventType.LOGIN_FAILED, null, "user@example.com", "127.0.0.1", details,
+            System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T field(AuditRingBuffer buffer, String name) throws Exception {
+        Field field = AuditRingBuffer.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return (T) field.get(buffer);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.froebel.backend.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlacklistBloomFilterTest {
+
+    private static final long HOUR = 3600;
+
+    @Test
+    void reportsEveryAddedJtiUntilItsSegmentExpires() {
+        BlacklistBloomFilter filter = new BlacklistBloomFilter(1000, 0.01);
+        long now = System.currentTimeMillis() / 1000;
+
+        // Several times the expected count per segment, spread over the current and coming hours
+        List<String> jtis = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String jti = UUID.randomUUID().toString();
+            filter.add(jti, now + (i % 3) * HOUR);
+            jtis.add(jti);
+        }
+
+        for (String jti : jtis) {
+            assertTrue(filter.mightContain(jti), "false negative for " + jti);
+        }
+    }
+
+    @Test
+    void rarelyReportsJtisThatWereNotAdded() {
+        BlacklistBloomFilter filter = new BlacklistBloomFilter(1000, 0.01);
+        long now = System.currentTimeMillis() / 1000;
+        for (int i = 0; i < 1000; i++) {
+            filter.add(UUID.randomUUID().toString(), now + HOUR);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 500, "false positive rate too high: " + falsePositives);
+    }
+
+    @Test
+    void dropsSegmentsWhoseHourHasPassed() throws Exception {
+        BlacklistBloomFilter filter = new BlacklistBloomFilter(100, 0.01);
+        long now = System.currentTimeMillis() / 1000;
+        filter.add("expired-yesterday", now - 24 * HOUR);
+        filter.add("expired-last-hour", now - 2 * HOUR);
+        filter.add("still-valid", now + HOUR);
+        assertEquals(3, segments(filter).size());
+
+        assertFalse(filter.mightContain("expired-yesterday"));
+        assertFalse(filter.mightContain("expired-last-hour"));
+        assertTrue(filter.mightContain("still-valid"));
+        assertEquals(1, segments(filter).size());
+    }
+
+    private static Map<?, ?> segments(BlacklistBloomFilter filter) throws Exception {
+        Field field = BlacklistBloomFilter.class.getDeclaredField("segments");
+        field.setAccessible(true);
+        return (Map<?, ?>) field.get(filter);
+    }
+}
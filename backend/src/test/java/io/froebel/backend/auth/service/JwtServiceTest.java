@@ -0,0 +1,124 @@
+package io.froebel.backend.auth.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-that-is-at-least-32-bytes-long-for-hs512-0123456789";
+    private static final String OTHER_SECRET = "another-secret-that-is-at-least-32-bytes-long-for-hs512-98765";
+
+    @Test
+    void verifiesAndCachesAGenuineToken() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 600_000, 100);
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        String token = jwtService.generateAccessToken(userId, "user@example.com", "USER", sessionId);
+
+        AccessTokenClaims claims = jwtService.verify(token).orElseThrow();
+        assertEquals(userId, claims.userId());
+        assertEquals("user@example.com", claims.email());
+        assertEquals("USER", claims.role());
+        assertEquals(sessionId, claims.sessionId());
+        assertEquals(1, cache(jwtService).size());
+
+        assertEquals(claims, jwtService.verify(token).orElseThrow());
+        assertEquals(1, cache(jwtService).size());
+    }
+
+    @Test
+    void rejectsAlteredTokensEvenWhenTheOriginalIsCached() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 600_000, 100);
+        String token = jwtService.generateAccessToken(UUID.randomUUID(), "user@example.com", "USER");
+        assertTrue(jwtService.verify(token).isPresent());
+
+        // Same signature over an escalated payload
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String escalated = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(payload.replace("\"USER\"", "\"ADMIN\"").getBytes(StandardCharsets.UTF_8));
+        assertFalse(jwtService.verify(parts[0] + "." + escalated + "." + parts[2]).isPresent());
+
+        // Flipped signature character and truncated signature
+        char[] signature = parts[2].toCharArray();
+        signature[10] = signature[10] == 'A' ? 'B' : 'A';
+        assertFalse(jwtService.verify(parts[0] + "." + parts[1] + "." + new String(signature)).isPresent());
+        assertFalse(jwtService.verify(parts[0] + "." + parts[1] + ".").isPresent());
+
+        assertEquals(1, cache(jwtService).size());
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 600_000, 100);
+        String forged = Jwts.builder()
+            .id(UUID.randomUUID().toString())
+            .subject(UUID.randomUUID().toString())
+            .claim("email", "user@example.com")
+            .claim("role", "ADMIN")
+            .issuedAt(new Date())
+            .expiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(OTHER_SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+            .compact();
+
+        assertFalse(jwtService.verify(forged).isPresent());
+        assertTrue(cache(jwtService).isEmpty());
+    }
+
+    @Test
+    void stopsServingCachedEntriesOnceExpired() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 600_000, 100);
+        String token = jwtService.generateAccessToken(UUID.randomUUID(), "user@example.com", "USER");
+        AccessTokenClaims claims = jwtService.verify(token).orElseThrow();
+
+        // Age the cached entry past its expiry; the cache must not serve it, whatever the token says
+        Map<String, AccessTokenClaims> cache = cache(jwtService);
+        String digest = cache.keySet().iterator().next();
+        cache.put(digest, new AccessTokenClaims(claims.jti(), claims.userId(), claims.email(), claims.role(),
+            claims.sessionId(), claims.issuedAt(), Instant.now().minusSeconds(1)));
+
+        assertFalse(jwtService.verify(token).isPresent());
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void rejectsExpiredTokens() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, -1_000, 600_000, 100);
+        String token = jwtService.generateAccessToken(UUID.randomUUID(), "user@example.com", "USER");
+
+        assertFalse(jwtService.verify(token).isPresent());
+        assertTrue(cache(jwtService).isEmpty());
+    }
+
+    @Test
+    void keepsTheCacheWithinItsConfiguredSize() throws Exception {
+        int cacheSize = 5;
+        JwtService jwtService = new JwtService(SECRET, 60_000, 600_000, cacheSize);
+
+        for (int i = 0; i < 50; i++) {
+            String token = jwtService.generateAccessToken(UUID.randomUUID(), "user" + i + "@example.com", "USER");
+            assertTrue(jwtService.verify(token).isPresent());
+            assertTrue(cache(jwtService).size() <= cacheSize, "cache grew to " + cache(jwtService).size());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, AccessTokenClaims> cache(JwtService jwtService) throws Exception {
+        Field field = JwtService.class.getDeclaredField("verifiedTokens");
+        field.setAccessible(true);
+        return (Map<String, AccessTokenClaims>) field.get(jwtService);
+    }
+}
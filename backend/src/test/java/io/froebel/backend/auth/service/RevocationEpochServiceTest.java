@@ -0,0 +1,172 @@
+package io.froebel.backend.auth.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevocationEpochServiceTest {
+
+    private static final String SECRET = "test-secret-that-is-at-least-32-bytes-long-for-hs512-0123456789";
+    private static final long EPOCH = 1_700_000_000L;
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private RedisMessageListenerContainer listenerContainer;
+    private RevocationEpochService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        Cursor<String> emptyScan = mock(Cursor.class);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(emptyScan);
+
+        listenerContainer = mock(RedisMessageListenerContainer.class);
+        when(listenerContainer.isListening()).thenReturn(true);
+
+        service = new RevocationEpochService(
+            redisTemplate, new JwtService(SECRET, 60_000, 600_000, 100), listenerContainer);
+        service.reseed();
+    }
+
+    @Test
+    void revokesTokensIssuedBeforeTheUserEpochOnly() {
+        UUID userId = UUID.randomUUID();
+        receive("user:" + userId + ":" + EPOCH);
+
+        assertTrue(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH - 1))));
+        assertTrue(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH - 1, 999_000_000))));
+        // Issued within the revocation's own second: a login right after "log out everywhere"
+        assertFalse(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH))));
+        assertFalse(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH, 999_000_000))));
+        assertFalse(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH + 1))));
+    }
+
+    @Test
+    void userEpochCoversEverySessionOfTheUser() {
+        UUID userId = UUID.randomUUID();
+        receive("user:" + userId + ":" + EPOCH);
+
+        assertTrue(service.isRevoked(claims(userId, UUID.randomUUID(), Instant.ofEpochSecond(EPOCH - 1))));
+        assertTrue(service.isRevoked(claims(userId, UUID.randomUUID(), Instant.ofEpochSecond(EPOCH - 1))));
+        assertFalse(service.isRevoked(claims(UUID.randomUUID(), null, Instant.ofEpochSecond(EPOCH - 1))));
+    }
+
+    @Test
+    void sessionEpochCoversThatSessionOnly() {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        receive("session:" + sessionId + ":" + EPOCH);
+
+        assertTrue(service.isRevoked(claims(userId, sessionId, Instant.ofEpochSecond(EPOCH - 1))));
+        assertFalse(service.isRevoked(claims(userId, sessionId, Instant.ofEpochSecond(EPOCH))));
+        assertFalse(service.isRevoked(claims(userId, UUID.randomUUID(), Instant.ofEpochSecond(EPOCH - 1))));
+        assertFalse(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH - 1))));
+    }
+
+    @Test
+    void laterEpochWinsAndEarlierMessagesDoNotRollItBack() {
+        UUID userId = UUID.randomUUID();
+        receive("user:" + userId + ":" + EPOCH);
+        receive("user:" + userId + ":" + (EPOCH - 100));
+
+        assertTrue(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH - 1))));
+
+        receive("user:" + userId + ":" + (EPOCH + 100));
+        assertTrue(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH + 99))));
+        assertFalse(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH + 100))));
+    }
+
+    @Test
+    void ignoresMalformedMessages() {
+        UUID userId = UUID.randomUUID();
+        receive("user:" + userId + ":not-a-number");
+        receive("no-separator");
+
+        assertFalse(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH - 1))));
+    }
+
+    @Test
+    void answersFromLocalEpochsWhileSubscribed() {
+        UUID userId = UUID.randomUUID();
+
+        assertFalse(service.isRevoked(claims(userId, UUID.randomUUID(), Instant.ofEpochSecond(EPOCH - 1))));
+        verify(valueOperations, never()).multiGet(anyList());
+    }
+
+    @Test
+    void asksRedisWhileUnsubscribed() {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        // Revoked on another node while this one was not subscribed: the message never arrived
+        when(valueOperations.multiGet(List.of(
+            "auth:revoked-before:user:" + userId, "auth:revoked-before:session:" + sessionId)))
+            .thenReturn(Arrays.asList(null, Long.toString(EPOCH)));
+        when(listenerContainer.isListening()).thenReturn(false);
+
+        assertTrue(service.isRevoked(claims(userId, sessionId, Instant.ofEpochSecond(EPOCH - 1))));
+        assertFalse(service.isRevoked(claims(userId, sessionId, Instant.ofEpochSecond(EPOCH))));
+    }
+
+    @Test
+    void keepsAskingRedisAfterResubscribingUntilReseeded() {
+        UUID userId = UUID.randomUUID();
+        when(valueOperations.multiGet(List.of("auth:revoked-before:user:" + userId)))
+            .thenReturn(Arrays.asList((String) null));
+
+        when(listenerContainer.isListening()).thenReturn(false);
+        assertFalse(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH - 1))));
+        when(listenerContainer.isListening()).thenReturn(true);
+        assertFalse(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH - 1))));
+        verify(valueOperations, times(2)).multiGet(anyList());
+
+        service.resyncIfNeeded();
+        assertFalse(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH - 1))));
+        verify(valueOperations, times(2)).multiGet(anyList());
+    }
+
+    @Test
+    void redisFailureWhileUnsubscribedFallsBackToLocalEpochs() {
+        UUID userId = UUID.randomUUID();
+        receive("user:" + userId + ":" + EPOCH);
+        when(valueOperations.multiGet(anyList())).thenThrow(new IllegalStateException("connection refused"));
+        when(listenerContainer.isListening()).thenReturn(false);
+
+        assertTrue(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH - 1))));
+        assertFalse(service.isRevoked(claims(userId, null, Instant.ofEpochSecond(EPOCH))));
+    }
+
+    private void receive(String body) {
+        service.onMessage(new DefaultMessage(
+            RevocationEpochService.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private static AccessTokenClaims claims(UUID userId, UUID sessionId, Instant issuedAt) {
+        return new AccessTokenClaims(UUID.randomUUID().toString(), userId, "user@example.com", "USER",
+            sessionId, issuedAt, issuedAt.plusSeconds(60));
+    }
+}
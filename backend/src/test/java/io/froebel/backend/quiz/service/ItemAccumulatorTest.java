@@ -0,0 +1,76 @@
+package io.froebel.backend.quiz.service;
+
+import io.froebel.backend.model.entity.QuestionItemStat;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ItemAccumulatorTest {
+
+    // Six attempts with totals 10, 8, 6, 4, 2, 0; the lower group scored <= 2, the upper group >= 8
+    private static final double[] TOTALS = {10, 8, 6, 4, 2, 0};
+    private static final double LOWER_CUTOFF = 2;
+    private static final double UPPER_CUTOFF = 8;
+
+    @Test
+    void computesDifficultyAndDiscriminationOfAFixedAttemptSet() {
+        QuestionItemStat stat = accumulate(new boolean[]{true, true, false, false, true, false}).toStat(1).build();
+
+        assertEquals(6, stat.getRespondentCount());
+        assertEquals(new BigDecimal("0.5000"), stat.getPValue());
+        // M1 = 20/3, M0 = 10/3, population sd = sqrt(35/3), p = q = 0.5
+        assertEquals(new BigDecimal("0.4880"), stat.getPointBiserial());
+        // Upper group 2/2 correct, lower group 1/2 correct
+        assertEquals(new BigDecimal("0.5000"), stat.getDiscriminationIndex());
+    }
+
+    @Test
+    void discriminatesNegativelyWhenWeakerAttemptsAnswerCorrectly() {
+        QuestionItemStat stat = accumulate(new boolean[]{false, false, false, true, true, true}).toStat(1).build();
+
+        assertEquals(new BigDecimal("0.5000"), stat.getPValue());
+        assertEquals(-1.0, stat.getDiscriminationIndex().doubleValue(), 1e-9);
+        assertEquals(-0.8783, stat.getPointBiserial().doubleValue(), 1e-4);
+    }
+
+    @Test
+    void reportsSelectionRatesPerChoice() {
+        ItemAnalysisService.ItemAccumulator acc = accumulate(new boolean[]{true, true, false, false, true, false});
+        acc.selections.merge("a", 4L, Long::sum);
+        acc.selections.merge("b", 3L, Long::sum);
+
+        QuestionItemStat stat = acc.toStat(1).build();
+
+        assertEquals(new BigDecimal("0.6667"), stat.getChoiceSelectionRates().get("a"));
+        assertEquals(new BigDecimal("0.5000"), stat.getChoiceSelectionRates().get("b"));
+    }
+
+    @Test
+    void leavesDiscriminationEmptyBelowMinimumRespondents() {
+        QuestionItemStat stat = accumulate(new boolean[]{true, true, false, false, true, false}).toStat(7).build();
+
+        assertEquals(new BigDecimal("0.5000"), stat.getPValue());
+        assertNull(stat.getPointBiserial());
+        assertNull(stat.getDiscriminationIndex());
+    }
+
+    @Test
+    void leavesPointBiserialEmptyWhenEveryoneAnsweredAlike() {
+        QuestionItemStat stat = accumulate(new boolean[]{true, true, true, true, true, true}).toStat(1).build();
+
+        assertEquals(new BigDecimal("1.0000"), stat.getPValue());
+        assertNull(stat.getPointBiserial());
+        assertEquals(new BigDecimal("0.0000"), stat.getDiscriminationIndex());
+    }
+
+    private static ItemAnalysisService.ItemAccumulator accumulate(boolean[] correct) {
+        ItemAnalysisService.ItemAccumulator acc = new ItemAnalysisService.ItemAccumulator();
+        for (int i = 0; i < TOTALS.length; i++) {
+            acc.add(correct[i], TOTALS[i], TOTALS[i] <= LOWER_CUTOFF, TOTALS[i] >= UPPER_CUTOFF);
+        }
+        return acc;
+    }
+}
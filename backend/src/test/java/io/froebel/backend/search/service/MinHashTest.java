@@ -0,0 +1,88 @@
+package io.froebel.backend.search.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashTest {
+
+    @Test
+    void signatureIsDeterministic() {
+        List<String> features = features("java", 40);
+
+        assertArrayEquals(MinHash.signature(features), MinHash.signature(new ArrayList<>(features)));
+        assertEquals(1.0, MinHash.similarity(MinHash.signature(features), MinHash.signature(features)));
+    }
+
+    @Test
+    void similarSetsShareABand() {
+        // 50 shared features and 5 of their own on each side: Jaccard 50 / 60
+        List<String> a = features("shared", 50);
+        List<String> b = new ArrayList<>(a);
+        a.addAll(features("only-a", 5));
+        b.addAll(features("only-b", 5));
+
+        int[] signatureA = MinHash.signature(a);
+        int[] signatureB = MinHash.signature(b);
+
+        assertTrue(sharedBands(signatureA, signatureB) > 0);
+        assertEquals(50.0 / 60.0, MinHash.similarity(signatureA, signatureB), 0.15);
+    }
+
+    @Test
+    void disjointSetsShareNoBand() {
+        int[] signatureA = MinHash.signature(features("algebra", 50));
+        int[] signatureB = MinHash.signature(features("history", 50));
+
+        assertEquals(0, sharedBands(signatureA, signatureB));
+        assertTrue(MinHash.similarity(signatureA, signatureB) < 0.1);
+    }
+
+    @Test
+    void equalRowsInDifferentBandsGetDifferentKeys() {
+        int[] constant = new int[MinHash.NUM_HASHES];
+        Arrays.fill(constant, 42);
+
+        long[] keys = MinHash.bandKeys(constant);
+
+        assertEquals(MinHash.BANDS, Arrays.stream(keys).distinct().count());
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        int[] signature = MinHash.signature(features("roundtrip", 10));
+
+        assertArrayEquals(signature, MinHash.fromBytes(MinHash.toBytes(signature)));
+        assertNull(MinHash.fromBytes(new byte[12]));
+        assertNull(MinHash.signature(List.of()));
+    }
+
+    private static int sharedBands(int[] a, int[] b) {
+        long[] keysA = MinHash.bandKeys(a);
+        long[] keysB = MinHash.bandKeys(b);
+        int shared = 0;
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            if (keysA[band] == keysB[band]) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    private static List<String> features(String prefix, int count) {
+        Set<String> features = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            features.add(prefix + "-" + i);
+        }
+        return new ArrayList<>(features);
+    }
+}
@@ -0,0 +1,167 @@
+package io.froebel.backend.search.service;
+
+import io.froebel.backend.config.AppProperties;
+import io.froebel.backend.model.entity.Quiz;
+import io.froebel.backend.model.enums.QuizStatus;
+import io.froebel.backend.repository.CourseRepository;
+import io.froebel.backend.repository.QuizRepository;
+import io.froebel.backend.search.dto.SearchQuizItem;
+import io.froebel.backend.search.dto.SearchResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TypeaheadIndexTest {
+
+    // Quizzes as stored in the database, read through the mocked repository
+    private final Map<UUID, Quiz> database = new LinkedHashMap<>();
+    private Runnable duringLoad = () -> { };
+
+    private QuizRepository quizRepository;
+    private AppProperties appProperties;
+    private TypeaheadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        quizRepository = mock(QuizRepository.class);
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        SearchItemMapper searchItemMapper = mock(SearchItemMapper.class);
+        appProperties = new AppProperties();
+
+        when(quizRepository.findByStatusAndIsPublicTrue(eq(QuizStatus.PUBLISHED), any(Pageable.class)))
+            .thenAnswer(invocation -> {
+                List<Quiz> published = database.values().stream()
+                    .filter(quiz -> quiz.getStatus() == QuizStatus.PUBLISHED && quiz.isPublic())
+                    .toList();
+                duringLoad.run();
+                return new PageImpl<>(published, invocation.getArgument(1), published.size());
+            });
+        when(quizRepository.findById(any(UUID.class)))
+            .thenAnswer(invocation -> Optional.ofNullable(database.get(invocation.<UUID>getArgument(0))));
+        when(courseRepository.findByPublishedTrue(any(Pageable.class))).thenReturn(Page.empty());
+        when(searchItemMapper.toQuizItems(anyList())).thenAnswer(invocation -> invocation.<List<Quiz>>getArgument(0)
+            .stream()
+            .map(quiz -> new SearchQuizItem(quiz.getId(), quiz.getTitle(), null, null, 0, null, Set.of()))
+            .toList());
+
+        index = new TypeaheadIndex(quizRepository, courseRepository, searchItemMapper, appProperties,
+            mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void tokenizesCaseAndDiacriticsInsensitively() {
+        assertEquals(List.of("elan", "vital", "basics", "101"), TypeaheadIndex.tokenize("Élan VITAL: basics-101!"));
+        assertEquals(List.of("java", "for", "java"), TypeaheadIndex.words("Java for JAVA"));
+        assertEquals(List.of("java", "for"), TypeaheadIndex.tokenize("Java for JAVA"));
+        assertTrue(TypeaheadIndex.tokenize("  --  ").isEmpty());
+        assertTrue(TypeaheadIndex.words(null).isEmpty());
+    }
+
+    @Test
+    void matchesEveryQueryTokenAsAPrefixRankedByPopularity() {
+        store(quiz("Java Basics", 5));
+        store(quiz("JavaScript Patterns", 9));
+        store(quiz("Python Basics", 7));
+        index.rebuild();
+
+        assertEquals(List.of("JavaScript Patterns", "Java Basics"), titles(index.search("jav", 10)));
+        assertEquals(List.of("Java Basics"), titles(index.search("BAS jav", 10)));
+        assertEquals(List.of("Python Basics", "Java Basics"), titles(index.search("basics", 10)));
+        assertFalse(index.search("ruby", 10).isPresent());
+
+        SearchResultDTO limited = index.search("java", 1).orElseThrow();
+        assertEquals(List.of("JavaScript Patterns"), limited.quizzes().stream().map(SearchQuizItem::title).toList());
+        assertEquals(2, limited.totalQuizzes());
+    }
+
+    @Test
+    void servesNothingBeforeTheFirstBuildOrWhenDisabled() {
+        store(quiz("Java Basics", 5));
+        assertFalse(index.search("java", 10).isPresent());
+
+        index.rebuild();
+        assertTrue(index.search("java", 10).isPresent());
+
+        appProperties.getSearch().setTypeaheadEnabled(false);
+        assertFalse(index.search("java", 10).isPresent());
+    }
+
+    @Test
+    void refreshReplacesRenamedAndRemovesUnpublishedEntries() {
+        Quiz renamed = store(quiz("Java Basics", 5));
+        Quiz unpublished = store(quiz("Java Streams", 4));
+        Quiz deleted = store(quiz("Java Generics", 3));
+        index.rebuild();
+
+        renamed.setTitle("Kotlin Basics");
+        unpublished.setStatus(QuizStatus.DRAFT);
+        database.remove(deleted.getId());
+        index.refresh(SearchIndexChangedEvent.Kind.QUIZ, renamed.getId());
+        index.refresh(SearchIndexChangedEvent.Kind.QUIZ, unpublished.getId());
+        index.refresh(SearchIndexChangedEvent.Kind.QUIZ, deleted.getId());
+
+        assertFalse(index.search("java", 10).isPresent());
+        assertEquals(List.of("Kotlin Basics"), titles(index.search("kot bas", 10)));
+
+        Quiz added = store(quiz("Java Records", 1));
+        index.refresh(SearchIndexChangedEvent.Kind.QUIZ, added.getId());
+        assertEquals(List.of("Java Records"), titles(index.search("java", 10)));
+    }
+
+    @Test
+    void reappliesChangesReceivedWhileRebuilding() {
+        Quiz quiz = store(quiz("Old Title", 1));
+        index.rebuild();
+
+        // The rebuild reads the old title, then the quiz is renamed before the new index is swapped in
+        duringLoad = () -> {
+            Quiz renamed = quiz("New Title", 1);
+            renamed.setId(quiz.getId());
+            database.put(renamed.getId(), renamed);
+            index.refresh(SearchIndexChangedEvent.Kind.QUIZ, renamed.getId());
+        };
+        index.rebuild();
+
+        assertFalse(index.search("old", 10).isPresent());
+        assertEquals(List.of("New Title"), titles(index.search("new", 10)));
+    }
+
+    private Quiz store(Quiz quiz) {
+        database.put(quiz.getId(), quiz);
+        return quiz;
+    }
+
+    private static Quiz quiz(String title, double popularityScore) {
+        Quiz quiz = Quiz.builder()
+            .title(title)
+            .status(QuizStatus.PUBLISHED)
+            .isPublic(true)
+            .popularityScore(popularityScore)
+            .build();
+        quiz.setId(UUID.randomUUID());
+        return quiz;
+    }
+
+    private static List<String> titles(Optional<SearchResultDTO> result) {
+        return result.orElseThrow().quizzes().stream().map(SearchQuizItem::title).toList();
+    }
+}
@@ -187,7 +187,8 @@ export function SearchBar() {
                                 onClick={() => setIsOpen(false)}
                                 className="block px-3 py-2 text-sm text-primary font-medium border-t hover:bg-muted transition-colors text-center"
                             >
-                                See all results ({results.totalQuizzes + results.totalCourses})
+                                See all results ({results.totalQuizzes + results.totalCourses}
+                                {results.totalsCapped && "+"})
                             </Link>
                         </>
                     )}
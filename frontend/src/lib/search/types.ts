@@ -32,6 +32,7 @@ export interface SearchResultDTO {
     courses: SearchCourseItem[];
     totalQuizzes: number;
     totalCourses: number;
+    totalsCapped: boolean;
 }
 
 export interface PageableInfo {